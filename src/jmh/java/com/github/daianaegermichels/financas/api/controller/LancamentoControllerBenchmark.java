@@ -0,0 +1,47 @@
+package com.github.daianaegermichels.financas.api.controller;
+
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão do corpo da requisição em entidade, com o usuário já resolvido como no endpoint de lote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LancamentoControllerBenchmark {
+
+    LancamentoController controller;
+
+    LancamentoDTO dto;
+
+    Usuario usuario;
+
+    @Setup
+    public void preparar() {
+        controller = new LancamentoController(null, null, null, null, null);
+        usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+        dto = LancamentoDTO.builder()
+                .descricao("Conta de energia")
+                .mes(5)
+                .ano(2022)
+                .valor(BigDecimal.valueOf(189.90))
+                .usuario(1L)
+                .tipo("DESPESA")
+                .status("PENDENTE")
+                .build();
+    }
+
+    @Benchmark
+    public Lancamento converter() {
+        return controller.converter(dto, usuario);
+    }
+}
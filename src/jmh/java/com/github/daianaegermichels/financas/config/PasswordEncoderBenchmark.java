@@ -0,0 +1,38 @@
+package com.github.daianaegermichels.financas.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do BCrypt configurado em {@link SecurityConfig#passwordEncoder()}, pago em cada cadastro e autenticação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    PasswordEncoder encoder;
+
+    String senhaCodificada;
+
+    @Setup
+    public void preparar() {
+        encoder = new SecurityConfig().passwordEncoder();
+        senhaCodificada = encoder.encode("senha");
+    }
+
+    @Benchmark
+    public String codificar() {
+        return encoder.encode("senha");
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return encoder.matches("senha", senhaCodificada);
+    }
+}
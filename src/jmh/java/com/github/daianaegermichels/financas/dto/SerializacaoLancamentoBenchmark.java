@@ -0,0 +1,72 @@
+package com.github.daianaegermichels.financas.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de listas de lançamentos com um ObjectMapper configurado como o do Spring Boot. Compara a
+ * entidade, que carrega o usuário aninhado, com a projeção devolvida pelos endpoints de consulta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+
+    @Param({"50", "500"})
+    int tamanho;
+
+    ObjectWriter writer;
+
+    List<Lancamento> lancamentos;
+
+    List<LancamentoDTO> resumos;
+
+    @Setup
+    public void preparar() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        var usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").senha("senha").build();
+        lancamentos = new ArrayList<>(tamanho);
+        resumos = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            var lancamento = Lancamento.builder()
+                    .id((long) i)
+                    .descricao("Lançamento " + i)
+                    .mes(i % 12 + 1)
+                    .ano(2022)
+                    .valor(BigDecimal.valueOf(i * 10L + 1, 2))
+                    .tipo(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+                    .status(StatusLancamento.PENDENTE)
+                    .dataCadastro(LocalDateTime.of(2022, 5, 1, 10, 0))
+                    .usuario(usuario)
+                    .build();
+            lancamentos.add(lancamento);
+            resumos.add(new LancamentoDTO(lancamento.getId(), lancamento.getDescricao(), lancamento.getMes(), lancamento.getAno(),
+                    lancamento.getValor(), usuario.getId(), lancamento.getTipo(), lancamento.getStatus()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarEntidades() throws JsonProcessingException {
+        return writer.writeValueAsBytes(lancamentos);
+    }
+
+    @Benchmark
+    public byte[] serializarResumos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(resumos);
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.model.Usuario;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão e verificação de tokens. {@code obterClaims} mede a verificação completa da assinatura, enquanto
+ * {@code isTokenValido} mede o caminho usado pelo filtro em cada requisição, servido pelo cache de claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    JwtServiceImpl jwtService;
+
+    Usuario usuario;
+
+    String token;
+
+    @Setup
+    public void preparar() {
+        jwtService = new JwtServiceImpl(10_000);
+        ReflectionTestUtils.setField(jwtService, "expiracao", "30");
+        ReflectionTestUtils.setField(jwtService, "chaveAssinatura", "cGlwb2NhIG1lbCBlIHRvZGR5");
+        usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+        token = jwtService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public Claims obterClaims() {
+        return jwtService.obterClaims(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValido() {
+        return jwtService.isTokenValido(token);
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de CPU da validação executada em todo salvar/atualizar. As dependências do serviço não são usadas por
+ * {@code validar}, então o serviço é montado sem repositório.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LancamentoServiceBenchmark {
+
+    LancamentoServiceImpl service;
+
+    Lancamento lancamento;
+
+    @Setup
+    public void preparar() {
+        service = new LancamentoServiceImpl(null, null, null, null, null, null, null);
+        lancamento = Lancamento.builder()
+                .descricao("Conta de energia")
+                .mes(5)
+                .ano(2022)
+                .valor(BigDecimal.valueOf(189.90))
+                .tipo(TipoLancamento.DESPESA)
+                .usuario(Usuario.builder().id(1L).build())
+                .build();
+    }
+
+    @Benchmark
+    public Lancamento validar() {
+        service.validar(lancamento);
+        return lancamento;
+    }
+}
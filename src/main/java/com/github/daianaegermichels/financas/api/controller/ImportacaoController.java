@@ -0,0 +1,115 @@
+package com.github.daianaegermichels.financas.api.controller;
+
+import com.github.daianaegermichels.financas.dto.ImportacaoDTO;
+import com.github.daianaegermichels.financas.enuns.FormatoExtrato;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.ImportacaoExtrato;
+import com.github.daianaegermichels.financas.service.ImportacaoService;
+import com.github.daianaegermichels.financas.service.UsuarioService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/importacoes")
+public class ImportacaoController {
+
+    private ImportacaoService service;
+
+    private UsuarioService usuarioService;
+
+    public ImportacaoController(ImportacaoService service, UsuarioService usuarioService) {
+        this.service = service;
+        this.usuarioService = usuarioService;
+    }
+
+    @PostMapping
+    public ResponseEntity importar(
+            @RequestParam("arquivo") MultipartFile arquivo,
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam(value = "formato", required = false) String formato,
+            @RequestParam(value = "charset", defaultValue = "UTF-8") String charset
+    ) throws IOException {
+        var usuario = usuarioService.obterPorId(idUsuario);
+        if(!usuario.isPresent()){
+            return ResponseEntity.badRequest().body("Não foi possível realizar a importação. Usuário não encontrado para o Id informado!");
+        }
+
+        var formatoSelecionado = obterFormato(formato, arquivo.getOriginalFilename());
+        if (formatoSelecionado == null) {
+            return ResponseEntity.badRequest().body("Formato inválido. Informe csv ou ofx!");
+        }
+
+        Charset charsetSelecionado;
+        try {
+            charsetSelecionado = Charset.forName(charset);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return ResponseEntity.badRequest().body("Charset inválido!");
+        }
+
+        try (var conteudo = arquivo.getInputStream()) {
+            var importacao = service.iniciar(usuario.get(), arquivo.getOriginalFilename(), formatoSelecionado, charsetSelecionado, conteudo);
+            var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(importacao.getId()).toUri();
+            return ResponseEntity.accepted().location(location).body(converter(importacao));
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity obterImportacao(@PathVariable("id") Long id){
+        return service.obterPorId(id).map(importacao -> new ResponseEntity(converter(importacao), HttpStatus.OK))
+                .orElseGet(()-> new ResponseEntity(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping("{id}/retomar")
+    public ResponseEntity retomar(@PathVariable("id") Long id){
+        try {
+            service.retomar(id);
+            return new ResponseEntity(HttpStatus.ACCEPTED);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private FormatoExtrato obterFormato(String formato, String nomeArquivo) {
+        var nome = formato;
+        if (nome == null && nomeArquivo != null && nomeArquivo.contains(".")) {
+            nome = nomeArquivo.substring(nomeArquivo.lastIndexOf('.') + 1);
+        }
+        if (nome == null) {
+            return null;
+        }
+        try {
+            return FormatoExtrato.valueOf(nome.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ImportacaoDTO converter(ImportacaoExtrato importacao){
+        return ImportacaoDTO.builder()
+                .id(importacao.getId())
+                .usuario(importacao.getUsuario().getId())
+                .nomeArquivo(importacao.getNomeArquivo())
+                .formato(importacao.getFormato().name())
+                .status(importacao.getStatus().name())
+                .linhasLidas(importacao.getLinhasLidas())
+                .linhasImportadas(importacao.getLinhasImportadas())
+                .linhasDuplicadas(importacao.getLinhasDuplicadas())
+                .linhasInvalidas(importacao.getLinhasInvalidas())
+                .mensagemErro(importacao.getMensagemErro())
+                .dataAtualizacao(importacao.getDataAtualizacao())
+                .build();
+    }
+}
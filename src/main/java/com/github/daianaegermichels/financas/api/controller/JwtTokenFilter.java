@@ -2,6 +2,8 @@ package com.github.daianaegermichels.financas.api.controller;
 
 import com.github.daianaegermichels.financas.service.JwtService;
 import com.github.daianaegermichels.financas.service.SecurityUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,15 +15,20 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private JwtService jwtService;
     private SecurityUserDetailsService userDetailsService;
+    private Timer autenticados;
+    private Timer rejeitados;
 
-    public JwtTokenFilter(JwtService jwtService, SecurityUserDetailsService userDetailsService) {
+    public JwtTokenFilter(JwtService jwtService, SecurityUserDetailsService userDetailsService, MeterRegistry registry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.autenticados = criarTimer(registry, "autenticado");
+        this.rejeitados = criarTimer(registry, "rejeitado");
     }
 
     @Override
@@ -30,15 +37,13 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String authorization = request.getHeader("Authorization");
 
-        if(authorization != null && authorization.startsWith("Bearer")){
-            String token = authorization.split(" ")[1];
+        if(authorization != null && authorization.startsWith("Bearer ")){
+            long inicio = System.nanoTime();
+            String token = authorization.substring("Bearer ".length()).trim();
 
-            boolean isTokenValid = jwtService.isTokenValido(token);
-
-            if(isTokenValid){
-                String login = jwtService.obterLoginUsuario(token);
-
-                UserDetails usuarioAutenticado = userDetailsService.loadUserByUsername(login);
+            var claimsValidas = jwtService.obterClaimsValidas(token);
+            claimsValidas.ifPresent(claims -> {
+                UserDetails usuarioAutenticado = userDetailsService.loadUserByUsername(claims.getSubject());
 
                 UsernamePasswordAuthenticationToken user =
                         new UsernamePasswordAuthenticationToken(usuarioAutenticado, null, usuarioAutenticado.getAuthorities());
@@ -46,11 +51,20 @@ public class JwtTokenFilter extends OncePerRequestFilter {
                 user.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(user);
-
-                filterChain.doFilter(request, response);
-            }
-
+            });
+            (claimsValidas.isPresent() ? autenticados : rejeitados).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
         }
 
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Mede apenas a verificação do token e a carga do usuário, sem o restante da cadeia de filtros.
+     */
+    public static Timer criarTimer(MeterRegistry registry, String resultado) {
+        return Timer.builder("financas.seguranca.jwt")
+                .description("Autenticação por token no JwtTokenFilter")
+                .tag("resultado", resultado)
+                .register(registry);
     }
 }
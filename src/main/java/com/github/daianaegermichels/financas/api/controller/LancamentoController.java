@@ -1,31 +1,72 @@
 package com.github.daianaegermichels.financas.api.controller;
 
+import com.github.daianaegermichels.financas.dto.AlteracaoLancamentoDTO;
 import com.github.daianaegermichels.financas.dto.AtualizaStatusDTO;
+import com.github.daianaegermichels.financas.dto.AtualizaStatusLoteDTO;
+import com.github.daianaegermichels.financas.dto.ErroLoteDTO;
 import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.enuns.FormatoExportacao;
 import com.github.daianaegermichels.financas.enuns.StatusLancamento;
 import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.exception.ConflitoVersaoException;
 import com.github.daianaegermichels.financas.exception.RegraNegocioException;
 import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.service.ContadorAlteracoes;
+import com.github.daianaegermichels.financas.service.ExportacaoLancamentoService;
 import com.github.daianaegermichels.financas.service.LancamentoService;
+import com.github.daianaegermichels.financas.service.LoteLancamentoService;
 import com.github.daianaegermichels.financas.service.UsuarioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/lancamentos")
 public class LancamentoController {
 
+    static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
+    static final String MENSAGEM_CONFLITO_VERSAO = "O lançamento foi alterado desde a versão informada. Consulte-o novamente!";
+
     private LancamentoService service;
 
     private UsuarioService usuarioService;
 
-    public LancamentoController(LancamentoService service, UsuarioService usuarioService) {
+    private LoteLancamentoService loteService;
+
+    private ExportacaoLancamentoService exportacaoService;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    @Value("${financas.lote.tamanho-maximo:5000}")
+    private int tamanhoMaximoLote;
+
+    public LancamentoController(LancamentoService service, UsuarioService usuarioService, LoteLancamentoService loteService,
+                                ExportacaoLancamentoService exportacaoService, ContadorAlteracoes contadorAlteracoes) {
         this.service = service;
         this.usuarioService = usuarioService;
+        this.loteService = loteService;
+        this.exportacaoService = exportacaoService;
+        this.contadorAlteracoes = contadorAlteracoes;
     }
 
     @PostMapping
@@ -43,21 +84,82 @@ public class LancamentoController {
         }
     }
 
+    @PostMapping("lote")
+    public ResponseEntity salvarLote (@RequestBody List<LancamentoDTO> dtos){
+        if (dtos.isEmpty() || dtos.size() > tamanhoMaximoLote) {
+            return ResponseEntity.badRequest().body("Informe entre 1 e " + tamanhoMaximoLote + " lançamentos por lote!");
+        }
+
+        var usuarios = usuarioService.obterPorIds(dtos.stream()
+                .map(LancamentoDTO::getUsuario)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        var lancamentos = new ArrayList<Lancamento>(dtos.size());
+        var posicoes = new ArrayList<Integer>(dtos.size());
+        var erros = new ArrayList<ErroLoteDTO>();
+        for (int i = 0; i < dtos.size(); i++) {
+            var dto = dtos.get(i);
+            var usuario = usuarios.get(dto.getUsuario());
+            if (usuario == null) {
+                erros.add(new ErroLoteDTO(i, "Usuário não encontrado para o Id informado!"));
+                continue;
+            }
+            try {
+                lancamentos.add(converter(dto, usuario));
+                posicoes.add(i);
+            } catch (IllegalArgumentException e) {
+                erros.add(new ErroLoteDTO(i, "Tipo ou status de lançamento inválido!"));
+            }
+        }
+
+        var resultado = loteService.salvar(lancamentos);
+        var ids = new ArrayList<Long>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            ids.add(null);
+        }
+        for (int i = 0; i < posicoes.size(); i++) {
+            ids.set(posicoes.get(i), resultado.getIds().get(i));
+        }
+        resultado.getErros().forEach(erro -> erros.add(new ErroLoteDTO(posicoes.get(erro.getIndice()), erro.getMensagem())));
+        erros.sort(Comparator.comparing(ErroLoteDTO::getIndice));
+
+        resultado.setRecebidos(dtos.size());
+        resultado.setIds(ids);
+        resultado.setErros(erros);
+        var status = resultado.getSalvos() == 0 ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+        return new ResponseEntity(resultado, status);
+    }
+
     @PutMapping("{id}")
     public ResponseEntity atualizar (@PathVariable("id") Long id, @RequestBody LancamentoDTO dto){
             return service.obterPorId(id).map(entity -> {
                 try {
                     var lancamento = converter(dto);
                     lancamento.setId(entity.getId());
+                    lancamento.setVersao(dto.getVersao());
                     service.atualizar(lancamento);
                     return new ResponseEntity(lancamento, HttpStatus.OK);
                 } catch (RegraNegocioException e){
                     return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+                } catch (ObjectOptimisticLockingFailureException e){
+                    return new ResponseEntity(MENSAGEM_CONFLITO_VERSAO, HttpStatus.CONFLICT);
                 }
                 }).orElseGet(()-> ResponseEntity.badRequest().body("Lançamento não encontrado na base de dados!"));
 
     }
 
+    @PatchMapping("{id}")
+    public ResponseEntity atualizarParcial (@PathVariable("id") Long id, @RequestBody AlteracaoLancamentoDTO dto){
+        try {
+            return ResponseEntity.ok(service.atualizarParcial(id, dto));
+        } catch (ConflitoVersaoException e){
+            return new ResponseEntity(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (RegraNegocioException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("{id}/atualiza-status")
     public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto){
         return service.obterPorId(id).map( entity -> {
@@ -76,6 +178,37 @@ public class LancamentoController {
         }).orElseGet(()-> ResponseEntity.badRequest().body("Lançamento não encontrado na base de dados!"));
     }
 
+    @PutMapping("lote/atualiza-status")
+    public ResponseEntity atualizarStatusLote(@RequestBody AtualizaStatusLoteDTO dto,
+                                              @AuthenticationPrincipal UserDetails usuarioAutenticado){
+        StatusLancamento statusSelecionado;
+        try {
+            statusSelecionado = StatusLancamento.valueOf(String.valueOf(dto.getStatus()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Status inválido, não foi possível atualizar. Informe um status válido!");
+        }
+        var usuario = dto.getUsuario() != null ? usuarioService.obterPorId(dto.getUsuario()) : Optional.<Usuario>empty();
+        if (!usuario.isPresent()) {
+            return ResponseEntity.badRequest().body("Usuário não encontrado para o Id informado!");
+        }
+        // O lote só altera lançamentos do próprio usuário autenticado, não de qualquer id informado no corpo.
+        if (usuarioAutenticado == null || !usuario.get().getEmail().equals(usuarioAutenticado.getUsername())) {
+            return new ResponseEntity("Usuário sem permissão para alterar os lançamentos informados!", HttpStatus.FORBIDDEN);
+        }
+        if (dto.getIds() != null && dto.getIds().size() > tamanhoMaximoLote) {
+            return ResponseEntity.badRequest().body("Informe entre 1 e " + tamanhoMaximoLote + " lançamentos por lote!");
+        }
+
+        try {
+            var resultado = dto.getIds() != null && !dto.getIds().isEmpty()
+                    ? loteService.atualizarStatus(dto.getUsuario(), dto.getIds(), statusSelecionado)
+                    : loteService.atualizarStatus(dto.getUsuario(), dto.getAno(), dto.getMes(), statusSelecionado);
+            return ResponseEntity.ok(resultado);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity deletar(@PathVariable("id") Long id){
         return service.obterPorId(id).map(entity -> {
@@ -89,8 +222,18 @@ public class LancamentoController {
             @RequestParam(value = "descricao", required = false) String descricao,
             @RequestParam(value = "mes", required = false) Integer mes,
             @RequestParam(value = "ano", required = false) Integer ano,
-            @RequestParam(value = "usuario") Long idUsuario
+            @RequestParam(value = "usuario") Long idUsuario,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamanho", required = false) Integer tamanho,
+            WebRequest request
     ){
+        // O contador é lido antes dos lançamentos: uma alteração concorrente gera, no pior caso, uma ETag antiga para
+        // dados novos, o que só custa uma nova consulta depois, nunca um 304 indevido.
+        var contador = contadorAlteracoes.obter(idUsuario);
+        if (contador.isPresent() && request.checkNotModified(idUsuario + "-" + contador.get())) {
+            return null;
+        }
+
         var lancamentoFiltro = new Lancamento();
         lancamentoFiltro.setDescricao(descricao);
         lancamentoFiltro.setMes(mes);
@@ -103,27 +246,113 @@ public class LancamentoController {
             lancamentoFiltro.setUsuario(usuario.get());
         }
 
-        var lancamentos = service.buscar(lancamentoFiltro);
-        return ResponseEntity.ok(lancamentos);
+        if (cursor == null && tamanho == null) {
+            // Sem cursor nem tamanho a resposta continua sendo a lista completa, como antes da paginação.
+            return ResponseEntity.ok(service.buscarTodos(lancamentoFiltro));
+        }
+
+        try {
+            var pagina = service.buscarPagina(lancamentoFiltro, cursor, tamanho);
+            var resposta = ResponseEntity.ok();
+            if (pagina.getProximoCursor() != null) {
+                resposta.header(CABECALHO_PROXIMO_CURSOR, pagina.getProximoCursor());
+            }
+            return resposta.body(pagina.getItens());
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
     }
 
+    @GetMapping("exportacao")
+    public ResponseEntity exportar(
+            @RequestParam(value = "usuario") Long idUsuario,
+            @RequestParam(value = "ano", required = false) Integer ano,
+            @RequestParam(value = "mes", required = false) Integer mes,
+            @RequestParam(value = "descricao", required = false) String descricao,
+            @RequestParam(value = "formato", defaultValue = "csv") String formato
+    ){
+        FormatoExportacao formatoSelecionado;
+        try {
+            formatoSelecionado = FormatoExportacao.valueOf(formato.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Formato inválido. Informe csv ou ndjson!");
+        }
+
+        var usuario = usuarioService.obterPorId(idUsuario);
+        if(!usuario.isPresent()){
+            return new ResponseEntity("Não foi possível realizar a exportação. Usuário não encontrado para o Id informado!", HttpStatus.BAD_REQUEST);
+        }
+
+        var lancamentoFiltro = new Lancamento();
+        lancamentoFiltro.setDescricao(descricao);
+        lancamentoFiltro.setMes(mes);
+        lancamentoFiltro.setAno(ano);
+        lancamentoFiltro.setUsuario(usuario.get());
+
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(lancamentoFiltro, formatoSelecionado, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoSelecionado.getTipoConteudo() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lancamentos." + formatoSelecionado.getExtensao() + "\"")
+                .body(corpo);
+    }
+
+    @GetMapping("busca")
+    public ResponseEntity buscarPorTexto(
+            @RequestParam(value = "texto") String texto,
+            @RequestParam(value = "usuario") Long idUsuario,
+            @RequestParam(value = "ordenacao", defaultValue = "relevancia") String ordenacao,
+            @RequestParam(value = "tamanho", required = false) Integer tamanho
+    ){
+        if(!usuarioService.obterPorId(idUsuario).isPresent()){
+            return new ResponseEntity("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado!", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            var lancamentos = service.buscarPorTexto(idUsuario, texto, !"data".equals(ordenacao), tamanho);
+            return ResponseEntity.ok(lancamentos);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("arquivados")
+    public ResponseEntity buscarArquivados(
+            @RequestParam(value = "usuario") Long idUsuario,
+            @RequestParam(value = "ano", required = false) Integer ano,
+            @RequestParam(value = "mes", required = false) Integer mes
+    ){
+        if(!usuarioService.obterPorId(idUsuario).isPresent()){
+            return new ResponseEntity("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado!", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return ResponseEntity.ok(service.buscarArquivados(idUsuario, ano, mes));
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("{id_lancamento}")
-    public ResponseEntity obterLancamentoPorId (@PathVariable (value = "id_lancamento") Long idLancamento){
-        return service.obterPorId(idLancamento).map(lancamento -> new ResponseEntity(converterParaDTO(lancamento), HttpStatus.OK))
+    public ResponseEntity obterLancamentoPorId (@PathVariable (value = "id_lancamento") Long idLancamento, WebRequest request){
+        var versao = service.obterVersaoResumo(idLancamento);
+        if (versao.isPresent() && request.checkNotModified(versao.get())) {
+            return null;
+        }
+        return service.obterResumoPorId(idLancamento).map(lancamento -> new ResponseEntity(lancamento, HttpStatus.OK))
                 .orElseGet(()-> new ResponseEntity(HttpStatus.NOT_FOUND));
     }
 
     private Lancamento converter(LancamentoDTO dto){
+        var usuario = usuarioService.obterPorId(dto.getUsuario()).orElseThrow(()-> new RegraNegocioException("Usuário não encontrado para o Id informado!"));
+        return converter(dto, usuario);
+    }
+
+    Lancamento converter(LancamentoDTO dto, Usuario usuario){
         var lancamento = new Lancamento();
         lancamento.setId(dto.getId());
         lancamento.setDescricao(dto.getDescricao());
         lancamento.setAno(dto.getAno());
         lancamento.setMes(dto.getMes());
         lancamento.setValor(dto.getValor());
-
-        var usuario = usuarioService.obterPorId(dto.getUsuario()).orElseThrow(()-> new RegraNegocioException("Usuário não encontrado para o Id informado!"));
-
         lancamento.setUsuario(usuario);
 
         if(dto.getTipo() != null) {
@@ -136,17 +365,4 @@ public class LancamentoController {
 
         return lancamento;
     }
-
-    private LancamentoDTO converterParaDTO(Lancamento lancamento){
-        return LancamentoDTO.builder()
-                .id(lancamento.getId())
-                .descricao(lancamento.getDescricao())
-                .valor(lancamento.getValor())
-                .mes(lancamento.getMes())
-                .ano(lancamento.getAno())
-                .status(lancamento.getStatus().name())
-                .tipo(lancamento.getTipo().name())
-                .usuario(lancamento.getUsuario().getId())
-                .build();
-    }
 }
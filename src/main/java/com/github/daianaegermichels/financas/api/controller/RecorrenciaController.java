@@ -0,0 +1,71 @@
+package com.github.daianaegermichels.financas.api.controller;
+
+import com.github.daianaegermichels.financas.dto.AlteracaoRecorrenciaDTO;
+import com.github.daianaegermichels.financas.dto.RecorrenciaDTO;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.service.RecorrenciaService;
+import com.github.daianaegermichels.financas.service.UsuarioService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+public class RecorrenciaController {
+
+    private RecorrenciaService service;
+
+    private UsuarioService usuarioService;
+
+    public RecorrenciaController(RecorrenciaService service, UsuarioService usuarioService) {
+        this.service = service;
+        this.usuarioService = usuarioService;
+    }
+
+    @PostMapping
+    public ResponseEntity criar(@RequestBody RecorrenciaDTO dto){
+        if (dto.getUsuario() == null || !usuarioService.obterPorId(dto.getUsuario()).isPresent()) {
+            return ResponseEntity.badRequest().body("Usuário não encontrado para o Id informado!");
+        }
+        try {
+            var recorrencia = service.criar(dto);
+
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(recorrencia.getId()).toUri();
+            return ResponseEntity.created(location).body(recorrencia);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity obter(@PathVariable("id") Long id){
+        return service.obterPorId(id).map(recorrencia -> new ResponseEntity(recorrencia, HttpStatus.OK))
+                .orElseGet(()-> new ResponseEntity(HttpStatus.NOT_FOUND));
+    }
+
+    @PutMapping("{id}")
+    public ResponseEntity alterar(@PathVariable("id") Long id, @RequestBody AlteracaoRecorrenciaDTO dto){
+        try {
+            return ResponseEntity.ok(service.alterar(id, dto));
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("{id}")
+    public ResponseEntity cancelar(@PathVariable("id") Long id,
+                                   @RequestParam(value = "usuario", required = false) Long usuario,
+                                   @RequestParam(value = "ano", required = false) Integer ano,
+                                   @RequestParam(value = "mes", required = false) Integer mes){
+        try {
+            return ResponseEntity.ok(service.cancelar(id, usuario, ano, mes));
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
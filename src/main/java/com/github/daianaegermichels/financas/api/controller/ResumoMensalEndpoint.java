@@ -0,0 +1,35 @@
+package com.github.daianaegermichels.financas.api.controller;
+
+import com.github.daianaegermichels.financas.service.ResumoMensalService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Reconstrói os resumos mensais a partir dos lançamentos: {@code POST /actuator/resumos} para todos os usuários e
+ * {@code POST /actuator/resumos/{usuario}} para um só. Restrito aos administradores, como o restante do actuator.
+ */
+@Component
+@Endpoint(id = "resumos")
+public class ResumoMensalEndpoint {
+
+    private ResumoMensalService resumoMensalService;
+
+    public ResumoMensalEndpoint(ResumoMensalService resumoMensalService) {
+        this.resumoMensalService = resumoMensalService;
+    }
+
+    @WriteOperation
+    public Map<String, Integer> reconstruirTodos() {
+        return Map.of("usuarios", resumoMensalService.reconstruirTodos());
+    }
+
+    @WriteOperation
+    public Map<String, Integer> reconstruir(@Selector Long usuario) {
+        resumoMensalService.reconstruir(usuario);
+        return Map.of("usuarios", 1);
+    }
+}
@@ -2,17 +2,26 @@ package com.github.daianaegermichels.financas.api.controller;
 
 import com.github.daianaegermichels.financas.dto.TokenDTO;
 import com.github.daianaegermichels.financas.dto.UsuarioDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
 import com.github.daianaegermichels.financas.exception.ErroAutenticacao;
 import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.exception.ServicoSobrecarregadoException;
+import com.github.daianaegermichels.financas.exception.TentativasExcedidasException;
 import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.service.ContadorAlteracoes;
 import com.github.daianaegermichels.financas.service.JwtService;
 import com.github.daianaegermichels.financas.service.LancamentoService;
+import com.github.daianaegermichels.financas.service.LimiteTentativasLogin;
+import com.github.daianaegermichels.financas.service.ResumoMensalService;
 import com.github.daianaegermichels.financas.service.UsuarioService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
 import java.net.URI;
 
 @RestController
@@ -25,21 +34,39 @@ public class UsuarioController {
 
     private JwtService jwtService;
 
-    public UsuarioController(UsuarioService usuarioService, LancamentoService lancamentoService, JwtService jwtService) {
+    private LimiteTentativasLogin limiteTentativasLogin;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    private ResumoMensalService resumoMensalService;
+
+    public UsuarioController(UsuarioService usuarioService, LancamentoService lancamentoService, JwtService jwtService,
+                             LimiteTentativasLogin limiteTentativasLogin, ContadorAlteracoes contadorAlteracoes,
+                             ResumoMensalService resumoMensalService) {
         this.usuarioService = usuarioService;
         this.lancamentoService = lancamentoService;
         this.jwtService = jwtService;
+        this.limiteTentativasLogin = limiteTentativasLogin;
+        this.contadorAlteracoes = contadorAlteracoes;
+        this.resumoMensalService = resumoMensalService;
     }
 
     @PostMapping("/autenticar")
-    public ResponseEntity<?> autenticar(@RequestBody UsuarioDTO usuarioDTO){
+    public ResponseEntity<?> autenticar(@RequestBody UsuarioDTO usuarioDTO, HttpServletRequest request){
         try {
+            limiteTentativasLogin.verificar(usuarioDTO.getEmail(), request.getRemoteAddr());
             var usuarioAutenticado= usuarioService.autenticar(usuarioDTO.getEmail(), usuarioDTO.getSenha());
             String token = jwtService.gerarToken(usuarioAutenticado);
             TokenDTO tokenDTO = new TokenDTO(usuarioAutenticado.getNome(), token);
             return ResponseEntity.ok(tokenDTO);
         } catch (ErroAutenticacao e){
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (TentativasExcedidasException e){
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getEsperaSegundos()))
+                    .body(e.getMessage());
+        } catch (ServicoSobrecarregadoException e){
+            return sobrecarga(e);
         }
     }
 
@@ -59,16 +86,75 @@ public class UsuarioController {
             return ResponseEntity.created(location).body(usuarioSalvo);
         } catch (RegraNegocioException e){
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ServicoSobrecarregadoException e){
+            return sobrecarga(e);
         }
     }
 
     @GetMapping("{id}/saldo")
-    public ResponseEntity obterSaldo(@PathVariable("id") Long id){
-        var usuario = usuarioService.obterPorId(id);
-        if(!usuario.isPresent()){
+    public ResponseEntity obterSaldo(@PathVariable("id") Long id, WebRequest request){
+        var contador = contadorAlteracoes.obter(id);
+        if(!contador.isPresent()){
             return new ResponseEntity(HttpStatus.NOT_FOUND);
         }
+        if(request.checkNotModified(id + "-" + contador.get())){
+            return null;
+        }
         var saldo = lancamentoService.obterSaldoPorUsuario(id);
         return ResponseEntity.ok(saldo);
     }
+
+    @GetMapping("{id}/saldo/mensal")
+    public ResponseEntity obterSaldoMensal(@PathVariable("id") Long id,
+                                           @RequestParam(value = "anoInicial") Integer anoInicial,
+                                           @RequestParam(value = "anoFinal", required = false) Integer anoFinal,
+                                           @RequestParam(value = "status", required = false) String status,
+                                           WebRequest request){
+        var contador = contadorAlteracoes.obter(id);
+        if(!contador.isPresent()){
+            return new ResponseEntity(HttpStatus.NOT_FOUND);
+        }
+        if(request.checkNotModified(id + "-" + contador.get())){
+            return null;
+        }
+        try {
+            var statusSelecionado = status != null ? StatusLancamento.valueOf(status) : null;
+            var linhaDoTempo = lancamentoService.obterSaldoMensalPorUsuario(id, anoInicial, anoFinal != null ? anoFinal : anoInicial, statusSelecionado);
+            return ResponseEntity.ok(linhaDoTempo);
+        } catch (IllegalArgumentException e){
+            return ResponseEntity.badRequest().body("Status inválido. Informe um status válido!");
+        } catch (RegraNegocioException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("{id}/resumo-mensal")
+    public ResponseEntity obterResumoMensal(@PathVariable("id") Long id,
+                                            @RequestParam(value = "anoInicial") Integer anoInicial,
+                                            @RequestParam(value = "anoFinal", required = false) Integer anoFinal,
+                                            @RequestParam(value = "status", required = false) String status,
+                                            WebRequest request){
+        var contador = contadorAlteracoes.obter(id);
+        if(!contador.isPresent()){
+            return new ResponseEntity(HttpStatus.NOT_FOUND);
+        }
+        if(request.checkNotModified(id + "-" + contador.get())){
+            return null;
+        }
+        try {
+            var statusSelecionado = status != null ? StatusLancamento.valueOf(status) : null;
+            var resumos = resumoMensalService.obterRelatorio(id, anoInicial, anoFinal != null ? anoFinal : anoInicial, statusSelecionado);
+            return ResponseEntity.ok(resumos);
+        } catch (IllegalArgumentException e){
+            return ResponseEntity.badRequest().body("Status inválido. Informe um status válido!");
+        } catch (RegraNegocioException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<String> sobrecarga(ServicoSobrecarregadoException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
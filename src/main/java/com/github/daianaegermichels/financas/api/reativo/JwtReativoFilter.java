@@ -0,0 +1,75 @@
+package com.github.daianaegermichels.financas.api.reativo;
+
+import com.github.daianaegermichels.financas.api.controller.JwtTokenFilter;
+import com.github.daianaegermichels.financas.service.JwtService;
+import com.github.daianaegermichels.financas.service.SecurityUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Equivalente reativo do {@link JwtTokenFilter}: valida o token pelo {@link JwtService}, carrega o usuário pelo
+ * {@link SecurityUserDetailsService} e publica a autenticação no contexto do Reactor. Como não há regras públicas na
+ * API reativa, requisições sem token válido são rejeitadas aqui com 401.
+ */
+public class JwtReativoFilter implements WebFilter {
+
+    private JwtService jwtService;
+    private SecurityUserDetailsService userDetailsService;
+    private Timer autenticados;
+    private Timer rejeitados;
+
+    public JwtReativoFilter(JwtService jwtService, SecurityUserDetailsService userDetailsService, MeterRegistry registry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.autenticados = JwtTokenFilter.criarTimer(registry, "autenticado");
+        this.rejeitados = JwtTokenFilter.criarTimer(registry, "rejeitado");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return rejeitar(exchange);
+        }
+
+        long inicio = System.nanoTime();
+        String token = authorization.substring("Bearer ".length()).trim();
+        var claimsValidas = jwtService.obterClaimsValidas(token);
+        if (claimsValidas.isEmpty()) {
+            rejeitados.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return rejeitar(exchange);
+        }
+
+        // Na maior parte das vezes o usuário vem do UsuarioCache, mas uma falta vai ao banco via JDBC.
+        return Mono.fromCallable(() -> userDetailsService.loadUserByUsername(claimsValidas.get().getSubject()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(usuario -> autenticados.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS))
+                .map(usuario -> new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()))
+                .onErrorResume(UsernameNotFoundException.class, e -> {
+                    rejeitados.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    return Mono.empty();
+                })
+                .flatMap(autenticacao -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(autenticacao))
+                        .thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> rejeitar(exchange).thenReturn(false)))
+                .then();
+    }
+
+    private static Mono<Void> rejeitar(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.daianaegermichels.financas.api.reativo;
+
+import com.github.daianaegermichels.financas.dto.CursorLancamento;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.repository.LeituraReativaRepository;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão reativa das leituras de {@code LancamentoController}. A busca não é paginada: devolve todos os lançamentos do
+ * filtro (a partir do {@code cursor}, até {@code tamanho} quando informados) como um fluxo, em NDJSON quando o cliente
+ * aceita {@code application/x-ndjson}.
+ */
+public class LancamentoReativoHandler {
+
+    private LeituraReativaRepository repository;
+
+    public LancamentoReativoHandler(LeituraReativaRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<ServerResponse> buscar(ServerRequest request) {
+        Long idUsuario;
+        Integer mes;
+        Integer ano;
+        Integer tamanho;
+        CursorLancamento cursor;
+        try {
+            idUsuario = request.queryParam("usuario").map(Long::valueOf)
+                    .orElseThrow(() -> new RegraNegocioException("Informe o usuário da consulta!"));
+            mes = request.queryParam("mes").map(Integer::valueOf).orElse(null);
+            ano = request.queryParam("ano").map(Integer::valueOf).orElse(null);
+            tamanho = request.queryParam("tamanho").map(Integer::valueOf).orElse(null);
+            cursor = request.queryParam("cursor").map(CursorLancamento::decodificar).orElse(null);
+            if (tamanho != null && tamanho < 1) {
+                throw new RegraNegocioException("Informe um tamanho de página válido!");
+            }
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().bodyValue("Parâmetros de consulta inválidos!");
+        } catch (RegraNegocioException e) {
+            return ServerResponse.badRequest().bodyValue(e.getMessage());
+        }
+        var descricao = request.queryParam("descricao").orElse(null);
+
+        var tipoConteudo = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return repository.existeUsuario(idUsuario).flatMap(existe -> existe
+                ? ServerResponse.ok().contentType(tipoConteudo)
+                        .body(repository.buscar(idUsuario, descricao, mes, ano, cursor, tamanho), LancamentoDTO.class)
+                : ServerResponse.badRequest().bodyValue("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado!"));
+    }
+
+    public Mono<ServerResponse> obterLancamentoPorId(ServerRequest request) {
+        Long idLancamento;
+        try {
+            idLancamento = Long.valueOf(request.pathVariable("id_lancamento"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return repository.obterResumoPorId(idLancamento)
+                .flatMap(lancamento -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(lancamento))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.daianaegermichels.financas.api.reativo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Servidor Reactor Netty da API reativa, em porta própria ao lado do Tomcat. Conexões lentas ocupam apenas estado no
+ * event loop, sem prender threads do pool de requisições servlet.
+ */
+@Slf4j
+public class ServidorReativo implements SmartLifecycle {
+
+    private HttpHandler httpHandler;
+
+    private int porta;
+
+    private volatile DisposableServer servidor;
+
+    public ServidorReativo(HttpHandler httpHandler, int porta) {
+        this.httpHandler = httpHandler;
+        this.porta = porta;
+    }
+
+    @Override
+    public void start() {
+        servidor = HttpServer.create()
+                .port(porta)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("API reativa atendendo na porta {}.", servidor.port());
+    }
+
+    @Override
+    public void stop() {
+        var atual = servidor;
+        servidor = null;
+        if (atual != null) {
+            atual.disposeNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return servidor != null;
+    }
+
+    /**
+     * Porta efetiva, útil quando {@code financas.reativo.porta=0}.
+     */
+    public int getPorta() {
+        return servidor.port();
+    }
+}
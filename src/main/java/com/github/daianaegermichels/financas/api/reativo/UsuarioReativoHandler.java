@@ -0,0 +1,43 @@
+package com.github.daianaegermichels.financas.api.reativo;
+
+import com.github.daianaegermichels.financas.repository.LeituraReativaRepository;
+import com.github.daianaegermichels.financas.service.SaldoService;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Versão reativa de {@code GET /api/usuarios/{id}/saldo}.
+ */
+public class UsuarioReativoHandler {
+
+    private LeituraReativaRepository repository;
+
+    private SaldoService saldoService;
+
+    public UsuarioReativoHandler(LeituraReativaRepository repository, SaldoService saldoService) {
+        this.repository = repository;
+        this.saldoService = saldoService;
+    }
+
+    /**
+     * Usuários ainda sem saldo registrado são inicializados pelo {@link SaldoService}, que é bloqueante e por isso roda
+     * fora das threads do servidor. Acontece uma vez por usuário.
+     */
+    public Mono<ServerResponse> obterSaldo(ServerRequest request) {
+        Long idUsuario;
+        try {
+            idUsuario = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return repository.existeUsuario(idUsuario).flatMap(existe -> existe
+                ? repository.obterSaldo(idUsuario)
+                        .switchIfEmpty(Mono.fromCallable(() -> saldoService.obterSaldo(idUsuario))
+                                .subscribeOn(Schedulers.boundedElastic()))
+                        .flatMap(saldo -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(saldo))
+                : ServerResponse.notFound().build());
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.daianaegermichels.financas.config;
+
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.service.BuscaTextoMemoriaService;
+import com.github.daianaegermichels.financas.service.BuscaTextoPostgresService;
+import com.github.daianaegermichels.financas.service.BuscaTextoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Configuration
+public class BuscaTextoConfig {
+
+    /**
+     * {@code financas.busca.modo}: {@code postgres}, {@code memoria} ou {@code auto} (escolhe pelo banco conectado).
+     */
+    @Bean
+    public BuscaTextoService buscaTextoService(@Value("${financas.busca.modo:auto}") String modo,
+                                               @Value("${financas.busca.indice.maximo-usuarios:1000}") int maximoUsuarios,
+                                               DataSource dataSource,
+                                               NamedParameterJdbcTemplate jdbcTemplate,
+                                               LancamentoRepository repository) throws MetaDataAccessException {
+        boolean postgres = "postgres".equals(modo) || ("auto".equals(modo) && "PostgreSQL".equals(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName)));
+
+        if (postgres) {
+            return new BuscaTextoPostgresService(jdbcTemplate);
+        }
+        return new BuscaTextoMemoriaService(repository, maximoUsuarios);
+    }
+}
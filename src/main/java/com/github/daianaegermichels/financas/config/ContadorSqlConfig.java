@@ -0,0 +1,29 @@
+package com.github.daianaegermichels.financas.config;
+
+import com.github.daianaegermichels.financas.metricas.DataSourceContadorSql;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o {@link DataSource} para alimentar o {@code ContadorSql}. Separado de {@link MetricasConfig} para que
+ * testes de persistência possam importá-lo e verificar a quantidade de comandos de cada operação.
+ */
+@Configuration
+public class ContadorSqlConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceContadorSqlPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if (bean instanceof DataSource && !(bean instanceof DataSourceContadorSql)) {
+                    return new DataSourceContadorSql((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.daianaegermichels.financas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportacaoConfig {
+
+    /**
+     * Limita quantas importações rodam ao mesmo tempo; cada uma usa ainda suas próprias threads de leitura e validação.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importacaoExecutor(@Value("${financas.importacao.simultaneas:2}") int simultaneas) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(simultaneas);
+        executor.setMaxPoolSize(simultaneas);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("importacao-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
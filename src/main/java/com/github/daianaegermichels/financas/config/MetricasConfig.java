@@ -0,0 +1,79 @@
+package com.github.daianaegermichels.financas.config;
+
+import com.github.daianaegermichels.financas.dto.EstatisticasCacheDTO;
+import com.github.daianaegermichels.financas.metricas.MetricasRequisicaoFilter;
+import com.github.daianaegermichels.financas.metricas.OrcamentoSqlInterceptor;
+import com.github.daianaegermichels.financas.metricas.OrcamentoSqlProperties;
+import com.github.daianaegermichels.financas.service.JwtService;
+import com.github.daianaegermichels.financas.service.UsuarioCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.function.Function;
+
+/**
+ * Instrumentação dos caminhos quentes, exposta em {@code /actuator/prometheus}: tempos dos endpoints
+ * ({@code http.server.requests}), dos serviços anotados com {@code @Timed} e do filtro JWT, comandos e linhas SQL
+ * por requisição, com o orçamento de comandos por endpoint, e as estatísticas dos caches de token e de usuário.
+ */
+@Configuration
+@EnableConfigurationProperties(OrcamentoSqlProperties.class)
+public class MetricasConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private OrcamentoSqlProperties orcamentoSql;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new OrcamentoSqlInterceptor(orcamentoSql));
+    }
+
+    @Bean
+    public FilterRegistrationBean<MetricasRequisicaoFilter> metricasRequisicaoFilter(MeterRegistry registry) {
+        var filter = new FilterRegistrationBean<>(new MetricasRequisicaoFilter(registry));
+        filter.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return filter;
+    }
+
+    @Bean
+    public MeterBinder metricasCaches(JwtService jwtService, UsuarioCache usuarioCache) {
+        return registry -> {
+            registrarCache(registry, "jwt", jwtService, JwtService::obterEstatisticasCache);
+            registrarCache(registry, "usuario", usuarioCache, UsuarioCache::obterEstatisticas);
+        };
+    }
+
+    /**
+     * Os medidores guardam referência fraca ao objeto observado, por isso recebem o próprio bean do cache.
+     */
+    private static <T> void registrarCache(MeterRegistry registry, String nome, T cache, Function<T, EstatisticasCacheDTO> estatisticas) {
+        FunctionCounter.builder("financas.cache.acertos", cache, c -> estatisticas.apply(c).getAcertos())
+                .tag("cache", nome)
+                .register(registry);
+        FunctionCounter.builder("financas.cache.falhas", cache, c -> estatisticas.apply(c).getFalhas())
+                .tag("cache", nome)
+                .register(registry);
+        FunctionCounter.builder("financas.cache.remocoes", cache, c -> estatisticas.apply(c).getRemocoes())
+                .tag("cache", nome)
+                .register(registry);
+        Gauge.builder("financas.cache.tamanho", cache, c -> estatisticas.apply(c).getTamanho())
+                .tag("cache", nome)
+                .register(registry);
+    }
+}
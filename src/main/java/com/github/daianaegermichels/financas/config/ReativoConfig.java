@@ -0,0 +1,79 @@
+package com.github.daianaegermichels.financas.config;
+
+import com.github.daianaegermichels.financas.api.reativo.JwtReativoFilter;
+import com.github.daianaegermichels.financas.api.reativo.LancamentoReativoHandler;
+import com.github.daianaegermichels.financas.api.reativo.ServidorReativo;
+import com.github.daianaegermichels.financas.api.reativo.UsuarioReativoHandler;
+import com.github.daianaegermichels.financas.repository.LeituraReativaRepository;
+import com.github.daianaegermichels.financas.service.JwtService;
+import com.github.daianaegermichels.financas.service.SaldoService;
+import com.github.daianaegermichels.financas.service.SecurityUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * API de leitura reativa ({@code GET /api/lancamentos}, {@code GET /api/lancamentos/{id}} e
+ * {@code GET /api/usuarios/{id}/saldo}) servida por Reactor Netty em {@code financas.reativo.porta}, com acesso ao banco
+ * por R2DBC em {@code financas.reativo.url}. As rotas são funcionais e ficam fora do contexto MVC, que não pode
+ * conviver com {@code @EnableWebFlux}. O auto-configure de R2DBC do Spring Boot fica desligado em
+ * {@code FinancasApplication}: ele criaria uma {@code ConnectionFactory} e um segundo gerenciador de transações ao lado
+ * do JPA. Só é criada com {@code financas.reativo.habilitado=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "financas.reativo.habilitado", havingValue = "true")
+public class ReativoConfig {
+
+    /**
+     * O pool R2DBC não é exposto como bean: com uma {@code ConnectionFactory} no contexto o Spring Boot deixa de criar
+     * o {@code DataSource} do JPA. Por isso as métricas do pool são registradas aqui.
+     */
+    @Bean(destroyMethod = "fechar")
+    public LeituraReativaRepository leituraReativaRepository(@Value("${financas.reativo.url}") String url,
+                                                             @Value("${financas.reativo.usuario:${spring.datasource.username}}") String usuario,
+                                                             @Value("${financas.reativo.senha:${spring.datasource.password}}") String senha,
+                                                             @Value("${financas.reativo.conexoes:10}") int conexoes,
+                                                             @Value("${financas.reativo.tamanho-bloco:500}") int tamanhoBloco,
+                                                             MeterRegistry meterRegistry) {
+        var opcoes = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, senha)
+                .build();
+        var pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes))
+                .initialSize(0)
+                .maxSize(conexoes)
+                .build());
+        new ConnectionPoolMetrics(pool, "reativo", Tags.empty()).bindTo(meterRegistry);
+        return new LeituraReativaRepository(DatabaseClient.create(pool), tamanhoBloco);
+    }
+
+    @Bean
+    public ServidorReativo servidorReativo(LeituraReativaRepository leituraReativaRepository, SaldoService saldoService,
+                                           JwtService jwtService, SecurityUserDetailsService userDetailsService,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${financas.reativo.porta:8081}") int porta) {
+        var lancamentos = new LancamentoReativoHandler(leituraReativaRepository);
+        var usuarios = new UsuarioReativoHandler(leituraReativaRepository, saldoService);
+
+        var rotas = RouterFunctions.route()
+                .GET("/api/lancamentos", lancamentos::buscar)
+                .GET("/api/lancamentos/{id_lancamento}", lancamentos::obterLancamentoPorId)
+                .GET("/api/usuarios/{id}/saldo", usuarios::obterSaldo)
+                .build();
+        var estrategias = HandlerStrategies.builder()
+                .webFilter(new JwtReativoFilter(jwtService, userDetailsService, meterRegistry))
+                .build();
+        return new ServidorReativo(RouterFunctions.toHttpHandler(rotas, estrategias), porta);
+    }
+}
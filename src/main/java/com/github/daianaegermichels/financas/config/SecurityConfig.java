@@ -3,7 +3,9 @@ package com.github.daianaegermichels.financas.config;
 import com.github.daianaegermichels.financas.api.controller.JwtTokenFilter;
 import com.github.daianaegermichels.financas.service.JwtService;
 import com.github.daianaegermichels.financas.service.SecurityUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,16 +36,25 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Custo (log2 das rodadas) do BCrypt. Senhas gravadas com outro custo são atualizadas no próximo login.
+     */
+    @Value("${financas.senha.bcrypt.custo:10}")
+    private int custoBcrypt;
+
     @Bean
     public PasswordEncoder passwordEncoder(){
-        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        PasswordEncoder encoder = new BCryptPasswordEncoder(custoBcrypt);
         return encoder;
 
     }
 
     @Bean
     public JwtTokenFilter jwtTokenFilter(){
-        return new JwtTokenFilter(jwtService, userDetailsService);
+        return new JwtTokenFilter(jwtService, userDetailsService, meterRegistry);
     }
 
     @Override
@@ -61,6 +72,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .authorizeRequests()
                 .antMatchers(HttpMethod.POST, "/api/usuarios/autenticar").permitAll()
                 .antMatchers(HttpMethod.POST, "/api/usuarios").permitAll()
+                .antMatchers("/actuator/health").permitAll()
+                .antMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
                 .and()
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -77,6 +90,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         config.setAllowedOrigins(todos);
         config.setAllowedHeaders(todos);
         config.setAllowCredentials(true);
+        config.setExposedHeaders(Arrays.asList("X-Proximo-Cursor"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -0,0 +1,32 @@
+package com.github.daianaegermichels.financas.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SenhaConfig {
+
+    /**
+     * Executa o BCrypt de login e cadastro fora das threads do Tomcat. O número de threads limita quantos núcleos uma
+     * rajada de logins consegue ocupar; com a fila cheia a tarefa é recusada na hora em vez de acumular requisições.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor senhaExecutor(@Value("${financas.senha.threads:0}") int threads,
+                                                @Value("${financas.senha.capacidade-fila:100}") int capacidadeFila,
+                                                MeterRegistry registry) {
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tamanho);
+        executor.setMaxPoolSize(tamanho);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("senha-");
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "senha", Tags.empty()).bindTo(registry);
+        return executor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.daianaegermichels.financas.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Modo opcional ({@code financas.execucao.threads-virtuais=true}) em que o Tomcat atende cada requisição em uma thread
+ * virtual, no lugar do pool de {@code server.tomcat.threads.max} threads de plataforma. Os serviços
+ * {@code @Transactional} executam na thread da requisição, então também passam a rodar em threads virtuais e o limite
+ * de concorrência no banco fica com o pool de conexões. Exige Java 21 em execução; o build continua em Java 17, por isso
+ * a API de threads virtuais é acessada por reflexão.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "financas.execucao.threads-virtuais", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public ExecutorService executorThreadsVirtuais() {
+        log.info("Requisições atendidas em threads virtuais.");
+        return criarExecutor("requisicao-virtual-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> threadsVirtuaisTomcat(ExecutorService executorThreadsVirtuais) {
+        return protocolHandler -> protocolHandler.setExecutor(executorThreadsVirtuais);
+    }
+
+    /**
+     * Equivale a {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefixo, 0).factory())}.
+     */
+    static ExecutorService criarExecutor(String prefixo) {
+        try {
+            var construtor = Thread.class.getMethod("ofVirtual").invoke(null);
+            var tipoConstrutor = Class.forName("java.lang.Thread$Builder");
+            construtor = tipoConstrutor.getMethod("name", String.class, long.class).invoke(construtor, prefixo, 0L);
+            var fabrica = (ThreadFactory) tipoConstrutor.getMethod("factory").invoke(construtor);
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, fabrica);
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            throw new IllegalStateException("financas.execucao.threads-virtuais exige Java 21 ou superior; em execução: "
+                    + Runtime.version(), e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais.", e);
+        }
+    }
+}
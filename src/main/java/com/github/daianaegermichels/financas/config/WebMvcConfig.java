@@ -0,0 +1,39 @@
+package com.github.daianaegermichels.financas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Respostas em streaming (exportação) são escritas fora da thread da requisição. Como a aplicação usa
+ * {@code @EnableWebMvc}, as propriedades {@code spring.mvc.async.*} não se aplicam e o executor e o tempo limite
+ * são definidos aqui.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Value("${financas.exportacao.tempo-limite-ms:600000}")
+    private long tempoLimiteMs;
+
+    @Value("${financas.exportacao.threads:8}")
+    private int threads;
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcTaskExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcTaskExecutor());
+        configurer.setDefaultTimeout(tempoLimiteMs);
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.daianaegermichels.financas.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Corpo do {@code PATCH}: só os campos informados são alterados. {@code usuario} e {@code versao} são obrigatórios e
+ * identificam o dono do lançamento e a versão sobre a qual a alteração foi feita.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AlteracaoLancamentoDTO {
+
+    private Long usuario;
+    private Long versao;
+    private String descricao;
+    private Integer mes;
+    private Integer ano;
+    private BigDecimal valor;
+    private String tipo;
+    private String status;
+}
@@ -0,0 +1,26 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Alteração de uma série: só os campos informados mudam, na definição e nas ocorrências pendentes a partir de
+ * {@code mes}/{@code ano} (todas, se omitidos). Ocorrências já efetivadas ou canceladas não são alteradas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoRecorrenciaDTO {
+
+    private Long usuario;
+    private String descricao;
+    private BigDecimal valor;
+    private String tipo;
+    private Integer mes;
+    private Integer ano;
+}
@@ -0,0 +1,24 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lançamentos do usuário a alterar: os {@code ids} informados ou, sem ids, todos os do {@code mes}/{@code ano}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizaStatusLoteDTO {
+
+    private Long usuario;
+    private List<Long> ids;
+    private Integer ano;
+    private Integer mes;
+    private String status;
+}
@@ -0,0 +1,36 @@
+package com.github.daianaegermichels.financas.dto;
+
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de continuação da paginação por chave (ano, mes, id). Trafega para o cliente como texto opaco.
+ */
+@Value
+public class CursorLancamento {
+
+    Integer ano;
+    Integer mes;
+    Long id;
+
+    public static CursorLancamento apos(LancamentoDTO lancamento) {
+        return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+    }
+
+    public static CursorLancamento decodificar(String cursor) {
+        try {
+            var partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido!");
+        }
+    }
+
+    public String codificar() {
+        var valor = ano + ":" + mes + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
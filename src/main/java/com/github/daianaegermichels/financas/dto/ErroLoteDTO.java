@@ -0,0 +1,14 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroLoteDTO {
+
+    private Integer indice;
+    private String mensagem;
+}
@@ -0,0 +1,18 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasCacheDTO {
+
+    private Long acertos;
+    private Long falhas;
+    private Long remocoes;
+    private Long tamanho;
+}
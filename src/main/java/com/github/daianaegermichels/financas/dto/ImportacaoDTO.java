@@ -0,0 +1,27 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoDTO {
+
+    private Long id;
+    private Long usuario;
+    private String nomeArquivo;
+    private String formato;
+    private String status;
+    private Long linhasLidas;
+    private Long linhasImportadas;
+    private Long linhasDuplicadas;
+    private Long linhasInvalidas;
+    private String mensagemErro;
+    private LocalDateTime dataAtualizacao;
+}
@@ -1,5 +1,8 @@
 package com.github.daianaegermichels.financas.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,4 +24,24 @@ public class LancamentoDTO {
     private Long usuario;
     private String tipo;
     private String status;
+
+    /**
+     * Versão atual do lançamento, exigida pelo {@code PATCH}. Ausente nos lançamentos arquivados.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long versao;
+
+    /**
+     * Usado nas consultas de leitura ({@code select new ...}), que montam o DTO direto das colunas sem carregar a
+     * entidade {@link com.github.daianaegermichels.financas.model.Lancamento} nem o usuário.
+     */
+    public LancamentoDTO(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor, Long usuario,
+                         TipoLancamento tipo, StatusLancamento status) {
+        this(id, descricao, mes, ano, valor, usuario, tipo, status, null);
+    }
+
+    public LancamentoDTO(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor, Long usuario,
+                         TipoLancamento tipo, StatusLancamento status, Long versao) {
+        this(id, descricao, mes, ano, valor, usuario, tipo != null ? tipo.name() : null, status != null ? status.name() : null, versao);
+    }
 }
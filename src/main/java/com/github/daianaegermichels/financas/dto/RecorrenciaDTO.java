@@ -0,0 +1,41 @@
+package com.github.daianaegermichels.financas.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Série de lançamentos mensais a partir de {@code mes}/{@code ano}. {@code tipoRecorrencia} MENSAL aceita uma data
+ * final ({@code mesFinal}/{@code anoFinal}) ou nenhuma; PARCELADA exige {@code parcelas} e numera a descrição de cada
+ * ocorrência.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecorrenciaDTO {
+
+    private Long id;
+    private Long usuario;
+    private String descricao;
+    private BigDecimal valor;
+    private String tipo;
+    private String tipoRecorrencia;
+    private Integer mes;
+    private Integer ano;
+    private Integer parcelas;
+    private Integer mesFinal;
+    private Integer anoFinal;
+    private Integer parcelasGeradas;
+    private Boolean cancelada;
+
+    /**
+     * Ocorrências geradas, alteradas ou canceladas pela requisição.
+     */
+    private Integer ocorrencias;
+}
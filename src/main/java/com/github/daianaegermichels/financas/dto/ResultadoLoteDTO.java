@@ -0,0 +1,20 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+    private Integer recebidos;
+    private Integer salvos;
+    private List<Long> ids;
+    private List<ErroLoteDTO> erros;
+}
@@ -0,0 +1,19 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoStatusLoteDTO {
+
+    private Integer encontrados;
+    private Integer alterados;
+    private List<Long> naoEncontrados;
+}
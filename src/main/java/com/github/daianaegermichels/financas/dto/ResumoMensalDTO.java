@@ -0,0 +1,25 @@
+package com.github.daianaegermichels.financas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Total e quantidade dos lançamentos de um mês com o mesmo tipo e status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalDTO {
+
+    private Integer ano;
+    private Integer mes;
+    private String tipo;
+    private String status;
+    private BigDecimal total;
+    private Long quantidade;
+}
@@ -0,0 +1,6 @@
+package com.github.daianaegermichels.financas.enuns;
+
+public enum FormatoExtrato {
+    CSV,
+    OFX
+}
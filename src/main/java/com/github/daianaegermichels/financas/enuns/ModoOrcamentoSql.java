@@ -0,0 +1,7 @@
+package com.github.daianaegermichels.financas.enuns;
+
+public enum ModoOrcamentoSql {
+    DESLIGADO,
+    REGISTRAR,
+    REJEITAR
+}
@@ -0,0 +1,8 @@
+package com.github.daianaegermichels.financas.enuns;
+
+public enum StatusImportacao {
+    PENDENTE,
+    PROCESSANDO,
+    CONCLUIDA,
+    FALHA
+}
@@ -0,0 +1,7 @@
+package com.github.daianaegermichels.financas.exception;
+
+public class OrcamentoSqlExcedidoException extends RuntimeException {
+    public OrcamentoSqlExcedidoException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.daianaegermichels.financas.exception;
+
+public class ServicoSobrecarregadoException extends RuntimeException {
+    public ServicoSobrecarregadoException(String mensagem) {
+        super(mensagem);
+    }
+}
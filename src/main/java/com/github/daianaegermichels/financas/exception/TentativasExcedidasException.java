@@ -0,0 +1,14 @@
+package com.github.daianaegermichels.financas.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TentativasExcedidasException extends RuntimeException {
+
+    private final long esperaSegundos;
+
+    public TentativasExcedidasException(String mensagem, long esperaSegundos) {
+        super(mensagem);
+        this.esperaSegundos = esperaSegundos;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Conversão dos campos textuais dos extratos, que variam entre bancos (vírgula ou ponto decimal, datas em formato
+ * brasileiro, ISO ou OFX).
+ */
+final class ConversorCampos {
+
+    private static final List<DateTimeFormatter> FORMATOS_DATA = List.of(
+            DateTimeFormatter.ofPattern("dd/MM/uuuu"),
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.BASIC_ISO_DATE);
+
+    private ConversorCampos() {
+    }
+
+    static BigDecimal converterValor(String texto) {
+        var valor = texto.replace("R$", "").replace(" ", "").replace("\u00A0", "");
+        if (valor.lastIndexOf(',') > valor.lastIndexOf('.')) {
+            valor = valor.replace(".", "").replace(',', '.');
+        } else {
+            valor = valor.replace(",", "");
+        }
+        return new BigDecimal(valor);
+    }
+
+    static LocalDate converterData(String texto) {
+        var data = texto.trim();
+        if (data.length() > 8 && data.chars().limit(8).allMatch(Character::isDigit)) {
+            // OFX: AAAAMMDD seguido opcionalmente de hora e fuso, ex.: 20220315120000[-3:BRT]
+            data = data.substring(0, 8);
+        }
+        for (DateTimeFormatter formato : FORMATOS_DATA) {
+            try {
+                return LocalDate.parse(data, formato);
+            } catch (DateTimeParseException e) {
+                // tenta o próximo formato
+            }
+        }
+        throw new DateTimeParseException("Data inválida", texto, 0);
+    }
+
+    static String normalizarNome(String texto) {
+        return Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import com.github.daianaegermichels.financas.enuns.FormatoExtrato;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lê os movimentos de um extrato um a um, sem carregar o arquivo inteiro.
+ */
+public interface LeitorExtrato extends Closeable {
+
+    /**
+     * @return o próximo movimento, ou {@code null} no fim do arquivo
+     */
+    LinhaExtrato proxima() throws IOException;
+
+    static LeitorExtrato abrir(FormatoExtrato formato, Reader reader) throws IOException {
+        return formato == FormatoExtrato.OFX ? new LeitorExtratoOfx(reader) : new LeitorExtratoCsv(reader);
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extrato em CSV com cabeçalho. São obrigatórias as colunas {@code data}, {@code descricao} e {@code valor}
+ * (valores negativos são despesas); {@code identificador} é opcional. O separador (vírgula ou ponto e vírgula)
+ * é detectado pelo cabeçalho.
+ */
+public class LeitorExtratoCsv implements LeitorExtrato {
+
+    private final BufferedReader reader;
+
+    private char separador;
+    private int colunaData = -1;
+    private int colunaDescricao = -1;
+    private int colunaValor = -1;
+    private int colunaIdentificador = -1;
+    private long sequencia;
+
+    public LeitorExtratoCsv(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        lerCabecalho();
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        String linha;
+        do {
+            linha = reader.readLine();
+            if (linha == null) {
+                return null;
+            }
+        } while (linha.isBlank());
+
+        sequencia++;
+        var campos = separar(linha);
+        if (campos.size() <= Math.max(colunaData, Math.max(colunaDescricao, colunaValor))) {
+            return LinhaExtrato.invalida(sequencia, "Linha " + sequencia + ": quantidade de colunas inválida!");
+        }
+        try {
+            return new LinhaExtrato(sequencia,
+                    ConversorCampos.converterData(campos.get(colunaData)),
+                    ConversorCampos.converterValor(campos.get(colunaValor)),
+                    campos.get(colunaDescricao).trim(),
+                    colunaIdentificador >= 0 && colunaIdentificador < campos.size() ? campos.get(colunaIdentificador) : null,
+                    null);
+        } catch (RuntimeException e) {
+            return LinhaExtrato.invalida(sequencia, "Linha " + sequencia + ": data ou valor inválido!");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void lerCabecalho() throws IOException {
+        var cabecalho = reader.readLine();
+        if (cabecalho == null) {
+            throw new RegraNegocioException("Arquivo CSV vazio!");
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        separador = cabecalho.chars().filter(c -> c == ';').count() > cabecalho.chars().filter(c -> c == ',').count() ? ';' : ',';
+
+        var colunas = separar(cabecalho);
+        for (int i = 0; i < colunas.size(); i++) {
+            switch (ConversorCampos.normalizarNome(colunas.get(i))) {
+                case "data" -> colunaData = i;
+                case "descricao", "historico", "memo" -> colunaDescricao = i;
+                case "valor" -> colunaValor = i;
+                case "identificador", "id", "fitid" -> colunaIdentificador = i;
+                default -> { }
+            }
+        }
+        if (colunaData < 0 || colunaDescricao < 0 || colunaValor < 0) {
+            throw new RegraNegocioException("O cabeçalho do CSV deve conter as colunas data, descricao e valor!");
+        }
+    }
+
+    /**
+     * Separa uma linha respeitando campos entre aspas, com aspas internas duplicadas.
+     */
+    private List<String> separar(String linha) {
+        var campos = new ArrayList<String>();
+        var campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Extrato em OFX (SGML 1.x ou XML 2.x). O arquivo é percorrido tag a tag e cada bloco {@code STMTTRN} vira um
+ * movimento; o restante do documento é ignorado.
+ */
+public class LeitorExtratoOfx implements LeitorExtrato {
+
+    private static final int TAMANHO_MAXIMO_CAMPO = 4096;
+
+    private final BufferedReader reader;
+
+    private boolean tagAberta;
+    private long sequencia;
+
+    public LeitorExtratoOfx(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        Map<String, String> campos = null;
+        String tag;
+        while ((tag = proximaTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                campos = new HashMap<>();
+            } else if (tag.equals("/STMTTRN") && campos != null) {
+                return montar(campos);
+            } else if (campos != null && !tag.startsWith("/")) {
+                var valor = lerValor();
+                if (!valor.isEmpty()) {
+                    campos.put(tag, valor);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private LinhaExtrato montar(Map<String, String> campos) {
+        sequencia++;
+        var descricao = campos.getOrDefault("MEMO", campos.get("NAME"));
+        try {
+            return new LinhaExtrato(sequencia,
+                    ConversorCampos.converterData(campos.get("DTPOSTED")),
+                    ConversorCampos.converterValor(campos.get("TRNAMT")),
+                    descricao,
+                    campos.get("FITID"),
+                    null);
+        } catch (RuntimeException e) {
+            return LinhaExtrato.invalida(sequencia, "Movimento " + sequencia + ": data ou valor inválido!");
+        }
+    }
+
+    private String proximaTag() throws IOException {
+        int c;
+        if (!tagAberta) {
+            do {
+                c = reader.read();
+            } while (c != -1 && c != '<');
+            if (c == -1) {
+                return null;
+            }
+        }
+        tagAberta = false;
+        var tag = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '>') {
+            if (tag.length() == TAMANHO_MAXIMO_CAMPO) {
+                throw new IOException("Arquivo OFX inválido: tag muito longa.");
+            }
+            tag.append((char) c);
+        }
+        return c == -1 ? null : tag.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private String lerValor() throws IOException {
+        var valor = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '<') {
+                tagAberta = true;
+                break;
+            }
+            if (valor.length() == TAMANHO_MAXIMO_CAMPO) {
+                throw new IOException("Arquivo OFX inválido: campo muito longo.");
+            }
+            valor.append((char) c);
+        }
+        return valor.toString().trim()
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+}
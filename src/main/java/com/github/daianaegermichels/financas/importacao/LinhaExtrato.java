@@ -0,0 +1,37 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Um movimento lido do extrato. {@code sequencia} é a posição do movimento no arquivo (a partir de 1) e serve de ponto
+ * de retomada; quando a linha não pôde ser interpretada, {@code erro} traz o motivo e os demais campos podem ser nulos.
+ */
+@Value
+public class LinhaExtrato {
+
+    long sequencia;
+    LocalDate data;
+    BigDecimal valor;
+    String descricao;
+    String identificador;
+    String erro;
+
+    static LinhaExtrato invalida(long sequencia, String erro) {
+        return new LinhaExtrato(sequencia, null, null, null, null, erro);
+    }
+
+    /**
+     * Conteúdo que identifica o movimento para a detecção de duplicados: o identificador do banco quando existir
+     * (FITID no OFX), senão data, valor e descrição normalizada.
+     */
+    public String chaveConteudo() {
+        if (identificador != null && !identificador.isBlank()) {
+            return "id:" + identificador.trim();
+        }
+        var descricaoNormalizada = descricao == null ? "" : descricao.trim().replaceAll("\\s+", " ").toLowerCase();
+        return data + "|" + valor.stripTrailingZeros().toPlainString() + "|" + descricaoNormalizada;
+    }
+}
@@ -0,0 +1,291 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.ImportacaoExtrato;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.LancamentoImportado;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.ImportacaoExtratoRepository;
+import com.github.daianaegermichels.financas.repository.LancamentoImportadoRepository;
+import com.github.daianaegermichels.financas.service.LancamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipeline de importação de um extrato:
+ * <ol>
+ *     <li>uma thread lê o arquivo em streaming e numera os movimentos;</li>
+ *     <li>{@code financas.importacao.threads-validacao} threads convertem cada movimento em {@link Lancamento},
+ *     validam com {@link LancamentoService#validar(Lancamento)} e calculam o hash do conteúdo;</li>
+ *     <li>a thread chamadora reordena os resultados pela sequência e grava blocos de
+ *     {@code financas.importacao.tamanho-bloco} movimentos, cada um em uma transação junto com os hashes e o
+ *     progresso da importação.</li>
+ * </ol>
+ * Um semáforo de {@code financas.importacao.capacidade-fila} vagas limita quantos movimentos podem estar entre a
+ * leitura e a gravação; quando a gravação atrasa, a leitura espera. Como o progresso só avança com o bloco gravado,
+ * uma importação interrompida é retomada a partir de {@link ImportacaoExtrato#getUltimaSequencia()}.
+ */
+@Slf4j
+@Component
+public class ProcessadorImportacao {
+
+    private static final int TAMANHO_MAXIMO_DESCRICAO = 255;
+    private static final LinhaPendente FIM_LINHAS = new LinhaPendente(null, null);
+
+    @Value("${financas.importacao.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    @Value("${financas.importacao.capacidade-fila:2000}")
+    private int capacidadeFila;
+
+    @Value("${financas.importacao.threads-validacao:0}")
+    private int threadsValidacao;
+
+    private LancamentoService lancamentoService;
+
+    private ImportacaoExtratoRepository importacaoRepository;
+
+    private LancamentoImportadoRepository importadoRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    public ProcessadorImportacao(LancamentoService lancamentoService, ImportacaoExtratoRepository importacaoRepository,
+                                 LancamentoImportadoRepository importadoRepository, TransactionTemplate transactionTemplate) {
+        this.lancamentoService = lancamentoService;
+        this.importacaoRepository = importacaoRepository;
+        this.importadoRepository = importadoRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void processar(ImportacaoExtrato importacao) throws IOException, InterruptedException {
+        int validadores = threadsValidacao > 0 ? threadsValidacao : Runtime.getRuntime().availableProcessors();
+        long retomarApos = importacao.getUltimaSequencia() == null ? 0 : importacao.getUltimaSequencia();
+
+        var vagas = new Semaphore(capacidadeFila);
+        // as vagas extras garantem espaço para o marcador de fim de cada validador
+        var linhas = new ArrayBlockingQueue<LinhaPendente>(capacidadeFila + validadores);
+        // sem limite próprio: o total de itens em trânsito já é limitado pelas vagas
+        var resultados = new LinkedBlockingQueue<ItemImportacao>();
+
+        var contador = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(validadores + 1, tarefa -> {
+            var thread = new Thread(tarefa, "importacao-" + importacao.getId() + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            executor.execute(() -> ler(importacao, retomarApos, vagas, linhas, resultados, validadores));
+            for (int i = 0; i < validadores; i++) {
+                executor.execute(() -> converter(importacao.getUsuario(), linhas, resultados));
+            }
+            gravar(importacao, retomarApos, vagas, resultados);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void ler(ImportacaoExtrato importacao, long retomarApos, Semaphore vagas, BlockingQueue<LinhaPendente> linhas,
+                     BlockingQueue<ItemImportacao> resultados, int validadores) {
+        var charset = importacao.getCharset() == null ? StandardCharsets.UTF_8 : Charset.forName(importacao.getCharset());
+        try (var leitor = LeitorExtrato.abrir(importacao.getFormato(),
+                Files.newBufferedReader(Path.of(importacao.getCaminhoArquivo()), charset))) {
+            // Movimentos idênticos no mesmo extrato (ex.: duas compras iguais no dia) são distinguidos pela ordem de
+            // ocorrência, que é recalculada desde o início do arquivo também na retomada.
+            Map<String, Integer> ocorrencias = new HashMap<>();
+            long ultimaSequencia = retomarApos;
+            LinhaExtrato linha;
+            while ((linha = leitor.proxima()) != null) {
+                ultimaSequencia = Math.max(ultimaSequencia, linha.getSequencia());
+                var chave = linha.getErro() == null ? linha.chaveConteudo() : null;
+                if (chave != null) {
+                    chave = chave + "#" + ocorrencias.merge(chave, 1, Integer::sum);
+                }
+                if (linha.getSequencia() <= retomarApos) {
+                    continue;
+                }
+                vagas.acquire();
+                linhas.put(new LinhaPendente(linha, chave));
+            }
+            resultados.put(ItemImportacao.fim(ultimaSequencia + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            resultados.add(ItemImportacao.falha(e));
+        } finally {
+            for (int i = 0; i < validadores; i++) {
+                linhas.offer(FIM_LINHAS);
+            }
+        }
+    }
+
+    private void converter(Usuario usuario, BlockingQueue<LinhaPendente> linhas, BlockingQueue<ItemImportacao> resultados) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            while (true) {
+                var pendente = linhas.take();
+                if (pendente == FIM_LINHAS) {
+                    return;
+                }
+                resultados.put(converter(usuario, pendente, digest));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (NoSuchAlgorithmException | RuntimeException | Error e) {
+            resultados.add(ItemImportacao.falha(e));
+        }
+    }
+
+    private ItemImportacao converter(Usuario usuario, LinhaPendente pendente, MessageDigest digest) {
+        var linha = pendente.linha;
+        if (linha.getErro() != null) {
+            return ItemImportacao.invalido(linha.getSequencia(), linha.getErro());
+        }
+
+        var descricao = linha.getDescricao();
+        if (descricao != null && descricao.length() > TAMANHO_MAXIMO_DESCRICAO) {
+            descricao = descricao.substring(0, TAMANHO_MAXIMO_DESCRICAO);
+        }
+        var lancamento = Lancamento.builder()
+                .descricao(descricao)
+                .mes(linha.getData().getMonthValue())
+                .ano(linha.getData().getYear())
+                .valor(linha.getValor().abs())
+                .tipo(linha.getValor().signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                .usuario(usuario)
+                .build();
+        try {
+            lancamentoService.validar(lancamento);
+        } catch (RegraNegocioException e) {
+            return ItemImportacao.invalido(linha.getSequencia(), e.getMessage());
+        }
+
+        var hash = HexFormat.of().formatHex(digest.digest(pendente.chave.getBytes(StandardCharsets.UTF_8)));
+        return ItemImportacao.valido(linha.getSequencia(), lancamento, hash);
+    }
+
+    private void gravar(ImportacaoExtrato importacao, long retomarApos, Semaphore vagas,
+                        BlockingQueue<ItemImportacao> resultados) throws IOException, InterruptedException {
+        long proximaSequencia = retomarApos + 1;
+        var foraDeOrdem = new HashMap<Long, ItemImportacao>();
+        var bloco = new ArrayList<ItemImportacao>(tamanhoBloco);
+        while (true) {
+            var item = resultados.take();
+            if (item.falha != null) {
+                throw new IOException(item.falha.getMessage(), item.falha);
+            }
+            foraDeOrdem.put(item.sequencia, item);
+
+            ItemImportacao proximo;
+            while ((proximo = foraDeOrdem.remove(proximaSequencia)) != null) {
+                if (proximo.fim) {
+                    gravarBloco(importacao, bloco);
+                    return;
+                }
+                vagas.release();
+                bloco.add(proximo);
+                proximaSequencia++;
+                if (bloco.size() == tamanhoBloco) {
+                    gravarBloco(importacao, bloco);
+                    bloco.clear();
+                }
+            }
+        }
+    }
+
+    private void gravarBloco(ImportacaoExtrato importacao, List<ItemImportacao> bloco) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        var idUsuario = importacao.getUsuario().getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            var validos = bloco.stream().filter(item -> item.lancamento != null).toList();
+            var hashes = validos.stream().map(item -> item.hash).toList();
+            var vistos = new HashSet<String>(hashes.isEmpty() ? List.of() : importadoRepository.obterHashesExistentes(idUsuario, hashes));
+
+            var novos = validos.stream().filter(item -> vistos.add(item.hash)).toList();
+            if (!novos.isEmpty()) {
+                lancamentoService.salvarTodos(novos.stream().map(item -> item.lancamento).toList());
+                importadoRepository.saveAll(novos.stream().map(item -> LancamentoImportado.builder()
+                        .idUsuario(idUsuario)
+                        .hash(item.hash)
+                        .idLancamento(item.lancamento.getId())
+                        .build()).toList());
+            }
+
+            importacaoRepository.registrarProgresso(importacao.getId(), bloco.get(bloco.size() - 1).sequencia,
+                    bloco.size(), novos.size(), validos.size() - novos.size(), bloco.size() - validos.size(), LocalDateTime.now());
+        });
+        log.debug("Importação {}: bloco até a sequência {} gravado.", importacao.getId(), bloco.get(bloco.size() - 1).sequencia);
+    }
+
+    private static class LinhaPendente {
+
+        final LinhaExtrato linha;
+        final String chave;
+
+        LinhaPendente(LinhaExtrato linha, String chave) {
+            this.linha = linha;
+            this.chave = chave;
+        }
+    }
+
+    private static class ItemImportacao {
+
+        final long sequencia;
+        final Lancamento lancamento;
+        final String hash;
+        final String erro;
+        final boolean fim;
+        final Throwable falha;
+
+        private ItemImportacao(long sequencia, Lancamento lancamento, String hash, String erro, boolean fim, Throwable falha) {
+            this.sequencia = sequencia;
+            this.lancamento = lancamento;
+            this.hash = hash;
+            this.erro = erro;
+            this.fim = fim;
+            this.falha = falha;
+        }
+
+        static ItemImportacao valido(long sequencia, Lancamento lancamento, String hash) {
+            return new ItemImportacao(sequencia, lancamento, hash, null, false, null);
+        }
+
+        static ItemImportacao invalido(long sequencia, String erro) {
+            return new ItemImportacao(sequencia, null, null, erro, false, null);
+        }
+
+        static ItemImportacao fim(long sequencia) {
+            return new ItemImportacao(sequencia, null, null, null, true, null);
+        }
+
+        static ItemImportacao falha(Throwable falha) {
+            return new ItemImportacao(-1, null, null, null, false, falha);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.daianaegermichels.financas.job;
+
+import com.github.daianaegermichels.financas.service.ArquivamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Mensalmente garante a partição do ano seguinte e arquiva os anos fechados, um usuário por transação, para que
+ * nenhuma transação segure os lançamentos de todos os usuários.
+ */
+@Slf4j
+@Component
+public class ArquivamentoLancamentoJob {
+
+    private ArquivamentoService arquivamentoService;
+
+    public ArquivamentoLancamentoJob(ArquivamentoService arquivamentoService) {
+        this.arquivamentoService = arquivamentoService;
+    }
+
+    @Scheduled(cron = "${financas.arquivamento.cron:0 0 4 1 * *}")
+    public int arquivar() {
+        var anoSeguinte = LocalDate.now().getYear() + 1;
+        try {
+            arquivamentoService.criarParticao(anoSeguinte);
+        } catch (DataAccessException e) {
+            // Sem a partição, o ano seguinte continua na partição padrão; o arquivamento não depende dela.
+            log.error("Não foi possível criar a partição de {}.", anoSeguinte, e);
+        }
+
+        int arquivados = 0;
+        for (Integer ano : arquivamentoService.obterAnosFechados()) {
+            for (Long idUsuario : arquivamentoService.obterUsuariosComLancamentos(ano)) {
+                arquivados += arquivamentoService.arquivar(idUsuario, ano);
+            }
+            log.info("Lançamentos de {} arquivados.", ano);
+        }
+        return arquivados;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.daianaegermichels.financas.job;
+
+import com.github.daianaegermichels.financas.service.RecorrenciaService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Diariamente gera, em lote, as ocorrências dos lançamentos recorrentes que entraram no horizonte de antecedência.
+ */
+@Component
+public class GeracaoRecorrenciaJob {
+
+    private RecorrenciaService recorrenciaService;
+
+    public GeracaoRecorrenciaJob(RecorrenciaService recorrenciaService) {
+        this.recorrenciaService = recorrenciaService;
+    }
+
+    @Scheduled(cron = "${financas.recorrencia.cron:0 30 2 * * *}")
+    public int gerar() {
+        return recorrenciaService.gerarOcorrencias();
+    }
+}
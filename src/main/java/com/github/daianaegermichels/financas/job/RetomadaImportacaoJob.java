@@ -0,0 +1,30 @@
+package com.github.daianaegermichels.financas.job;
+
+import com.github.daianaegermichels.financas.service.ImportacaoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ao subir a aplicação, retoma as importações de extrato que ficaram pendentes ou foram interrompidas.
+ */
+@Slf4j
+@Component
+public class RetomadaImportacaoJob {
+
+    private ImportacaoService importacaoService;
+
+    public RetomadaImportacaoJob(ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public int retomar() {
+        var retomadas = importacaoService.retomarInterrompidas();
+        if (retomadas > 0) {
+            log.info("{} importação(ões) de extrato retomada(s).", retomadas);
+        }
+        return retomadas;
+    }
+}
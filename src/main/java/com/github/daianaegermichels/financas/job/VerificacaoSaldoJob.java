@@ -0,0 +1,36 @@
+package com.github.daianaegermichels.financas.job;
+
+import com.github.daianaegermichels.financas.service.ContadorAlteracoes;
+import com.github.daianaegermichels.financas.service.SaldoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compara periodicamente o saldo incremental de cada usuário com o recálculo completo a partir
+ * dos lançamentos e corrige os registros divergentes.
+ */
+@Slf4j
+@Component
+public class VerificacaoSaldoJob {
+
+    private SaldoService saldoService;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    public VerificacaoSaldoJob(SaldoService saldoService, ContadorAlteracoes contadorAlteracoes) {
+        this.saldoService = saldoService;
+        this.contadorAlteracoes = contadorAlteracoes;
+    }
+
+    @Scheduled(cron = "${financas.saldo.verificacao.cron:0 0 3 * * *}")
+    public int verificar() {
+        var divergentes = saldoService.buscarDivergencias();
+        for (Long idUsuario : divergentes) {
+            log.warn("Saldo do usuário {} divergente do recálculo completo; corrigindo.", idUsuario);
+            saldoService.recalcular(idUsuario);
+            contadorAlteracoes.registrar(idUsuario);
+        }
+        return divergentes.size();
+    }
+}
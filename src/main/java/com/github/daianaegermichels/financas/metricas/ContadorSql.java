@@ -0,0 +1,81 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import com.github.daianaegermichels.financas.exception.OrcamentoSqlExcedidoException;
+
+/**
+ * Contagem de comandos SQL e linhas lidas/alteradas pela thread corrente, aberta no início de cada requisição.
+ * Fora de uma contagem aberta os registros são ignorados, então o custo para jobs e threads de fundo é só a
+ * leitura do {@link ThreadLocal}.
+ * <p>
+ * Com um orçamento definido e {@code rejeitar} ligado, o comando que ultrapassa o limite não chega a ser executado.
+ */
+public final class ContadorSql {
+
+    private static final ThreadLocal<ContadorSql> ATUAL = new ThreadLocal<>();
+
+    private long comandos;
+
+    private long linhas;
+
+    private long limite;
+
+    private boolean rejeitar;
+
+    private ContadorSql() {
+    }
+
+    public static ContadorSql iniciar() {
+        var contador = new ContadorSql();
+        ATUAL.set(contador);
+        return contador;
+    }
+
+    public static ContadorSql atual() {
+        return ATUAL.get();
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    static void registrarComando() {
+        var contador = ATUAL.get();
+        if (contador != null) {
+            contador.comandos++;
+            if (contador.rejeitar && contador.isExcedido()) {
+                throw new OrcamentoSqlExcedidoException("Limite de " + contador.limite + " comandos SQL por requisição excedido!");
+            }
+        }
+    }
+
+    static void registrarLinhas(long quantidade) {
+        var contador = ATUAL.get();
+        if (contador != null && quantidade > 0) {
+            contador.linhas += quantidade;
+        }
+    }
+
+    /**
+     * @param limite máximo de comandos; zero desliga o orçamento
+     */
+    public void definirOrcamento(long limite, boolean rejeitar) {
+        this.limite = limite;
+        this.rejeitar = rejeitar;
+    }
+
+    public boolean isExcedido() {
+        return limite > 0 && comandos > limite;
+    }
+
+    public long getComandos() {
+        return comandos;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public long getLimite() {
+        return limite;
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Envolve o pool de conexões para alimentar o {@link ContadorSql}: cada execução em um {@link Statement} conta
+ * como um comando (um lote conta uma vez, pois é uma ida ao banco) e as linhas somam o que foi lido pelos
+ * {@link ResultSet} e o que foi alterado pelos updates. Vale para JPA e para o JdbcTemplate.
+ */
+public class DataSourceContadorSql extends DelegatingDataSource {
+
+    private static final Set<String> EXECUCOES = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    public DataSourceContadorSql(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(Connection.class, super.getConnection(), null);
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        return envolver(Connection.class, super.getConnection(usuario, senha), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T envolver(Class<T> tipo, T alvo, Object origem) {
+        return (T) Proxy.newProxyInstance(DataSourceContadorSql.class.getClassLoader(), new Class<?>[]{tipo},
+                new Interceptador(alvo, origem));
+    }
+
+    private static class Interceptador implements InvocationHandler {
+
+        private final Object alvo;
+
+        /**
+         * Proxy da conexão que criou o statement, devolvido em {@code getConnection()}.
+         */
+        private final Object origem;
+
+        Interceptador(Object alvo, Object origem) {
+            this.alvo = alvo;
+            this.origem = origem;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            var nome = metodo.getName();
+            switch (nome) {
+                case "equals":
+                    return proxy == argumentos[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    if (alvo instanceof Statement) {
+                        return origem;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            boolean execucao = alvo instanceof Statement && EXECUCOES.contains(nome);
+            if (execucao) {
+                ContadorSql.registrarComando();
+            }
+
+            Object resultado;
+            try {
+                resultado = metodo.invoke(alvo, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+
+            if (alvo instanceof ResultSet) {
+                if ("next".equals(nome) && Boolean.TRUE.equals(resultado)) {
+                    ContadorSql.registrarLinhas(1);
+                }
+                return resultado;
+            }
+            if (alvo instanceof Statement) {
+                if (execucao) {
+                    registrarAlteracoes(resultado);
+                }
+                if (resultado instanceof ResultSet && ContadorSql.atual() != null) {
+                    return envolver(ResultSet.class, (ResultSet) resultado, null);
+                }
+                return resultado;
+            }
+            if (resultado instanceof Statement) {
+                return envolver((Class<Statement>) metodo.getReturnType(), (Statement) resultado, proxy);
+            }
+            return resultado;
+        }
+
+        private static void registrarAlteracoes(Object resultado) {
+            if (resultado instanceof Integer || resultado instanceof Long) {
+                ContadorSql.registrarLinhas(((Number) resultado).longValue());
+            } else if (resultado instanceof int[]) {
+                for (int quantidade : (int[]) resultado) {
+                    ContadorSql.registrarLinhas(quantidade);
+                }
+            } else if (resultado instanceof long[]) {
+                for (long quantidade : (long[]) resultado) {
+                    ContadorSql.registrarLinhas(quantidade);
+                }
+            }
+        }
+    }
+}
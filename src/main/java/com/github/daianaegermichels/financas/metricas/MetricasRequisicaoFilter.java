@@ -0,0 +1,78 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import com.github.daianaegermichels.financas.exception.OrcamentoSqlExcedidoException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Abre um {@link ContadorSql} por requisição e registra, por endpoint, quantos comandos SQL foram executados e
+ * quantas linhas foram lidas ou alteradas. O endpoint é identificado pelo padrão mapeado (ex.:
+ * {@code /api/lancamentos/{id}}), para que os ids não multipliquem as séries.
+ * <p>
+ * Requisições acima do orçamento do endpoint são registradas em log; no modo {@code REJEITAR} a execução é
+ * interrompida no comando excedente e a resposta é um erro 500.
+ */
+@Slf4j
+public class MetricasRequisicaoFilter extends OncePerRequestFilter {
+
+    private MeterRegistry registry;
+
+    public MetricasRequisicaoFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        var contador = ContadorSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            var orcamentoExcedido = obterOrcamentoExcedido(e);
+            if (orcamentoExcedido == null || response.isCommitted()) {
+                throw e;
+            }
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write(orcamentoExcedido.getMessage());
+        } finally {
+            ContadorSql.encerrar();
+            var padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            var uri = padrao != null ? padrao.toString() : "UNKNOWN";
+            if (contador.isExcedido()) {
+                log.warn("{} {} executou {} comandos SQL, acima do orçamento de {}", request.getMethod(), uri,
+                        contador.getComandos(), contador.getLimite());
+            }
+            DistributionSummary.builder("financas.requisicao.sql.comandos")
+                    .description("Comandos SQL executados por requisição")
+                    .tags("uri", uri, "method", request.getMethod())
+                    .register(registry)
+                    .record(contador.getComandos());
+            DistributionSummary.builder("financas.requisicao.sql.linhas")
+                    .description("Linhas lidas ou alteradas por requisição")
+                    .tags("uri", uri, "method", request.getMethod())
+                    .register(registry)
+                    .record(contador.getLinhas());
+        }
+    }
+
+    private static OrcamentoSqlExcedidoException obterOrcamentoExcedido(Throwable erro) {
+        for (var causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OrcamentoSqlExcedidoException) {
+                return (OrcamentoSqlExcedidoException) causa;
+            }
+        }
+        return null;
+    }
+}
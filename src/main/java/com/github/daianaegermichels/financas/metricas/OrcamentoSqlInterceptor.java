@@ -0,0 +1,33 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import com.github.daianaegermichels.financas.enuns.ModoOrcamentoSql;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica à contagem da requisição o orçamento do endpoint resolvido. Roda depois do mapeamento do handler, que é
+ * quando o padrão da URI passa a ser conhecido; os comandos dos filtros anteriores (ex.: carga do usuário do token)
+ * continuam contando.
+ */
+public class OrcamentoSqlInterceptor implements HandlerInterceptor {
+
+    private OrcamentoSqlProperties orcamento;
+
+    public OrcamentoSqlInterceptor(OrcamentoSqlProperties orcamento) {
+        this.orcamento = orcamento;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        var contador = ContadorSql.atual();
+        var padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (contador != null && padrao != null && orcamento.getModo() != ModoOrcamentoSql.DESLIGADO) {
+            contador.definirOrcamento(orcamento.obterLimite(request.getMethod(), padrao.toString()),
+                    orcamento.getModo() == ModoOrcamentoSql.REJEITAR);
+        }
+        return true;
+    }
+}
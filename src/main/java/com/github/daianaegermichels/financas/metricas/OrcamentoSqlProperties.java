@@ -0,0 +1,30 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import com.github.daianaegermichels.financas.enuns.ModoOrcamentoSql;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Orçamento de comandos SQL por requisição ({@code financas.sql.orcamento.*}). Os limites por endpoint usam como
+ * chave o método e o padrão mapeado, ex.: {@code financas.sql.orcamento.endpoints[PUT\ /api/lancamentos/{id}]=6}.
+ */
+@Data
+@ConfigurationProperties("financas.sql.orcamento")
+public class OrcamentoSqlProperties {
+
+    private ModoOrcamentoSql modo = ModoOrcamentoSql.REGISTRAR;
+
+    /**
+     * Limite para endpoints sem valor próprio; zero deixa esses endpoints sem orçamento.
+     */
+    private long padrao;
+
+    private Map<String, Long> endpoints = new HashMap<>();
+
+    public long obterLimite(String metodo, String padraoUri) {
+        return endpoints.getOrDefault(metodo + " " + padraoUri, padrao);
+    }
+}
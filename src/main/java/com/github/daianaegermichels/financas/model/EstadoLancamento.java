@@ -0,0 +1,49 @@
+package com.github.daianaegermichels.financas.model;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import lombok.Value;
+import lombok.With;
+
+import java.math.BigDecimal;
+
+/**
+ * Fotografia imutável dos campos de um {@link Lancamento} que alimentam dados derivados (saldo e resumos mensais).
+ */
+@Value
+public class EstadoLancamento {
+
+    Long idUsuario;
+    Integer ano;
+    Integer mes;
+    BigDecimal valor;
+    TipoLancamento tipo;
+    @With
+    StatusLancamento status;
+
+    public static EstadoLancamento de(Lancamento lancamento) {
+        var usuario = lancamento.getUsuario();
+        return new EstadoLancamento(
+                usuario != null ? usuario.getId() : null,
+                lancamento.getAno(),
+                lancamento.getMes(),
+                lancamento.getValor(),
+                lancamento.getTipo(),
+                lancamento.getStatus());
+    }
+
+    public BigDecimal getReceitaEfetivada() {
+        return valorEfetivado(TipoLancamento.RECEITA);
+    }
+
+    public BigDecimal getDespesaEfetivada() {
+        return valorEfetivado(TipoLancamento.DESPESA);
+    }
+
+    private BigDecimal valorEfetivado(TipoLancamento tipoLancamento) {
+        if (status != StatusLancamento.EFETIVADO || tipo != tipoLancamento || valor == null) {
+            return BigDecimal.ZERO;
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.daianaegermichels.financas.model;
+
+import com.github.daianaegermichels.financas.enuns.FormatoExtrato;
+import com.github.daianaegermichels.financas.enuns.StatusImportacao;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Importação de um extrato bancário. Os contadores e {@code ultimaSequencia} são gravados na mesma transação de cada
+ * bloco de lançamentos, então uma importação interrompida continua a partir do último bloco confirmado.
+ */
+@Data
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "importacao_extrato", schema = "financas")
+public class ImportacaoExtrato {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "id_usuario")
+    private Usuario usuario;
+
+    @Column(name = "nome_arquivo")
+    private String nomeArquivo;
+
+    @Column(name = "caminho_arquivo")
+    private String caminhoArquivo;
+
+    @Column(name = "charset")
+    private String charset;
+
+    @Column(name = "formato")
+    @Enumerated(value = EnumType.STRING)
+    private FormatoExtrato formato;
+
+    @Column(name = "status")
+    @Enumerated(value = EnumType.STRING)
+    private StatusImportacao status;
+
+    @Column(name = "ultima_sequencia")
+    private Long ultimaSequencia;
+
+    @Column(name = "linhas_lidas")
+    private Long linhasLidas;
+
+    @Column(name = "linhas_importadas")
+    private Long linhasImportadas;
+
+    @Column(name = "linhas_duplicadas")
+    private Long linhasDuplicadas;
+
+    @Column(name = "linhas_invalidas")
+    private Long linhasInvalidas;
+
+    @Column(name = "mensagem_erro")
+    private String mensagemErro;
+
+    @Column(name = "data_cadastro")
+    private LocalDateTime dataCadastro;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+}
@@ -1,11 +1,9 @@
 package com.github.daianaegermichels.financas.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.daianaegermichels.financas.enuns.StatusLancamento;
 import com.github.daianaegermichels.financas.enuns.TipoLancamento;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
@@ -21,7 +19,8 @@ public class Lancamento {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+    @SequenceGenerator(name = "lancamento_seq", sequenceName = "lancamento_seq", schema = "financas", allocationSize = 50)
     private Long id;
 
     @Column(name = "descricao")
@@ -50,4 +49,32 @@ public class Lancamento {
     @Column(name= "status")
     @Enumerated(value = EnumType.STRING)
     private StatusLancamento status;
+
+    @Column(name = "id_recorrencia")
+    private Long idRecorrencia;
+
+    @Column(name = "parcela")
+    private Integer parcela;
+
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
+    @Transient
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private EstadoLancamento estadoCarregado;
+
+    /**
+     * Guarda o estado lido do banco para que as alterações possam ser convertidas em deltas
+     * mesmo quando a entidade gerenciada é modificada antes de chegar ao serviço.
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void registrarEstadoCarregado() {
+        this.estadoCarregado = EstadoLancamento.de(this);
+    }
 }
@@ -0,0 +1,57 @@
+package com.github.daianaegermichels.financas.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Hash do conteúdo de cada linha de extrato já importada, por usuário. Impede que o mesmo movimento gere dois
+ * lançamentos quando um extrato é reenviado, quando extratos se sobrepõem ou quando uma importação é retomada.
+ */
+@Data
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(LancamentoImportado.Chave.class)
+@Table(name = "lancamento_importado", schema = "financas")
+public class LancamentoImportado implements Persistable<LancamentoImportado.Chave> {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "id_lancamento")
+    private Long idLancamento;
+
+    /**
+     * Os registros só são inseridos; informar isso ao Spring Data evita um select por registro antes do insert.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Override
+    public Chave getId() {
+        return new Chave(idUsuario, hash);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        private Long idUsuario;
+        private String hash;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.daianaegermichels.financas.model;
+
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoRecorrencia;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Definição de uma série de lançamentos mensais a partir de {@code mesInicial}/{@code anoInicial}: sem fim, com
+ * {@code parcelas} ocorrências ou até uma data final (convertida em parcelas). As ocorrências são {@link Lancamento}s
+ * comuns, ligados à série por {@code idRecorrencia} e numerados por {@code parcela}.
+ */
+@Data
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "recorrencia_lancamento", schema = "financas")
+public class RecorrenciaLancamento {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "descricao")
+    private String descricao;
+
+    @Column(name = "valor")
+    private BigDecimal valor;
+
+    @Column(name= "tipo")
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column(name= "tipo_recorrencia")
+    @Enumerated(value = EnumType.STRING)
+    private TipoRecorrencia tipoRecorrencia;
+
+    @Column(name = "ano_inicial")
+    private Integer anoInicial;
+
+    @Column(name = "mes_inicial")
+    private Integer mesInicial;
+
+    @Column(name = "parcelas")
+    private Integer parcelas;
+
+    @Column(name = "parcelas_geradas")
+    private Integer parcelasGeradas;
+
+    /**
+     * Mês (ano * 12 + mes - 1) da próxima ocorrência a gerar; nulo quando a série terminou ou foi cancelada.
+     */
+    @Column(name = "proxima_geracao")
+    private Integer proximaGeracao;
+
+    @Column(name = "cancelada")
+    private Boolean cancelada;
+
+    @Column(name = "data_cadastro")
+    private LocalDateTime dataCadastro;
+}
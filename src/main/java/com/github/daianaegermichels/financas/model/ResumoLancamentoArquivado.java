@@ -0,0 +1,52 @@
+package com.github.daianaegermichels.financas.model;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Total e quantidade dos lançamentos arquivados de um usuário em um mês, por tipo e status. Substitui as linhas
+ * de {@link Lancamento} dos anos fechados nas consultas de saldo e relatório.
+ */
+@Data
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "resumo_lancamento_arquivado", schema = "financas")
+public class ResumoLancamentoArquivado {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "ano")
+    private Integer ano;
+
+    @Column(name = "mes")
+    private Integer mes;
+
+    @Column(name= "tipo")
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column(name= "status")
+    @Enumerated(value = EnumType.STRING)
+    private StatusLancamento status;
+
+    @Column(name = "total")
+    private BigDecimal total;
+
+    @Column(name = "quantidade")
+    private Long quantidade;
+}
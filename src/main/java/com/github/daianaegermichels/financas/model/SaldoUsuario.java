@@ -0,0 +1,37 @@
+package com.github.daianaegermichels.financas.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo efetivado de cada usuário, mantido de forma incremental pelas operações de
+ * {@link com.github.daianaegermichels.financas.service.LancamentoService} na mesma transação
+ * em que o lançamento é alterado.
+ */
+@Data
+@Builder
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "saldo_usuario", schema = "financas")
+public class SaldoUsuario {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "receitas")
+    private BigDecimal receitas;
+
+    @Column(name = "despesas")
+    private BigDecimal despesas;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+}
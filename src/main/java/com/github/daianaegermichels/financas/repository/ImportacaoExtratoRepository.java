@@ -0,0 +1,47 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.enuns.StatusImportacao;
+import com.github.daianaegermichels.financas.model.ImportacaoExtrato;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportacaoExtratoRepository extends JpaRepository<ImportacaoExtrato, Long> {
+
+    List<ImportacaoExtrato> findByStatus(StatusImportacao status);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = " update ImportacaoExtrato i set i.status = :novoStatus, i.mensagemErro = :mensagem, i.dataAtualizacao = :data " +
+            " where i.id = :id and i.status in :statusAtuais ")
+    int alterarStatus(@Param("id") Long id,
+                      @Param("statusAtuais") Collection<StatusImportacao> statusAtuais,
+                      @Param("novoStatus") StatusImportacao novoStatus,
+                      @Param("mensagem") String mensagem,
+                      @Param("data") LocalDateTime data);
+
+    @Transactional
+    @Modifying
+    @Query(value = " update ImportacaoExtrato i set i.ultimaSequencia = :ultimaSequencia, " +
+            " i.linhasLidas = i.linhasLidas + :lidas, " +
+            " i.linhasImportadas = i.linhasImportadas + :importadas, " +
+            " i.linhasDuplicadas = i.linhasDuplicadas + :duplicadas, " +
+            " i.linhasInvalidas = i.linhasInvalidas + :invalidas, " +
+            " i.dataAtualizacao = :data " +
+            " where i.id = :id ")
+    int registrarProgresso(@Param("id") Long id,
+                           @Param("ultimaSequencia") Long ultimaSequencia,
+                           @Param("lidas") long lidas,
+                           @Param("importadas") long importadas,
+                           @Param("duplicadas") long duplicadas,
+                           @Param("invalidas") long invalidas,
+                           @Param("data") LocalDateTime data);
+}
@@ -0,0 +1,38 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.model.LancamentoArquivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+@Repository
+public interface LancamentoArquivadoRepository extends JpaRepository<LancamentoArquivado, Long> {
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(value = " select new com.github.daianaegermichels.financas.dto.LancamentoDTO(l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status) " +
+            " from LancamentoArquivado l where l.id = :id ")
+    Optional<LancamentoDTO> obterResumoPorId(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(value = " select new com.github.daianaegermichels.financas.dto.LancamentoDTO(l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status) " +
+            " from LancamentoArquivado l where l.usuario.id = :idUsuario and l.ano = :ano and (:mes is null or l.mes = :mes) " +
+            " order by l.mes, l.id ")
+    List<LancamentoDTO> buscarPorUsuario(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano, @Param("mes") Integer mes);
+
+    @Modifying
+    @Query(value = " insert into financas.lancamento_arquivado (id, ano, data_cadastro, descricao, mes, status, tipo, valor, id_usuario) " +
+            " select l.id, l.ano, l.data_cadastro, l.descricao, l.mes, l.status, l.tipo, l.valor, l.id_usuario " +
+            " from financas.lancamento l where l.id in :ids ", nativeQuery = true)
+    int copiar(@Param("ids") Collection<Long> ids);
+}
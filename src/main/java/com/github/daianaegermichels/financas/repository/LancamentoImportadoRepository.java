@@ -0,0 +1,17 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.model.LancamentoImportado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LancamentoImportadoRepository extends JpaRepository<LancamentoImportado, LancamentoImportado.Chave> {
+
+    @Query(value = " select l.hash from LancamentoImportado l where l.idUsuario = :idUsuario and l.hash in :hashes ")
+    List<String> obterHashesExistentes(@Param("idUsuario") Long idUsuario, @Param("hashes") Collection<String> hashes);
+}
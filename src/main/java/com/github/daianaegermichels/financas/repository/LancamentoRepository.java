@@ -1,19 +1,114 @@
 package com.github.daianaegermichels.financas.repository;
 
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
 import com.github.daianaegermichels.financas.enuns.StatusLancamento;
 import com.github.daianaegermichels.financas.enuns.TipoLancamento;
 import com.github.daianaegermichels.financas.model.Lancamento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
 
     @Query(value = " select sum(l.valor) from Lancamento l join l.usuario u where u.id = :idUsuario and l.tipo = :tipo and l.status = :status group by u ")
     BigDecimal obterSaldoPorTipoDeLancamentoEUsuarioEStatus(@Param("idUsuario") Long idUsuario, @Param("tipo") TipoLancamento tipo, @Param("status") StatusLancamento status);
 
+    @Query(value = " select l.tipo, sum(l.valor) from Lancamento l where l.usuario.id = :idUsuario and l.status = :status group by l.tipo ")
+    List<Object[]> obterTotaisPorTipoDeLancamento(@Param("idUsuario") Long idUsuario, @Param("status") StatusLancamento status);
+
+    @Query(value = " select l.usuario.id, l.tipo, sum(l.valor) from Lancamento l where l.status = :status group by l.usuario.id, l.tipo ")
+    List<Object[]> obterTotaisPorUsuarioETipoDeLancamento(@Param("status") StatusLancamento status);
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(value = " select new com.github.daianaegermichels.financas.dto.LancamentoDTO(l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.versao) " +
+            " from Lancamento l where l.id = :id ")
+    Optional<LancamentoDTO> obterResumoPorId(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(value = " select new com.github.daianaegermichels.financas.dto.LancamentoDTO(l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status) " +
+            " from Lancamento l where l.id in :ids ")
+    List<LancamentoDTO> obterResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = " select l.versao from Lancamento l where l.id = :id ")
+    Optional<Long> obterVersao(@Param("id") Long id);
+
+    @Query(value = " select l.id, l.ano, l.mes, l.descricao from Lancamento l where l.usuario.id = :idUsuario ")
+    List<Object[]> obterDescricoesPorUsuario(@Param("idUsuario") Long idUsuario);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "120"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = " select l.ano, l.mes, " +
+            " sum(case when l.tipo = com.github.daianaegermichels.financas.enuns.TipoLancamento.RECEITA then l.valor else 0 end), " +
+            " sum(case when l.tipo = com.github.daianaegermichels.financas.enuns.TipoLancamento.DESPESA then l.valor else 0 end) " +
+            " from Lancamento l where l.usuario.id = :idUsuario and l.ano between :anoInicial and :anoFinal and l.status in :status " +
+            " group by l.ano, l.mes order by l.ano, l.mes ")
+    Stream<Object[]> obterTotaisMensais(@Param("idUsuario") Long idUsuario, @Param("anoInicial") Integer anoInicial, @Param("anoFinal") Integer anoFinal, @Param("status") Collection<StatusLancamento> status);
+
+    @Query(value = " select distinct l.ano from Lancamento l where l.ano < :ano order by l.ano ")
+    List<Integer> obterAnosAnterioresA(@Param("ano") Integer ano);
+
+    @Query(value = " select distinct l.usuario.id from Lancamento l where l.ano = :ano ")
+    List<Long> obterUsuariosPorAno(@Param("ano") Integer ano);
+
+    /**
+     * Bloqueia os lançamentos do usuário no ano até o fim da transação, para que não mudem entre a cópia e a remoção.
+     */
+    @Query(value = " select l.id from financas.lancamento l where l.id_usuario = :idUsuario and l.ano = :ano order by l.id for update ", nativeQuery = true)
+    List<Long> bloquearIdsPorUsuarioEAno(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano);
+
+    /**
+     * Bloqueia os lançamentos do usuário entre os ids até o fim da transação, sempre na ordem do id, e devolve os
+     * campos que alimentam o saldo: id, ano, mes, valor, tipo e status.
+     */
+    @Query(value = " select l.id, l.ano, l.mes, l.valor, l.tipo, l.status from financas.lancamento l " +
+            " where l.id_usuario = :idUsuario and l.id in :ids order by l.id for update ", nativeQuery = true)
+    List<Object[]> bloquearPorUsuarioEIds(@Param("idUsuario") Long idUsuario, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Como {@link #bloquearPorUsuarioEIds}, para as ocorrências pendentes da série a partir do mês
+     * {@code inicio} (ano * 12 + mes - 1).
+     */
+    @Query(value = " select l.id, l.ano, l.mes, l.valor, l.tipo, l.status from financas.lancamento l " +
+            " where l.id_recorrencia = :idRecorrencia and l.status = 'PENDENTE' and l.ano * 12 + l.mes - 1 >= :inicio " +
+            " order by l.id for update ", nativeQuery = true)
+    List<Object[]> bloquearPendentesPorRecorrencia(@Param("idRecorrencia") Long idRecorrencia, @Param("inicio") Integer inicio);
+
+    @Query(value = " select l.id from Lancamento l where l.idRecorrencia = :idRecorrencia and l.status = :status " +
+            " and l.ano * 12 + l.mes - 1 >= :inicio order by l.id ")
+    List<Long> obterIdsPorRecorrenciaEStatus(@Param("idRecorrencia") Long idRecorrencia, @Param("status") StatusLancamento status,
+                                             @Param("inicio") Integer inicio);
+
+    @Query(value = " select l.id from Lancamento l where l.usuario.id = :idUsuario and l.ano = :ano and l.mes = :mes and l.status <> :status order by l.id ")
+    List<Long> obterIdsPorMesComStatusDiferente(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano, @Param("mes") Integer mes, @Param("status") StatusLancamento status);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = " update Lancamento l set l.status = :status, l.versao = l.versao + 1 where l.id in :ids ")
+    int atualizarStatusPorIds(@Param("ids") Collection<Long> ids, @Param("status") StatusLancamento status);
+
+    /**
+     * Incrementa a versão se ela ainda for a informada, bloqueando a linha até o fim da transação sem lê-la.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = " update Lancamento l set l.versao = l.versao + 1 where l.id = :id and l.usuario.id = :idUsuario and l.versao = :versao ")
+    int reservarVersao(@Param("id") Long id, @Param("idUsuario") Long idUsuario, @Param("versao") Long versao);
+
+    boolean existsByIdAndUsuarioId(Long id, Long idUsuario);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = " delete from Lancamento l where l.id in :ids ")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
+
 }
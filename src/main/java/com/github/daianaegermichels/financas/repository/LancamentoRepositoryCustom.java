@@ -0,0 +1,23 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.dto.CursorLancamento;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.model.Lancamento;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface LancamentoRepositoryCustom {
+
+    List<LancamentoDTO> buscarPagina(Lancamento lancamentoFiltro, CursorLancamento cursor, Integer limite);
+
+    Stream<LancamentoDTO> percorrer(Lancamento lancamentoFiltro, int tamanhoBloco);
+
+    List<Lancamento> salvarEmLote(List<Lancamento> lancamentos);
+
+    int atualizarCampos(Long id, Long idUsuario, Long versao, Map<String, Object> campos);
+
+    int atualizarOcorrencias(Collection<Long> ids, Map<String, Object> campos, Integer parcelas);
+}
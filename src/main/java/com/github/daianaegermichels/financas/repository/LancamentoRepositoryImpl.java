@@ -0,0 +1,190 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.dto.CursorLancamento;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import org.hibernate.CacheMode;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca paginada por chave, ordenada por (ano, mes, id). A página seguinte parte do último item da anterior,
+     * então o custo não cresce com a posição como aconteceria com offset.
+     */
+    @Override
+    public List<LancamentoDTO> buscarPagina(Lancamento lancamentoFiltro, CursorLancamento cursor, Integer limite) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(LancamentoDTO.class);
+        var lancamento = query.from(Lancamento.class);
+        query.select(projetar(cb, lancamento));
+
+        var filtros = filtrar(cb, lancamento, lancamentoFiltro);
+        if (cursor != null) {
+            var ano = lancamento.<Integer>get("ano");
+            var mes = lancamento.<Integer>get("mes");
+            filtros.add(cb.greaterThanOrEqualTo(ano, cursor.getAno()));
+            filtros.add(cb.or(
+                    cb.greaterThan(ano, cursor.getAno()),
+                    cb.and(cb.equal(ano, cursor.getAno()), cb.greaterThan(mes, cursor.getMes())),
+                    cb.and(cb.equal(ano, cursor.getAno()), cb.equal(mes, cursor.getMes()),
+                            cb.greaterThan(lancamento.<Long>get("id"), cursor.getId()))));
+        }
+
+        query.where(filtros.toArray(new Predicate[0]))
+                .orderBy(cb.asc(lancamento.get("ano")), cb.asc(lancamento.get("mes")), cb.asc(lancamento.get("id")));
+
+        var consulta = entityManager.createQuery(query).setHint(HINT_READONLY, true);
+        if (limite != null) {
+            consulta.setMaxResults(limite);
+        }
+        return consulta.getResultList();
+    }
+
+    /**
+     * Percorre os lançamentos do filtro em ordem (ano, mes, id) lendo do banco em blocos de {@code tamanhoBloco}
+     * linhas. As linhas viram DTOs sem passar pelo contexto de persistência, então a memória usada não cresce com o
+     * total de linhas. Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @Override
+    public Stream<LancamentoDTO> percorrer(Lancamento lancamentoFiltro, int tamanhoBloco) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(LancamentoDTO.class);
+        var lancamento = query.from(Lancamento.class);
+        query.select(projetar(cb, lancamento));
+
+        query.where(filtrar(cb, lancamento, lancamentoFiltro).toArray(new Predicate[0]))
+                .orderBy(cb.asc(lancamento.get("ano")), cb.asc(lancamento.get("mes")), cb.asc(lancamento.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, tamanhoBloco)
+                .setHint(HINT_READONLY, true)
+                .setHint(HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+    }
+
+    /**
+     * Insere os lançamentos com um único flush, aproveitando {@code hibernate.jdbc.batch_size}, e limpa o contexto de
+     * persistência para que blocos seguintes na mesma requisição não acumulem entidades gerenciadas.
+     */
+    @Override
+    public List<Lancamento> salvarEmLote(List<Lancamento> lancamentos) {
+        lancamentos.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+        return lancamentos;
+    }
+
+    /**
+     * Um único UPDATE com os atributos informados em {@code campos}, sem ler a linha antes. Com {@code versao}, só
+     * altera se ela ainda for a atual e a incrementa; sem versão, a linha já deve ter sido reservada na transação
+     * ({@link LancamentoRepository#reservarVersao}).
+     */
+    @Override
+    public int atualizarCampos(Long id, Long idUsuario, Long versao, Map<String, Object> campos) {
+        var jpql = new StringBuilder(" update Lancamento l set ");
+        campos.keySet().forEach(campo -> jpql.append("l.").append(campo).append(" = :").append(campo).append(", "));
+        if (versao != null) {
+            jpql.append("l.versao = l.versao + 1 where l.id = :id and l.usuario.id = :idUsuario and l.versao = :versao ");
+        } else {
+            jpql.setLength(jpql.length() - 2);
+            jpql.append(" where l.id = :id and l.usuario.id = :idUsuario ");
+        }
+
+        var query = entityManager.createQuery(jpql.toString())
+                .setParameter("id", id)
+                .setParameter("idUsuario", idUsuario);
+        if (versao != null) {
+            query.setParameter("versao", versao);
+        }
+        campos.forEach(query::setParameter);
+        int alterados = query.executeUpdate();
+        entityManager.clear();
+        return alterados;
+    }
+
+    /**
+     * Um único UPDATE das ocorrências {@code ids} de uma série, já bloqueadas na transação. Com {@code parcelas}, a
+     * descrição informada recebe o número de cada parcela, no mesmo formato da geração.
+     */
+    @Override
+    public int atualizarOcorrencias(Collection<Long> ids, Map<String, Object> campos, Integer parcelas) {
+        var numerarDescricao = parcelas != null && campos.containsKey("descricao");
+        var jpql = new StringBuilder(" update Lancamento l set ");
+        campos.keySet().forEach(campo -> {
+            if (numerarDescricao && campo.equals("descricao")) {
+                jpql.append("l.descricao = concat(:descricao, ' (', str(l.parcela), '/', :parcelas, ')'), ");
+            } else {
+                jpql.append("l.").append(campo).append(" = :").append(campo).append(", ");
+            }
+        });
+        jpql.append("l.versao = l.versao + 1 where l.id in :ids ");
+
+        var query = entityManager.createQuery(jpql.toString())
+                .setParameter("ids", ids);
+        if (numerarDescricao) {
+            query.setParameter("parcelas", parcelas.toString());
+        }
+        campos.forEach(query::setParameter);
+        int alterados = query.executeUpdate();
+        entityManager.clear();
+        return alterados;
+    }
+
+    private static CompoundSelection<LancamentoDTO> projetar(CriteriaBuilder cb, Root<Lancamento> lancamento) {
+        return cb.construct(LancamentoDTO.class,
+                lancamento.get("id"),
+                lancamento.get("descricao"),
+                lancamento.get("mes"),
+                lancamento.get("ano"),
+                lancamento.get("valor"),
+                lancamento.get("usuario").get("id"),
+                lancamento.get("tipo"),
+                lancamento.get("status"),
+                lancamento.get("versao"));
+    }
+
+    private static List<Predicate> filtrar(CriteriaBuilder cb, Root<Lancamento> lancamento, Lancamento lancamentoFiltro) {
+        List<Predicate> filtros = new ArrayList<>();
+        filtros.add(cb.equal(lancamento.get("usuario").get("id"), lancamentoFiltro.getUsuario().getId()));
+        if (lancamentoFiltro.getDescricao() != null) {
+            filtros.add(cb.like(cb.lower(lancamento.get("descricao")),
+                    "%" + escaparLike(lancamentoFiltro.getDescricao().toLowerCase()) + "%", '\\'));
+        }
+        if (lancamentoFiltro.getMes() != null) {
+            filtros.add(cb.equal(lancamento.get("mes"), lancamentoFiltro.getMes()));
+        }
+        if (lancamentoFiltro.getAno() != null) {
+            filtros.add(cb.equal(lancamento.get("ano"), lancamentoFiltro.getAno()));
+        }
+        if (lancamentoFiltro.getTipo() != null) {
+            filtros.add(cb.equal(lancamento.get("tipo"), lancamentoFiltro.getTipo()));
+        }
+        if (lancamentoFiltro.getStatus() != null) {
+            filtros.add(cb.equal(lancamento.get("status"), lancamentoFiltro.getStatus()));
+        }
+        return filtros;
+    }
+
+    static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
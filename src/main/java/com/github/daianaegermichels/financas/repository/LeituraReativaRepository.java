@@ -0,0 +1,130 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.dto.CursorLancamento;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Consultas de leitura da API reativa, via R2DBC. Espelham {@link LancamentoRepositoryImpl#buscarPagina},
+ * {@link LancamentoRepository#obterResumoPorId} e {@link SaldoUsuarioRepository#obterSaldo}, mas não passam pelo
+ * Hibernate nem ocupam conexões do pool JDBC.
+ */
+public class LeituraReativaRepository {
+
+    private static final String COLUNAS = " select id, descricao, mes, ano, valor, id_usuario, tipo, status, versao ";
+
+    // Lançamentos arquivados não têm versão: não podem mais ser alterados.
+    private static final String COLUNAS_ARQUIVADO = " select id, descricao, mes, ano, valor, id_usuario, tipo, status, cast(null as bigint) as versao ";
+
+    private DatabaseClient cliente;
+
+    private int tamanhoBloco;
+
+    public LeituraReativaRepository(DatabaseClient cliente, int tamanhoBloco) {
+        this.cliente = cliente;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    public Mono<Boolean> existeUsuario(Long idUsuario) {
+        return cliente.sql(" select 1 from financas.usuario where id = :id ")
+                .bind("id", idUsuario)
+                .fetch().first()
+                .hasElement();
+    }
+
+    /**
+     * Lançamentos do usuário na ordem (ano, mes, id), a partir do cursor quando informado. As linhas são lidas do banco
+     * em blocos de {@code tamanhoBloco} conforme o assinante pede, então um cliente lento segura a leitura em vez de
+     * acumular o resultado em memória.
+     */
+    public Flux<LancamentoDTO> buscar(Long idUsuario, String descricao, Integer mes, Integer ano,
+                                      CursorLancamento cursor, Integer limite) {
+        var sql = new StringBuilder(COLUNAS).append(" from financas.lancamento where id_usuario = :usuario ");
+        if (descricao != null) {
+            sql.append(" and lower(descricao) like :descricao escape '\\' ");
+        }
+        if (mes != null) {
+            sql.append(" and mes = :mes ");
+        }
+        if (ano != null) {
+            sql.append(" and ano = :ano ");
+        }
+        if (cursor != null) {
+            sql.append(" and ano >= :cursorAno and (ano > :cursorAno or (ano = :cursorAno and mes > :cursorMes) ")
+                    .append(" or (ano = :cursorAno and mes = :cursorMes and id > :cursorId)) ");
+        }
+        sql.append(" order by ano, mes, id ");
+        if (limite != null) {
+            sql.append(" limit ").append(limite.intValue());
+        }
+
+        var consulta = cliente.sql(sql.toString()).bind("usuario", idUsuario);
+        if (descricao != null) {
+            consulta = consulta.bind("descricao", "%" + LancamentoRepositoryImpl.escaparLike(descricao.toLowerCase()) + "%");
+        }
+        if (mes != null) {
+            consulta = consulta.bind("mes", mes);
+        }
+        if (ano != null) {
+            consulta = consulta.bind("ano", ano);
+        }
+        if (cursor != null) {
+            consulta = consulta.bind("cursorAno", cursor.getAno())
+                    .bind("cursorMes", cursor.getMes())
+                    .bind("cursorId", cursor.getId());
+        }
+        return consulta.filter(statement -> statement.fetchSize(tamanhoBloco))
+                .map((row, metadados) -> converter(row))
+                .all();
+    }
+
+    /**
+     * Procura primeiro entre os lançamentos abertos e depois entre os arquivados.
+     */
+    public Mono<LancamentoDTO> obterResumoPorId(Long id) {
+        return obterResumoPorId(COLUNAS + " from financas.lancamento ", id)
+                .switchIfEmpty(Mono.defer(() -> obterResumoPorId(COLUNAS_ARQUIVADO + " from financas.lancamento_arquivado ", id)));
+    }
+
+    public Mono<BigDecimal> obterSaldo(Long idUsuario) {
+        return cliente.sql(" select receitas - despesas as saldo from financas.saldo_usuario where id_usuario = :id ")
+                .bind("id", idUsuario)
+                .map((row, metadados) -> row.get("saldo", BigDecimal.class))
+                .first();
+    }
+
+    private Mono<LancamentoDTO> obterResumoPorId(String consulta, Long id) {
+        return cliente.sql(consulta + " where id = :id ")
+                .bind("id", id)
+                .map((row, metadados) -> converter(row))
+                .first();
+    }
+
+    /**
+     * Libera o pool de conexões R2DBC ao encerrar a aplicação.
+     */
+    public void fechar() {
+        if (cliente.getConnectionFactory() instanceof Disposable conexoes) {
+            conexoes.dispose();
+        }
+    }
+
+    private static LancamentoDTO converter(Row row) {
+        return new LancamentoDTO(
+                row.get("id", Long.class),
+                row.get("descricao", String.class),
+                row.get("mes", Integer.class),
+                row.get("ano", Integer.class),
+                row.get("valor", BigDecimal.class),
+                row.get("id_usuario", Long.class),
+                row.get("tipo", String.class),
+                row.get("status", String.class),
+                row.get("versao", Long.class));
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.model.RecorrenciaLancamento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecorrenciaLancamentoRepository extends JpaRepository<RecorrenciaLancamento, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = " select r from RecorrenciaLancamento r where r.id = :id and r.idUsuario = :idUsuario ")
+    Optional<RecorrenciaLancamento> buscarParaAtualizacao(@Param("id") Long id, @Param("idUsuario") Long idUsuario);
+
+    /**
+     * Bloqueia as séries na ordem do id, para que o job e as alterações de uma série não gerem a mesma parcela duas
+     * vezes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = " select r from RecorrenciaLancamento r where r.id in :ids order by r.id ")
+    List<RecorrenciaLancamento> bloquear(@Param("ids") Collection<Long> ids);
+
+    @Query(value = " select r.id from RecorrenciaLancamento r where r.proximaGeracao <= :limite and r.id > :ultimo order by r.id ")
+    List<Long> obterIdsComGeracaoAte(@Param("limite") Integer limite, @Param("ultimo") Long ultimo, Pageable pagina);
+}
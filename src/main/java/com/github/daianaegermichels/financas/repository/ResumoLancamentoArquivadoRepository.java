@@ -0,0 +1,49 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.model.ResumoLancamentoArquivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResumoLancamentoArquivadoRepository extends JpaRepository<ResumoLancamentoArquivado, Long> {
+
+    String MESMA_CHAVE = " l.id_usuario = r.id_usuario and l.ano = r.ano and l.mes = r.mes and l.tipo = r.tipo and l.status = r.status ";
+
+    @Query(value = " select r.tipo, sum(r.total) from ResumoLancamentoArquivado r where r.idUsuario = :idUsuario and r.status = :status group by r.tipo ")
+    List<Object[]> obterTotaisPorTipoDeLancamento(@Param("idUsuario") Long idUsuario, @Param("status") StatusLancamento status);
+
+    @Query(value = " select r.idUsuario, r.tipo, sum(r.total) from ResumoLancamentoArquivado r where r.status = :status group by r.idUsuario, r.tipo ")
+    List<Object[]> obterTotaisPorUsuarioETipoDeLancamento(@Param("status") StatusLancamento status);
+
+    @Query(value = " select r.ano, r.mes, " +
+            " sum(case when r.tipo = com.github.daianaegermichels.financas.enuns.TipoLancamento.RECEITA then r.total else 0 end), " +
+            " sum(case when r.tipo = com.github.daianaegermichels.financas.enuns.TipoLancamento.DESPESA then r.total else 0 end) " +
+            " from ResumoLancamentoArquivado r where r.idUsuario = :idUsuario and r.ano between :anoInicial and :anoFinal and r.status in :status " +
+            " group by r.ano, r.mes order by r.ano, r.mes ")
+    List<Object[]> obterTotaisMensais(@Param("idUsuario") Long idUsuario, @Param("anoInicial") Integer anoInicial, @Param("anoFinal") Integer anoFinal, @Param("status") Collection<StatusLancamento> status);
+
+    /**
+     * Soma os lançamentos informados aos resumos que já existem. Deve rodar antes de {@link #inserir}, que cria os
+     * resumos que faltam com os mesmos lançamentos.
+     */
+    @Modifying
+    @Query(value = " update financas.resumo_lancamento_arquivado r " +
+            " set total = r.total + (select sum(l.valor) from financas.lancamento l where l.id in :ids and " + MESMA_CHAVE + "), " +
+            " quantidade = r.quantidade + (select count(*) from financas.lancamento l where l.id in :ids and " + MESMA_CHAVE + ") " +
+            " where exists (select 1 from financas.lancamento l where l.id in :ids and " + MESMA_CHAVE + ") ", nativeQuery = true)
+    int acumular(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = " insert into financas.resumo_lancamento_arquivado (id_usuario, ano, mes, tipo, status, total, quantidade) " +
+            " select l.id_usuario, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(*) from financas.lancamento l " +
+            " where l.id in :ids and not exists (select 1 from financas.resumo_lancamento_arquivado r where " + MESMA_CHAVE + ") " +
+            " group by l.id_usuario, l.ano, l.mes, l.tipo, l.status ", nativeQuery = true)
+    int inserir(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,70 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.ResumoMensalLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResumoMensalLancamentoRepository extends JpaRepository<ResumoMensalLancamento, Long>, ResumoMensalLancamentoRepositoryCustom {
+
+    String MESMA_CHAVE = " l.id_usuario = r.id_usuario and l.ano = r.ano and l.mes = r.mes and l.tipo = r.tipo and l.status = r.status ";
+
+    @Query(value = " select r from ResumoMensalLancamento r where r.idUsuario = :idUsuario and r.ano between :anoInicial and :anoFinal " +
+            " and r.status in :status and r.quantidade > 0 order by r.ano, r.mes, r.tipo, r.status ")
+    List<ResumoMensalLancamento> obterPorPeriodo(@Param("idUsuario") Long idUsuario, @Param("anoInicial") Integer anoInicial,
+                                                 @Param("anoFinal") Integer anoFinal, @Param("status") Collection<StatusLancamento> status);
+
+    @Modifying
+    @Query(value = " update ResumoMensalLancamento r set r.total = r.total + :total, r.quantidade = r.quantidade + :quantidade " +
+            " where r.idUsuario = :idUsuario and r.ano = :ano and r.mes = :mes and r.tipo = :tipo and r.status = :status ")
+    int aplicarDelta(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano, @Param("mes") Integer mes,
+                     @Param("tipo") TipoLancamento tipo, @Param("status") StatusLancamento status,
+                     @Param("total") BigDecimal total, @Param("quantidade") Long quantidade);
+
+    /**
+     * Tira do resumo o lançamento como está no banco. Com {@link #acrescentar}, depois da alteração, move o lançamento
+     * de resumo sem que ele seja lido.
+     */
+    @Modifying
+    @Query(value = " update financas.resumo_mensal_lancamento r " +
+            " set total = r.total - (select coalesce(l.valor, 0) from financas.lancamento l where l.id = :id), " +
+            " quantidade = r.quantidade - 1 " +
+            " where exists (select 1 from financas.lancamento l where l.id = :id and " + MESMA_CHAVE + ") ", nativeQuery = true)
+    int retirar(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = " update financas.resumo_mensal_lancamento r " +
+            " set total = r.total + (select coalesce(l.valor, 0) from financas.lancamento l where l.id = :id), " +
+            " quantidade = r.quantidade + 1 " +
+            " where exists (select 1 from financas.lancamento l where l.id = :id and " + MESMA_CHAVE + ") ", nativeQuery = true)
+    int acrescentar(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = " delete from ResumoMensalLancamento r where r.idUsuario in :ids ")
+    int removerPorUsuarios(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recalcula os resumos dos usuários a partir dos lançamentos abertos e dos resumos arquivados. Deve rodar depois de
+     * {@link #removerPorUsuarios}.
+     */
+    @Modifying
+    @Query(value = " insert into financas.resumo_mensal_lancamento (id_usuario, ano, mes, tipo, status, total, quantidade) " +
+            " select t.id_usuario, t.ano, t.mes, t.tipo, t.status, sum(t.total), sum(t.quantidade) " +
+            " from (select l.id_usuario, l.ano, l.mes, l.tipo, l.status, coalesce(l.valor, 0) as total, 1 as quantidade " +
+            "       from financas.lancamento l " +
+            "       where l.id_usuario in :ids and l.ano is not null and l.mes is not null and l.tipo is not null and l.status is not null " +
+            "       union all " +
+            "       select r.id_usuario, r.ano, r.mes, r.tipo, r.status, r.total, r.quantidade " +
+            "       from financas.resumo_lancamento_arquivado r where r.id_usuario in :ids) t " +
+            " group by t.id_usuario, t.ano, t.mes, t.tipo, t.status ", nativeQuery = true)
+    int inserirTotais(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,11 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+
+public interface ResumoMensalLancamentoRepositoryCustom {
+
+    void criarSeAusente(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status);
+
+    void criarSeAusente(Long idLancamento);
+}
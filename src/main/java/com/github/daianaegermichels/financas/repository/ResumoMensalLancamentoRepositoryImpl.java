@@ -0,0 +1,62 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Cria o resumo zerado de uma chave que ainda não tem lançamentos, para que o delta seja aplicado sobre ele. No
+ * PostgreSQL o {@code on conflict do nothing} espera a criação concorrente da mesma chave em vez de falhar; nos demais
+ * bancos (H2, usado em desenvolvimento e testes) duas criações simultâneas podem esbarrar na restrição única.
+ */
+public class ResumoMensalLancamentoRepositoryImpl implements ResumoMensalLancamentoRepositoryCustom {
+
+    private static final String INSERIR = " insert into financas.resumo_mensal_lancamento (id_usuario, ano, mes, tipo, status, total, quantidade) ";
+
+    private static final String SE_AUSENTE = " on conflict (id_usuario, ano, mes, tipo, status) do nothing ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final boolean postgres;
+
+    public ResumoMensalLancamentoRepositoryImpl(DataSource dataSource) throws MetaDataAccessException {
+        this.postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+    }
+
+    @Override
+    public void criarSeAusente(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status) {
+        var sql = INSERIR + " select u.id, cast(:ano as integer), cast(:mes as integer), cast(:tipo as varchar(255)), cast(:status as varchar(255)), 0, 0 " +
+                " from financas.usuario u where u.id = :idUsuario " +
+                " and not exists (select 1 from financas.resumo_mensal_lancamento r where r.id_usuario = u.id " +
+                " and r.ano = :ano and r.mes = :mes and r.tipo = :tipo and r.status = :status) ";
+
+        entityManager.createNativeQuery(postgres ? sql + SE_AUSENTE : sql)
+                .setParameter("idUsuario", idUsuario)
+                .setParameter("ano", ano)
+                .setParameter("mes", mes)
+                .setParameter("tipo", tipo.name())
+                .setParameter("status", status.name())
+                .executeUpdate();
+    }
+
+    /**
+     * Resumo da chave do lançamento como está no banco.
+     */
+    @Override
+    public void criarSeAusente(Long idLancamento) {
+        var sql = INSERIR + " select l.id_usuario, l.ano, l.mes, l.tipo, l.status, 0, 0 from financas.lancamento l where l.id = :id " +
+                " and l.id_usuario is not null and l.ano is not null and l.mes is not null and l.tipo is not null and l.status is not null " +
+                " and not exists (select 1 from financas.resumo_mensal_lancamento r where " + ResumoMensalLancamentoRepository.MESMA_CHAVE + ") ";
+
+        entityManager.createNativeQuery(postgres ? sql + SE_AUSENTE : sql)
+                .setParameter("id", idLancamento)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.model.SaldoUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long>, SaldoUsuarioRepositoryCustom {
+
+    @Query(value = " select s.receitas - s.despesas from SaldoUsuario s where s.idUsuario = :idUsuario ")
+    Optional<BigDecimal> obterSaldo(@Param("idUsuario") Long idUsuario);
+
+    @Modifying
+    @Query(value = " update SaldoUsuario s set s.receitas = s.receitas + :receitas, s.despesas = s.despesas + :despesas, s.dataAtualizacao = :data where s.idUsuario = :idUsuario ")
+    int aplicarDelta(@Param("idUsuario") Long idUsuario, @Param("receitas") BigDecimal receitas, @Param("despesas") BigDecimal despesas, @Param("data") LocalDateTime data);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = " select s from SaldoUsuario s where s.idUsuario = :idUsuario ")
+    Optional<SaldoUsuario> buscarParaAtualizacao(@Param("idUsuario") Long idUsuario);
+}
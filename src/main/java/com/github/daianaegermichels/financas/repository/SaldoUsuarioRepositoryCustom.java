@@ -0,0 +1,15 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SaldoUsuarioRepositoryCustom {
+
+    void criarSeAusente(Long idUsuario);
+
+    int aplicarAlteracao(Long idLancamento, Long idUsuario, BigDecimal valor, TipoLancamento tipo,
+                         StatusLancamento status, LocalDateTime data);
+}
@@ -0,0 +1,89 @@
+package com.github.daianaegermichels.financas.repository;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+
+public class SaldoUsuarioRepositoryImpl implements SaldoUsuarioRepositoryCustom {
+
+    private static final String CRIAR = " insert into financas.saldo_usuario (id_usuario, receitas, despesas, data_atualizacao) " +
+            " select u.id, 0, 0, current_timestamp from financas.usuario u where u.id = ? " +
+            " and not exists (select 1 from financas.saldo_usuario s where s.id_usuario = u.id) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean postgres;
+
+    public SaldoUsuarioRepositoryImpl(JdbcTemplate jdbcTemplate, DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+    }
+
+    /**
+     * Cria o saldo zerado do usuário, se ainda não existir, para que o recálculo bloqueie a linha em seguida. No
+     * PostgreSQL o {@code on conflict do nothing} espera a criação concorrente em vez de falhar. No H2 a criação
+     * concorrente termina em chave duplicada, ignorada aqui; o comando vai por JDBC porque a mesma falha pelo
+     * {@code EntityManager} marcaria a transação para rollback.
+     */
+    @Override
+    public void criarSeAusente(Long idUsuario) {
+        try {
+            jdbcTemplate.update(postgres ? CRIAR + " on conflict (id_usuario) do nothing " : CRIAR, idUsuario);
+        } catch (DuplicateKeyException e) {
+            // Criado por outra transação entre a verificação e o insert.
+        }
+    }
+
+    /**
+     * Aplica ao saldo a diferença entre o lançamento como está no banco e o mesmo lançamento com os campos informados,
+     * num único UPDATE: o estado anterior é lido pelo próprio comando, sem consulta prévia. Campos nulos ficam como
+     * estão. Deve rodar antes de o lançamento ser alterado, com a linha dele já bloqueada na transação.
+     */
+    @Override
+    public int aplicarAlteracao(Long idLancamento, Long idUsuario, BigDecimal valor, TipoLancamento tipo,
+                                StatusLancamento status, LocalDateTime data) {
+        var sql = " update financas.saldo_usuario set " +
+                " receitas = receitas + (select " + delta(TipoLancamento.RECEITA, valor, tipo, status) +
+                " from financas.lancamento l where l.id = :idLancamento), " +
+                " despesas = despesas + (select " + delta(TipoLancamento.DESPESA, valor, tipo, status) +
+                " from financas.lancamento l where l.id = :idLancamento), " +
+                " data_atualizacao = :data where id_usuario = :idUsuario ";
+
+        var query = entityManager.createNativeQuery(sql)
+                .setParameter("idLancamento", idLancamento)
+                .setParameter("idUsuario", idUsuario)
+                .setParameter("data", data);
+        if (valor != null) {
+            query.setParameter("valor", valor);
+        }
+        if (tipo != null) {
+            query.setParameter("tipo", tipo.name());
+        }
+        if (status != null) {
+            query.setParameter("status", status.name());
+        }
+        return query.executeUpdate();
+    }
+
+    private static String delta(TipoLancamento alvo, BigDecimal valor, TipoLancamento tipo, StatusLancamento status) {
+        var efetivado = "'" + StatusLancamento.EFETIVADO.name() + "'";
+        var novo = " case when " + (tipo != null ? ":tipo" : "l.tipo") + " = '" + alvo.name() + "' and "
+                + (status != null ? ":status" : "l.status") + " = " + efetivado + " then "
+                + (valor != null ? ":valor" : "l.valor") + " else 0 end ";
+        var anterior = " case when l.tipo = '" + alvo.name() + "' and l.status = " + efetivado + " then l.valor else 0 end ";
+        return novo + " - " + anterior;
+    }
+}
@@ -1,12 +1,39 @@
 package com.github.daianaegermichels.financas.repository;
 
 import com.github.daianaegermichels.financas.model.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Só troca a senha se ela ainda for a lida na autenticação, para não sobrescrever uma alteração concorrente.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = " update Usuario u set u.senha = :novaSenha where u.id = :id and u.senha = :senhaAtual ")
+    int atualizarSenha(@Param("id") Long id, @Param("senhaAtual") String senhaAtual, @Param("novaSenha") String novaSenha);
+
+    @Query(value = " select u.versao_lancamentos from financas.usuario u where u.id = :id ", nativeQuery = true)
+    Optional<Long> obterVersaoLancamentos(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = " update financas.usuario set versao_lancamentos = versao_lancamentos + 1 where id in :ids ", nativeQuery = true)
+    int incrementarVersaoLancamentos(@Param("ids") Collection<Long> ids);
+
+    @Query(value = " select u.id from Usuario u where u.id > :ultimo order by u.id ")
+    List<Long> obterIdsApos(@Param("ultimo") Long ultimo, Pageable pagina);
 }
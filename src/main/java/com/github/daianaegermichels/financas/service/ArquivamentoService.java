@@ -0,0 +1,14 @@
+package com.github.daianaegermichels.financas.service;
+
+import java.util.List;
+
+public interface ArquivamentoService {
+
+    List<Integer> obterAnosFechados();
+
+    List<Long> obterUsuariosComLancamentos(Integer ano);
+
+    int arquivar(Long idUsuario, Integer ano);
+
+    void criarParticao(Integer ano);
+}
@@ -0,0 +1,110 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.repository.LancamentoArquivadoRepository;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.ResumoLancamentoArquivadoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Move os lançamentos dos anos fechados para {@code lancamento_arquivado} e acumula seus totais em
+ * {@code resumo_lancamento_arquivado}. O saldo incremental não muda, pois os lançamentos continuam contados pelos
+ * resumos.
+ */
+@Service
+@Timed("financas.servico")
+public class ArquivamentoServiceImpl implements ArquivamentoService {
+
+    private static final String EXISTE_FUNCAO_PARTICAO = " select count(*) from information_schema.routines " +
+            " where lower(routine_schema) = 'financas' and lower(routine_name) = 'criar_particao_lancamento' ";
+
+    @Value("${financas.arquivamento.anos-abertos:2}")
+    private int anosAbertos;
+
+    @Value("${financas.arquivamento.tamanho-bloco:1000}")
+    private int tamanhoBloco;
+
+    private LancamentoRepository lancamentoRepository;
+
+    private LancamentoArquivadoRepository arquivadoRepository;
+
+    private ResumoLancamentoArquivadoRepository resumoRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    private BuscaTextoService buscaTextoService;
+
+    public ArquivamentoServiceImpl(LancamentoRepository lancamentoRepository, LancamentoArquivadoRepository arquivadoRepository,
+                                   ResumoLancamentoArquivadoRepository resumoRepository, JdbcTemplate jdbcTemplate,
+                                   ContadorAlteracoes contadorAlteracoes, BuscaTextoService buscaTextoService) {
+        this.lancamentoRepository = lancamentoRepository;
+        this.arquivadoRepository = arquivadoRepository;
+        this.resumoRepository = resumoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.contadorAlteracoes = contadorAlteracoes;
+        this.buscaTextoService = buscaTextoService;
+    }
+
+    /**
+     * Anos anteriores aos {@code financas.arquivamento.anos-abertos} mais recentes (ano corrente incluso) que ainda têm
+     * lançamentos. Zero desliga o arquivamento.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> obterAnosFechados() {
+        if (anosAbertos < 1) {
+            return List.of();
+        }
+        return lancamentoRepository.obterAnosAnterioresA(LocalDate.now().getYear() - anosAbertos + 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> obterUsuariosComLancamentos(Integer ano) {
+        return lancamentoRepository.obterUsuariosPorAno(ano);
+    }
+
+    /**
+     * Arquiva os lançamentos de um usuário em um ano, em uma transação. Os lançamentos ficam bloqueados do início ao
+     * fim, e só os ids bloqueados são copiados, resumidos e removidos; um lançamento criado no meio do caminho fica
+     * para a próxima execução e continua contado pelas consultas sobre {@code lancamento}. Como a remoção é feita
+     * direto no banco, o índice de busca do usuário é descartado após o commit.
+     */
+    @Override
+    @Transactional
+    public int arquivar(Long idUsuario, Integer ano) {
+        var ids = lancamentoRepository.bloquearIdsPorUsuarioEAno(idUsuario, ano);
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoBloco) {
+            var bloco = ids.subList(inicio, Math.min(inicio + tamanhoBloco, ids.size()));
+            arquivadoRepository.copiar(bloco);
+            resumoRepository.acumular(bloco);
+            resumoRepository.inserir(bloco);
+            lancamentoRepository.removerPorIds(bloco);
+        }
+        if (!ids.isEmpty()) {
+            buscaTextoService.invalidar(idUsuario);
+            contadorAlteracoes.registrar(idUsuario);
+        }
+        return ids.size();
+    }
+
+    /**
+     * Cria a partição do ano quando {@code lancamento} é particionada (PostgreSQL); nos demais bancos não faz nada.
+     * Linhas do ano que já estejam na partição padrão são movidas para a nova partição.
+     */
+    @Override
+    public void criarParticao(Integer ano) {
+        var funcoes = jdbcTemplate.queryForObject(EXISTE_FUNCAO_PARTICAO, Integer.class);
+        if (funcoes != null && funcoes > 0) {
+            jdbcTemplate.execute("select financas.criar_particao_lancamento(" + ano + ")");
+        }
+    }
+}
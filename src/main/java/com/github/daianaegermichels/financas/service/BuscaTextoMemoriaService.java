@@ -0,0 +1,225 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória, por usuário, usado quando o banco não oferece busca textual (ex.: H2 no perfil de teste).
+ * O índice de um usuário é montado na primeira busca e depois acompanha as alterações confirmadas; apenas os
+ * usuários mais recentes ficam em memória.
+ */
+public class BuscaTextoMemoriaService implements BuscaTextoService {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private LancamentoRepository repository;
+
+    private final Map<Long, IndiceUsuario> indices;
+
+    public BuscaTextoMemoriaService(LancamentoRepository repository, int maximoUsuarios) {
+        this.repository = repository;
+        this.indices = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, IndiceUsuario> maisAntigo) {
+                return size() > maximoUsuarios;
+            }
+        });
+    }
+
+    @Override
+    public List<Long> buscar(Long idUsuario, String texto, boolean porRelevancia, int limite) {
+        var termos = tokenizar(texto);
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+        var indice = indices.computeIfAbsent(idUsuario, id -> new IndiceUsuario());
+        indice.carregar(idUsuario, repository);
+        return indice.buscar(termos.keySet(), porRelevancia, limite);
+    }
+
+    @Override
+    public void indexar(Lancamento lancamento) {
+        var idUsuario = lancamento.getUsuario().getId();
+        var documento = new Documento(lancamento.getId(), lancamento.getAno(), lancamento.getMes(), tokenizar(lancamento.getDescricao()));
+        aposCommit(() -> {
+            var indice = indices.get(idUsuario);
+            if (indice != null) {
+                indice.atualizar(documento);
+            }
+        });
+    }
+
+    @Override
+    public void remover(Long idUsuario, Long idLancamento) {
+        aposCommit(() -> {
+            var indice = indices.get(idUsuario);
+            if (indice != null) {
+                indice.remover(idLancamento);
+            }
+        });
+    }
+
+    @Override
+    public void invalidar(Long idUsuario) {
+        aposCommit(() -> indices.remove(idUsuario));
+    }
+
+    static Map<String, Integer> tokenizar(String texto) {
+        Map<String, Integer> frequencias = new HashMap<>();
+        if (texto == null) {
+            return frequencias;
+        }
+        var normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (!termo.isEmpty()) {
+                frequencias.merge(termo, 1, Integer::sum);
+            }
+        }
+        return frequencias;
+    }
+
+    /**
+     * Alterações só entram no índice depois do commit, para que um rollback não deixe termos órfãos.
+     */
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private static class Documento {
+
+        final Long id;
+        final Integer ano;
+        final Integer mes;
+        final Map<String, Integer> frequencias;
+
+        Documento(Long id, Integer ano, Integer mes, Map<String, Integer> frequencias) {
+            this.id = id;
+            this.ano = ano;
+            this.mes = mes;
+            this.frequencias = frequencias;
+        }
+    }
+
+    private static class IndiceUsuario {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Documento> documentos = new HashMap<>();
+        private final NavigableMap<String, Set<Long>> termos = new TreeMap<>();
+        private volatile boolean carregado;
+
+        void carregar(Long idUsuario, LancamentoRepository repository) {
+            if (carregado) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                if (!carregado) {
+                    for (Object[] linha : repository.obterDescricoesPorUsuario(idUsuario)) {
+                        adicionar(new Documento((Long) linha[0], (Integer) linha[1], (Integer) linha[2], tokenizar((String) linha[3])));
+                    }
+                    carregado = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void atualizar(Documento documento) {
+            lock.writeLock().lock();
+            try {
+                retirar(documento.id);
+                adicionar(documento);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remover(Long id) {
+            lock.writeLock().lock();
+            try {
+                retirar(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Todo termo da consulta precisa casar, por igualdade ou prefixo, com algum termo do lançamento.
+         * A relevância soma tf-idf dos termos casados, com peso menor para casamentos por prefixo.
+         */
+        List<Long> buscar(Set<String> termosConsulta, boolean porRelevancia, int limite) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> pontuacao = null;
+                for (String termoConsulta : termosConsulta) {
+                    Map<Long, Double> pontuacaoTermo = new HashMap<>();
+                    for (var entrada : termos.subMap(termoConsulta, true, termoConsulta + Character.MAX_VALUE, false).entrySet()) {
+                        double idf = Math.log(1.0 + (double) documentos.size() / entrada.getValue().size());
+                        double peso = entrada.getKey().equals(termoConsulta) ? 1.0 : 0.5;
+                        for (Long id : entrada.getValue()) {
+                            int tf = documentos.get(id).frequencias.get(entrada.getKey());
+                            pontuacaoTermo.merge(id, tf * idf * peso, Double::sum);
+                        }
+                    }
+                    if (pontuacao == null) {
+                        pontuacao = pontuacaoTermo;
+                    } else {
+                        pontuacao.keySet().retainAll(pontuacaoTermo.keySet());
+                        pontuacao.replaceAll((id, valor) -> valor + pontuacaoTermo.get(id));
+                    }
+                    if (pontuacao.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                final var resultado = pontuacao;
+                Comparator<Long> ordem = porRelevancia
+                        ? Comparator.<Long>comparingDouble(resultado::get).reversed().thenComparing(Comparator.naturalOrder())
+                        : Comparator.<Long, Integer>comparing(id -> documentos.get(id).ano)
+                                .thenComparing(id -> documentos.get(id).mes)
+                                .thenComparing(Comparator.naturalOrder());
+                return resultado.keySet().stream().sorted(ordem).limit(limite).toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void adicionar(Documento documento) {
+            documentos.put(documento.id, documento);
+            for (String termo : documento.frequencias.keySet()) {
+                termos.computeIfAbsent(termo, t -> new HashSet<>()).add(documento.id);
+            }
+        }
+
+        private void retirar(Long id) {
+            var documento = documentos.remove(id);
+            if (documento == null) {
+                return;
+            }
+            for (String termo : documento.frequencias.keySet()) {
+                var ids = termos.get(termo);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    termos.remove(termo);
+                }
+            }
+        }
+    }
+}
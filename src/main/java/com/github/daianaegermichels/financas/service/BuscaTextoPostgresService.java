@@ -0,0 +1,50 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.model.Lancamento;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Busca pelo índice GIN de {@code to_tsvector} sobre a descrição, criado pela migração V11. O próprio banco mantém o
+ * índice, então as notificações de alteração não têm efeito.
+ */
+public class BuscaTextoPostgresService implements BuscaTextoService {
+
+    private static final String BUSCAR = " select l.id from financas.lancamento l " +
+            " where l.id_usuario = :idUsuario " +
+            " and to_tsvector('portuguese', coalesce(l.descricao, '')) @@ plainto_tsquery('portuguese', :texto) ";
+
+    private static final String POR_RELEVANCIA = " order by ts_rank(to_tsvector('portuguese', coalesce(l.descricao, '')), " +
+            " plainto_tsquery('portuguese', :texto)) desc, l.id limit :limite ";
+
+    private static final String POR_DATA = " order by l.ano, l.mes, l.id limit :limite ";
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public BuscaTextoPostgresService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> buscar(Long idUsuario, String texto, boolean porRelevancia, int limite) {
+        var parametros = new MapSqlParameterSource()
+                .addValue("idUsuario", idUsuario)
+                .addValue("texto", texto)
+                .addValue("limite", limite);
+        return jdbcTemplate.queryForList(BUSCAR + (porRelevancia ? POR_RELEVANCIA : POR_DATA), parametros, Long.class);
+    }
+
+    @Override
+    public void indexar(Lancamento lancamento) {
+    }
+
+    @Override
+    public void remover(Long idUsuario, Long idLancamento) {
+    }
+
+    @Override
+    public void invalidar(Long idUsuario) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.model.Lancamento;
+
+import java.util.List;
+
+/**
+ * Busca textual na descrição dos lançamentos de um usuário, servida por índice em vez de {@code like '%texto%'}.
+ */
+public interface BuscaTextoService {
+
+    List<Long> buscar(Long idUsuario, String texto, boolean porRelevancia, int limite);
+
+    void indexar(Lancamento lancamento);
+
+    void remover(Long idUsuario, Long idLancamento);
+
+    /**
+     * Descarta o que houver em memória sobre os lançamentos do usuário, para alterações feitas direto no banco.
+     */
+    void invalidar(Long idUsuario);
+}
@@ -0,0 +1,61 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Contador de alterações nos lançamentos de cada usuário ({@code usuario.versao_lancamentos}), usado como ETag da
+ * listagem e do saldo. Os usuários alterados numa transação são acumulados e o contador de cada um sobe uma única vez,
+ * num só UPDATE, logo antes do commit; um lote de inserções não vira um UPDATE por lançamento.
+ */
+@Component
+public class ContadorAlteracoes {
+
+    private UsuarioRepository usuarioRepository;
+
+    public ContadorAlteracoes(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    public Optional<Long> obter(Long idUsuario) {
+        return usuarioRepository.obterVersaoLancamentos(idUsuario);
+    }
+
+    public void registrar(Long idUsuario) {
+        if (idUsuario == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            usuarioRepository.incrementarVersaoLancamentos(List.of(idUsuario));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        var pendentes = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            // Ordenados, para que transações concorrentes travem as linhas de usuario na mesma ordem.
+            var usuarios = new TreeSet<Long>();
+            TransactionSynchronizationManager.bindResource(this, usuarios);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    usuarioRepository.incrementarVersaoLancamentos(usuarios);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ContadorAlteracoes.this);
+                }
+            });
+            pendentes = usuarios;
+        }
+        pendentes.add(idUsuario);
+    }
+}
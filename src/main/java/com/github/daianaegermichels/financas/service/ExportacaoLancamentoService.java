@@ -0,0 +1,12 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.FormatoExportacao;
+import com.github.daianaegermichels.financas.model.Lancamento;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacaoLancamentoService {
+
+    long exportar(Lancamento lancamentoFiltro, FormatoExportacao formato, OutputStream saida) throws IOException;
+}
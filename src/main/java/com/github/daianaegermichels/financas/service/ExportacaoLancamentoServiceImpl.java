@@ -0,0 +1,105 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.enuns.FormatoExportacao;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exporta os lançamentos linha a linha a partir de um cursor no banco, sem montar a lista completa em memória.
+ */
+@Service
+public class ExportacaoLancamentoServiceImpl implements ExportacaoLancamentoService {
+
+    private static final String CABECALHO_CSV = "id,descricao,mes,ano,valor,tipo,status,usuario";
+
+    @Value("${financas.exportacao.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    private LancamentoRepository repository;
+
+    private ObjectWriter jsonWriter;
+
+    public ExportacaoLancamentoServiceImpl(LancamentoRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.jsonWriter = objectMapper.writerFor(LancamentoDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(Lancamento lancamentoFiltro, FormatoExportacao formato, OutputStream saida) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        var linhas = new AtomicLong();
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+        try (var lancamentos = repository.percorrer(lancamentoFiltro, tamanhoBloco)) {
+            lancamentos.forEach(lancamento -> {
+                try {
+                    escrever(writer, formato, lancamento);
+                    if (linhas.incrementAndGet() % tamanhoBloco == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return linhas.get();
+    }
+
+    private void escrever(Writer writer, FormatoExportacao formato, LancamentoDTO lancamento) throws IOException {
+        if (formato == FormatoExportacao.NDJSON) {
+            jsonWriter.writeValue(writer, lancamento);
+            writer.write('\n');
+            return;
+        }
+        writer.write(String.valueOf(lancamento.getId()));
+        writer.write(',');
+        writer.write(escaparCsv(lancamento.getDescricao()));
+        writer.write(',');
+        writer.write(String.valueOf(lancamento.getMes()));
+        writer.write(',');
+        writer.write(String.valueOf(lancamento.getAno()));
+        writer.write(',');
+        writer.write(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString());
+        writer.write(',');
+        writer.write(lancamento.getTipo() == null ? "" : lancamento.getTipo());
+        writer.write(',');
+        writer.write(lancamento.getStatus() == null ? "" : lancamento.getStatus());
+        writer.write(',');
+        writer.write(String.valueOf(lancamento.getUsuario()));
+        writer.write('\n');
+    }
+
+    static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.FormatoExtrato;
+import com.github.daianaegermichels.financas.model.ImportacaoExtrato;
+import com.github.daianaegermichels.financas.model.Usuario;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Optional;
+
+public interface ImportacaoService {
+
+    ImportacaoExtrato iniciar(Usuario usuario, String nomeArquivo, FormatoExtrato formato, Charset charset, InputStream conteudo) throws IOException;
+
+    Optional<ImportacaoExtrato> obterPorId(Long id);
+
+    void retomar(Long id);
+
+    int retomarInterrompidas();
+}
@@ -0,0 +1,138 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.FormatoExtrato;
+import com.github.daianaegermichels.financas.enuns.StatusImportacao;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.importacao.ProcessadorImportacao;
+import com.github.daianaegermichels.financas.model.ImportacaoExtrato;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.ImportacaoExtratoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Recebe extratos, guarda o arquivo em {@code financas.importacao.diretorio} e processa cada importação em segundo
+ * plano. O arquivo só é apagado quando a importação termina, para que uma importação com falha ou interrompida por
+ * reinício da aplicação possa ser retomada.
+ */
+@Slf4j
+@Service
+public class ImportacaoServiceImpl implements ImportacaoService {
+
+    private static final List<StatusImportacao> STATUS_EXECUTAVEIS = List.of(StatusImportacao.PENDENTE, StatusImportacao.FALHA);
+
+    @Value("${financas.importacao.diretorio:${java.io.tmpdir}/financas-importacoes}")
+    private String diretorio;
+
+    private ImportacaoExtratoRepository repository;
+
+    private ProcessadorImportacao processador;
+
+    private TaskExecutor importacaoExecutor;
+
+    public ImportacaoServiceImpl(ImportacaoExtratoRepository repository, ProcessadorImportacao processador,
+                                 @Qualifier("importacaoExecutor") TaskExecutor importacaoExecutor) {
+        this.repository = repository;
+        this.processador = processador;
+        this.importacaoExecutor = importacaoExecutor;
+    }
+
+    @Override
+    public ImportacaoExtrato iniciar(Usuario usuario, String nomeArquivo, FormatoExtrato formato, Charset charset, InputStream conteudo) throws IOException {
+        var agora = LocalDateTime.now();
+        var importacao = repository.save(ImportacaoExtrato.builder()
+                .usuario(usuario)
+                .nomeArquivo(nomeArquivo)
+                .formato(formato)
+                .charset(charset.name())
+                .status(StatusImportacao.PENDENTE)
+                .ultimaSequencia(0L)
+                .linhasLidas(0L)
+                .linhasImportadas(0L)
+                .linhasDuplicadas(0L)
+                .linhasInvalidas(0L)
+                .dataCadastro(agora)
+                .dataAtualizacao(agora)
+                .build());
+
+        var pasta = Files.createDirectories(Path.of(diretorio));
+        var arquivo = pasta.resolve("importacao-" + importacao.getId() + "." + formato.name().toLowerCase(Locale.ROOT));
+        Files.copy(conteudo, arquivo, StandardCopyOption.REPLACE_EXISTING);
+        importacao.setCaminhoArquivo(arquivo.toAbsolutePath().toString());
+        importacao = repository.save(importacao);
+
+        agendar(importacao.getId());
+        return importacao;
+    }
+
+    @Override
+    public Optional<ImportacaoExtrato> obterPorId(Long id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public void retomar(Long id) {
+        var importacao = repository.findById(id)
+                .orElseThrow(() -> new RegraNegocioException("Importação não encontrada na base de dados!"));
+        if (!STATUS_EXECUTAVEIS.contains(importacao.getStatus())) {
+            throw new RegraNegocioException("Somente importações pendentes ou com falha podem ser retomadas!");
+        }
+        agendar(id);
+    }
+
+    /**
+     * Importações que estavam em andamento quando a aplicação parou voltam para pendente e são reagendadas,
+     * junto com as que nem chegaram a começar.
+     */
+    @Override
+    public int retomarInterrompidas() {
+        var interrompidas = repository.findByStatus(StatusImportacao.PROCESSANDO);
+        interrompidas.forEach(importacao -> repository.alterarStatus(importacao.getId(), List.of(StatusImportacao.PROCESSANDO),
+                StatusImportacao.PENDENTE, null, LocalDateTime.now()));
+
+        var pendentes = repository.findByStatus(StatusImportacao.PENDENTE);
+        pendentes.forEach(importacao -> agendar(importacao.getId()));
+        return pendentes.size();
+    }
+
+    private void agendar(Long id) {
+        try {
+            importacaoExecutor.execute(() -> executar(id));
+        } catch (TaskRejectedException e) {
+            throw new RegraNegocioException("Muitas importações em andamento. Tente retomar a importação " + id + " mais tarde!");
+        }
+    }
+
+    void executar(Long id) {
+        if (repository.alterarStatus(id, STATUS_EXECUTAVEIS, StatusImportacao.PROCESSANDO, null, LocalDateTime.now()) == 0) {
+            return;
+        }
+        var importacao = repository.findById(id).orElseThrow();
+        try {
+            processador.processar(importacao);
+            repository.alterarStatus(id, List.of(StatusImportacao.PROCESSANDO), StatusImportacao.CONCLUIDA, null, LocalDateTime.now());
+            Files.deleteIfExists(Path.of(importacao.getCaminhoArquivo()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            repository.alterarStatus(id, List.of(StatusImportacao.PROCESSANDO), StatusImportacao.PENDENTE, null, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Falha na importação {}.", id, e);
+            repository.alterarStatus(id, List.of(StatusImportacao.PROCESSANDO), StatusImportacao.FALHA, e.getMessage(), LocalDateTime.now());
+        }
+    }
+}
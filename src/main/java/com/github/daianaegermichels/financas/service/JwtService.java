@@ -1,16 +1,23 @@
 package com.github.daianaegermichels.financas.service;
 
+import com.github.daianaegermichels.financas.dto.EstatisticasCacheDTO;
 import com.github.daianaegermichels.financas.model.Usuario;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 
+import java.util.Optional;
+
 public interface JwtService {
 
     String gerarToken(Usuario usuario);
 
     Claims obterClaims(String token) throws ExpiredJwtException;
 
+    Optional<Claims> obterClaimsValidas(String token);
+
     boolean isTokenValido(String token);
 
     String obterLoginUsuario(String token);
+
+    EstatisticasCacheDTO obterEstatisticasCache();
 }
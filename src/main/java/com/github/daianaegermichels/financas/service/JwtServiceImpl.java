@@ -1,27 +1,67 @@
 package com.github.daianaegermichels.financas.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.daianaegermichels.financas.dto.EstatisticasCacheDTO;
 import com.github.daianaegermichels.financas.model.Usuario;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.format.DateTimeFormatter;
+import java.util.Base64;
 import java.util.Date;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtServiceImpl implements JwtService{
 
-    @Value("${jwt.expiração}")
+    @Value("${jwt.expiracao}")
     private String expiracao;
 
     @Value("${jwt.chave-assinatura}")
     private String chaveAssinatura;
 
+    /**
+     * Claims já verificadas, indexadas pelo SHA-256 do token. Cada entrada expira junto com o token,
+     * então a assinatura de um token é verificada uma única vez durante a sua validade.
+     */
+    private final Cache<String, Claims> claimsVerificadas;
+
+    public JwtServiceImpl(@Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximoCache) {
+        this.claimsVerificadas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String chave, Claims claims, long agora) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, Claims claims, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, Claims claims, long agora, long duracaoAtual) {
+                        return duracaoAtual;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
     @Override
     public String gerarToken(Usuario usuario) {
         Long exp = Long.valueOf(expiracao);
@@ -54,22 +94,50 @@ public class JwtServiceImpl implements JwtService{
     }
 
     @Override
-    public boolean isTokenValido(String token) {
-        try{
-            Claims claims = obterClaims(token);
-            Date dataEx = claims.getExpiration();
-            LocalDateTime dataExpiracao = dataEx.toInstant()
-                    .atZone(ZoneId.systemDefault()).toLocalDateTime();
-            boolean dataHoraAtualIsAfterDataExpiracao = LocalDateTime.now().isAfter(dataExpiracao);
-            return !dataHoraAtualIsAfterDataExpiracao;
-        } catch (ExpiredJwtException e){
-            return false;
+    public Optional<Claims> obterClaimsValidas(String token) {
+        var chave = resumir(token);
+        var claims = claimsVerificadas.getIfPresent(chave);
+        if (claims == null) {
+            try {
+                claims = obterClaims(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            if (claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            claimsVerificadas.put(chave, claims);
         }
+        return claims.getExpiration().after(new Date()) ? Optional.of(claims) : Optional.empty();
+    }
+
+    @Override
+    public boolean isTokenValido(String token) {
+        return obterClaimsValidas(token).isPresent();
     }
 
     @Override
     public String obterLoginUsuario(String token) {
-        Claims claims = obterClaims(token);
-        return claims.getSubject();
+        return obterClaimsValidas(token).map(Claims::getSubject).orElse(null);
+    }
+
+    @Override
+    public EstatisticasCacheDTO obterEstatisticasCache() {
+        var estatisticas = claimsVerificadas.stats();
+        return EstatisticasCacheDTO.builder()
+                .acertos(estatisticas.hitCount())
+                .falhas(estatisticas.missCount())
+                .remocoes(estatisticas.evictionCount())
+                .tamanho(claimsVerificadas.estimatedSize())
+                .build();
+    }
+
+    private static String resumir(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -1,9 +1,15 @@
 package com.github.daianaegermichels.financas.service;
 
+import com.github.daianaegermichels.financas.dto.AlteracaoLancamentoDTO;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.dto.PaginaDTO;
+import com.github.daianaegermichels.financas.dto.ResultadoStatusLoteDTO;
+import com.github.daianaegermichels.financas.dto.SaldoMensalDTO;
 import com.github.daianaegermichels.financas.enuns.StatusLancamento;
 import com.github.daianaegermichels.financas.model.Lancamento;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,17 +17,39 @@ public interface LancamentoService {
 
     Lancamento salvar(Lancamento lancamento);
 
+    List<Lancamento> salvarTodos(List<Lancamento> lancamentos);
+
     Lancamento atualizar(Lancamento lancamento);
 
+    AlteracaoLancamentoDTO atualizarParcial(Long id, AlteracaoLancamentoDTO alteracao);
+
     void deletar (Lancamento lancamento);
 
     List<Lancamento> buscar (Lancamento lancamentoFiltro);
 
+    List<LancamentoDTO> buscarTodos(Lancamento lancamentoFiltro);
+
+    PaginaDTO<LancamentoDTO> buscarPagina(Lancamento lancamentoFiltro, String cursor, Integer tamanho);
+
+    List<LancamentoDTO> buscarPorTexto(Long idUsuario, String texto, boolean porRelevancia, Integer tamanho);
+
     void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 
+    ResultadoStatusLoteDTO atualizarStatusEmLote(Long idUsuario, Collection<Long> ids, StatusLancamento status);
+
+    List<Long> obterIdsPorMesComStatusDiferente(Long idUsuario, Integer ano, Integer mes, StatusLancamento status);
+
     void validar(Lancamento lancamento);
 
     Optional<Lancamento> obterPorId(Long id);
 
+    Optional<LancamentoDTO> obterResumoPorId(Long id);
+
+    Optional<String> obterVersaoResumo(Long id);
+
+    List<LancamentoDTO> buscarArquivados(Long idUsuario, Integer ano, Integer mes);
+
     BigDecimal obterSaldoPorUsuario(Long id);
+
+    List<SaldoMensalDTO> obterSaldoMensalPorUsuario(Long id, Integer anoInicial, Integer anoFinal, StatusLancamento status);
 }
@@ -1,27 +1,75 @@
 package com.github.daianaegermichels.financas.service;
 
+import com.github.daianaegermichels.financas.dto.AlteracaoLancamentoDTO;
+import com.github.daianaegermichels.financas.dto.CursorLancamento;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.dto.PaginaDTO;
+import com.github.daianaegermichels.financas.dto.ResultadoStatusLoteDTO;
+import com.github.daianaegermichels.financas.dto.SaldoMensalDTO;
 import com.github.daianaegermichels.financas.enuns.StatusLancamento;
 import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.exception.ConflitoVersaoException;
 import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.EstadoLancamento;
 import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.repository.LancamentoArquivadoRepository;
 import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.ResumoLancamentoArquivadoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("financas.servico")
 public class LancamentoServiceImpl implements LancamentoService{
 
+    @Value("${financas.paginacao.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${financas.paginacao.tamanho-maximo:500}")
+    private int tamanhoPaginaMaximo;
+
     private LancamentoRepository repository;
 
-    public LancamentoServiceImpl(LancamentoRepository repository) {
+    private SaldoService saldoService;
+
+    private BuscaTextoService buscaTextoService;
+
+    private LancamentoArquivadoRepository arquivadoRepository;
+
+    private ResumoLancamentoArquivadoRepository resumoArquivadoRepository;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    private ResumoMensalService resumoMensalService;
+
+    public LancamentoServiceImpl(LancamentoRepository repository, SaldoService saldoService, BuscaTextoService buscaTextoService,
+                                 LancamentoArquivadoRepository arquivadoRepository, ResumoLancamentoArquivadoRepository resumoArquivadoRepository,
+                                 ContadorAlteracoes contadorAlteracoes, ResumoMensalService resumoMensalService) {
         this.repository = repository;
+        this.saldoService = saldoService;
+        this.buscaTextoService = buscaTextoService;
+        this.arquivadoRepository = arquivadoRepository;
+        this.resumoArquivadoRepository = resumoArquivadoRepository;
+        this.contadorAlteracoes = contadorAlteracoes;
+        this.resumoMensalService = resumoMensalService;
     }
 
     @Override
@@ -29,22 +77,138 @@ public class LancamentoServiceImpl implements LancamentoService{
     public Lancamento salvar(Lancamento lancamento) {
         validar(lancamento);
         lancamento.setStatus(StatusLancamento.PENDENTE);
-        return repository.save(lancamento);
+        var lancamentoSalvo = repository.save(lancamento);
+        registrarAlteracao(lancamento.getId(), null, lancamento);
+        return lancamentoSalvo;
+    }
+
+    @Override
+    @Transactional
+    public List<Lancamento> salvarTodos(List<Lancamento> lancamentos) {
+        lancamentos.forEach(this::validar);
+        lancamentos.forEach(lancamento -> lancamento.setStatus(StatusLancamento.PENDENTE));
+        repository.salvarEmLote(lancamentos);
+        lancamentos.forEach(lancamento -> registrarAlteracao(lancamento.getId(), null, lancamento));
+        return lancamentos;
     }
 
+    /**
+     * Sem versão informada, a alteração vale sobre a versão persistida (última gravação vence), como antes do
+     * controle de versão.
+     */
     @Override
     @Transactional
     public Lancamento atualizar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
         validar(lancamento);
-        return repository.save(lancamento);
+        var persistido = repository.findById(lancamento.getId());
+        var anterior = persistido.map(Lancamento::getEstadoCarregado).orElse(null);
+        if (lancamento.getVersao() == null) {
+            persistido.ifPresent(lancamentoPersistido -> lancamento.setVersao(lancamentoPersistido.getVersao()));
+        }
+        var lancamentoAtualizado = repository.save(lancamento);
+        registrarAlteracao(lancamento.getId(), anterior, lancamento);
+        return lancamentoAtualizado;
+    }
+
+    /**
+     * Aplica só os campos informados com UPDATE direto, sem ler o lançamento, desde que {@code versao} ainda seja a
+     * atual. Se valor, tipo, status, mês ou ano mudam, a linha é reservada primeiro (incremento da versão); o delta do
+     * saldo é calculado pelo banco antes da alteração dos campos, e o lançamento sai do resumo mensal antes e entra
+     * depois dela.
+     */
+    @Override
+    @Transactional
+    public AlteracaoLancamentoDTO atualizarParcial(Long id, AlteracaoLancamentoDTO alteracao) {
+        var idUsuario = alteracao.getUsuario();
+        if (idUsuario == null) {
+            throw new RegraNegocioException("Informe um Usuário!");
+        }
+        if (alteracao.getVersao() == null) {
+            throw new RegraNegocioException("Informe a versão do lançamento!");
+        }
+
+        var campos = new LinkedHashMap<String, Object>();
+        if (alteracao.getDescricao() != null) {
+            if (alteracao.getDescricao().trim().equals("")) {
+                throw new RegraNegocioException("Informe uma Descrição válida!");
+            }
+            campos.put("descricao", alteracao.getDescricao());
+        }
+        if (alteracao.getMes() != null) {
+            if (alteracao.getMes() < 1 || alteracao.getMes() > 12) {
+                throw new RegraNegocioException("Informe um Mês válido!");
+            }
+            campos.put("mes", alteracao.getMes());
+        }
+        if (alteracao.getAno() != null) {
+            if (alteracao.getAno().toString().length() != 4) {
+                throw new RegraNegocioException("Informe um Ano válido!");
+            }
+            campos.put("ano", alteracao.getAno());
+        }
+        if (alteracao.getValor() != null) {
+            if (alteracao.getValor().compareTo(BigDecimal.ZERO) < 1) {
+                throw new RegraNegocioException("Informe um Valor válido!");
+            }
+            campos.put("valor", alteracao.getValor());
+        }
+        TipoLancamento tipo = null;
+        StatusLancamento status = null;
+        try {
+            if (alteracao.getTipo() != null) {
+                tipo = TipoLancamento.valueOf(alteracao.getTipo());
+                campos.put("tipo", tipo);
+            }
+            if (alteracao.getStatus() != null) {
+                status = StatusLancamento.valueOf(alteracao.getStatus());
+                campos.put("status", status);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Tipo ou status de lançamento inválido!");
+        }
+        if (campos.isEmpty()) {
+            throw new RegraNegocioException("Informe ao menos um campo para alterar!");
+        }
+
+        int alterados;
+        boolean alteraSaldo = alteracao.getValor() != null || tipo != null || status != null;
+        if (alteraSaldo || alteracao.getMes() != null || alteracao.getAno() != null) {
+            alterados = repository.reservarVersao(id, idUsuario, alteracao.getVersao());
+            if (alterados > 0) {
+                if (alteraSaldo) {
+                    saldoService.aplicarAlteracao(id, idUsuario, alteracao.getValor(), tipo, status);
+                }
+                resumoMensalService.retirar(id);
+                repository.atualizarCampos(id, idUsuario, null, campos);
+                resumoMensalService.acrescentar(id);
+            }
+        } else {
+            alterados = repository.atualizarCampos(id, idUsuario, alteracao.getVersao(), campos);
+        }
+
+        if (alterados == 0) {
+            // Só o caminho de falha consulta o banco, para diferenciar versão desatualizada de lançamento inexistente.
+            if (repository.existsByIdAndUsuarioId(id, idUsuario)) {
+                throw new ConflitoVersaoException("O lançamento foi alterado desde a versão informada. Consulte-o novamente!");
+            }
+            throw new RegraNegocioException("Lançamento não encontrado na base de dados!");
+        }
+        if (alteracao.getDescricao() != null || alteracao.getMes() != null || alteracao.getAno() != null) {
+            buscaTextoService.invalidar(idUsuario);
+        }
+        contadorAlteracoes.registrar(idUsuario);
+        alteracao.setVersao(alteracao.getVersao() + 1);
+        return alteracao;
     }
 
     @Override
     @Transactional
     public void deletar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
+        var anterior = obterEstadoPersistido(lancamento.getId());
         repository.delete(lancamento);
+        registrarAlteracao(lancamento.getId(), anterior, null);
     }
 
     @Override
@@ -58,12 +222,112 @@ public class LancamentoServiceImpl implements LancamentoService{
         return repository.findAll(example);
     }
 
+    /**
+     * Todos os lançamentos do filtro, na mesma ordem e no mesmo formato da busca paginada.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoDTO> buscarTodos(Lancamento lancamentoFiltro) {
+        return repository.buscarPagina(lancamentoFiltro, null, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<LancamentoDTO> buscarPagina(Lancamento lancamentoFiltro, String cursor, Integer tamanho) {
+        int tamanhoPagina = obterTamanhoPagina(tamanho);
+        var posicao = cursor != null ? CursorLancamento.decodificar(cursor) : null;
+
+        // Um item a mais indica se existe próxima página sem precisar de consulta de contagem.
+        var lancamentos = repository.buscarPagina(lancamentoFiltro, posicao, tamanhoPagina + 1);
+        if (lancamentos.size() <= tamanhoPagina) {
+            return new PaginaDTO<>(lancamentos, null);
+        }
+
+        var pagina = lancamentos.subList(0, tamanhoPagina);
+        var proximoCursor = CursorLancamento.apos(pagina.get(tamanhoPagina - 1)).codificar();
+        return new PaginaDTO<>(new ArrayList<>(pagina), proximoCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoDTO> buscarPorTexto(Long idUsuario, String texto, boolean porRelevancia, Integer tamanho) {
+        if (texto == null || texto.isBlank()) {
+            throw new RegraNegocioException("Informe um texto para a busca!");
+        }
+        var ids = buscaTextoService.buscar(idUsuario, texto, porRelevancia, obterTamanhoPagina(tamanho));
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, LancamentoDTO> lancamentosPorId = new HashMap<>();
+        repository.obterResumosPorIds(ids).forEach(lancamento -> lancamentosPorId.put(lancamento.getId(), lancamento));
+        return ids.stream()
+                .map(lancamentosPorId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private int obterTamanhoPagina(Integer tamanho) {
+        if (tamanho != null && tamanho < 1) {
+            throw new RegraNegocioException("Informe um tamanho de página válido!");
+        }
+        return Math.min(tamanho != null ? tamanho : tamanhoPaginaPadrao, tamanhoPaginaMaximo);
+    }
+
     @Override
+    @Transactional
     public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
         lancamento.setStatus(status);
         atualizar(lancamento);
     }
 
+    /**
+     * Altera o status com um único UPDATE sobre os lançamentos do usuário entre os ids, sem carregar as entidades.
+     * As linhas são bloqueadas antes, para que o delta do saldo seja calculado sobre o status que o UPDATE substitui.
+     * Lançamentos que já estão no status pedido contam como encontrados, mas não são alterados.
+     */
+    @Override
+    @Transactional
+    public ResultadoStatusLoteDTO atualizarStatusEmLote(Long idUsuario, Collection<Long> ids, StatusLancamento status) {
+        Objects.requireNonNull(status);
+        var encontrados = new HashSet<Long>();
+        var alterados = new ArrayList<Long>();
+        var receitas = BigDecimal.ZERO;
+        var despesas = BigDecimal.ZERO;
+        for (Object[] linha : repository.bloquearPorUsuarioEIds(idUsuario, ids)) {
+            var id = ((Number) linha[0]).longValue();
+            encontrados.add(id);
+            var anterior = new EstadoLancamento(idUsuario, ((Number) linha[1]).intValue(), ((Number) linha[2]).intValue(),
+                    (BigDecimal) linha[3], TipoLancamento.valueOf((String) linha[4]), StatusLancamento.valueOf((String) linha[5]));
+            if (anterior.getStatus() == status) {
+                continue;
+            }
+            var atual = anterior.withStatus(status);
+            receitas = receitas.add(atual.getReceitaEfetivada()).subtract(anterior.getReceitaEfetivada());
+            despesas = despesas.add(atual.getDespesaEfetivada()).subtract(anterior.getDespesaEfetivada());
+            alterados.add(id);
+            // Somado aos demais e gravado antes do commit, um UPDATE por mês/tipo/status.
+            resumoMensalService.registrarAlteracao(anterior, atual);
+        }
+
+        if (!alterados.isEmpty()) {
+            repository.atualizarStatusPorIds(alterados, status);
+            saldoService.aplicarDelta(idUsuario, receitas, despesas);
+            contadorAlteracoes.registrar(idUsuario);
+        }
+        return ResultadoStatusLoteDTO.builder()
+                .encontrados(encontrados.size())
+                .alterados(alterados.size())
+                .naoEncontrados(ids.stream().filter(id -> !encontrados.contains(id)).collect(Collectors.toList()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> obterIdsPorMesComStatusDiferente(Long idUsuario, Integer ano, Integer mes, StatusLancamento status) {
+        return repository.obterIdsPorMesComStatusDiferente(idUsuario, ano, mes, status);
+    }
+
     @Override
     public void validar(Lancamento lancamento) {
         if(lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals("")){
@@ -91,6 +355,17 @@ public class LancamentoServiceImpl implements LancamentoService{
         }
     }
 
+    /**
+     * Identifica a versão de {@link #obterResumoPorId} sem montar o resumo: id e versão do lançamento, ou só o id
+     * quando arquivado, pois lançamentos arquivados não mudam mais.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> obterVersaoResumo(Long id) {
+        return repository.obterVersao(id).map(versao -> id + "-" + versao)
+                .or(() -> arquivadoRepository.existsById(id) ? Optional.of(id + "-arquivado") : Optional.empty());
+    }
+
     @Override
     public Optional<Lancamento> obterPorId(Long id) {
         return repository.findById(id);
@@ -98,19 +373,100 @@ public class LancamentoServiceImpl implements LancamentoService{
 
     @Override
     @Transactional(readOnly = true)
+    public Optional<LancamentoDTO> obterResumoPorId(Long id) {
+        return repository.obterResumoPorId(id).or(() -> arquivadoRepository.obterResumoPorId(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoDTO> buscarArquivados(Long idUsuario, Integer ano, Integer mes) {
+        if (ano == null) {
+            throw new RegraNegocioException("Informe o ano dos lançamentos arquivados!");
+        }
+        return arquivadoRepository.buscarPorUsuario(idUsuario, ano, mes);
+    }
+
+    @Override
     public BigDecimal obterSaldoPorUsuario(Long id) {
-        var receitas = repository.obterSaldoPorTipoDeLancamentoEUsuarioEStatus(id, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-        var despesas = repository.obterSaldoPorTipoDeLancamentoEUsuarioEStatus(id, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+        return saldoService.obterSaldo(id);
+    }
 
-        if (receitas == null){
-            receitas = BigDecimal.ZERO;
+    @Override
+    @Transactional(readOnly = true)
+    public List<SaldoMensalDTO> obterSaldoMensalPorUsuario(Long id, Integer anoInicial, Integer anoFinal, StatusLancamento status) {
+        if (anoInicial == null || anoFinal == null || anoFinal < anoInicial) {
+            throw new RegraNegocioException("Informe um intervalo de anos válido!");
         }
-        if (despesas == null){
-            despesas = BigDecimal.ZERO;
+
+        var statusConsultados = status == null ? EnumSet.allOf(StatusLancamento.class) : EnumSet.of(status);
+        // Meses de anos arquivados vêm dos resumos e são intercalados, na ordem, com os totais dos anos abertos.
+        var arquivados = new ArrayDeque<>(resumoArquivadoRepository.obterTotaisMensais(id, anoInicial, anoFinal, statusConsultados));
+        var linhaDoTempo = new ArrayList<SaldoMensalDTO>();
+        try (var totais = repository.obterTotaisMensais(id, anoInicial, anoFinal, statusConsultados)) {
+            totais.forEach(total -> {
+                while (!arquivados.isEmpty() && compararMes(arquivados.peek(), total) < 0) {
+                    adicionarMes(linhaDoTempo, arquivados.poll());
+                }
+                if (!arquivados.isEmpty() && compararMes(arquivados.peek(), total) == 0) {
+                    var arquivado = arquivados.poll();
+                    total = new Object[]{total[0], total[1], ((BigDecimal) total[2]).add((BigDecimal) arquivado[2]),
+                            ((BigDecimal) total[3]).add((BigDecimal) arquivado[3])};
+                }
+                adicionarMes(linhaDoTempo, total);
+            });
         }
+        arquivados.forEach(total -> adicionarMes(linhaDoTempo, total));
+        return linhaDoTempo;
+    }
+
+    private static int compararMes(Object[] total, Object[] outro) {
+        int ano = Integer.compare((Integer) total[0], (Integer) outro[0]);
+        return ano != 0 ? ano : Integer.compare((Integer) total[1], (Integer) outro[1]);
+    }
 
-        return receitas.subtract(despesas);
+    private static void adicionarMes(List<SaldoMensalDTO> linhaDoTempo, Object[] total) {
+        var receitas = (BigDecimal) total[2];
+        var despesas = (BigDecimal) total[3];
+        var saldoAnterior = linhaDoTempo.isEmpty() ? BigDecimal.ZERO : linhaDoTempo.get(linhaDoTempo.size() - 1).getSaldo();
+        linhaDoTempo.add(SaldoMensalDTO.builder()
+                .ano((Integer) total[0])
+                .mes((Integer) total[1])
+                .receitas(receitas)
+                .despesas(despesas)
+                .saldo(saldoAnterior.add(receitas).subtract(despesas))
+                .build());
     }
 
+    /**
+     * Propaga a alteração de um lançamento para saldo, resumos mensais, contador de alterações e índice de busca.
+     */
+    private void registrarAlteracao(Long id, EstadoLancamento anterior, Lancamento atual) {
+        var estadoAtual = atual != null ? EstadoLancamento.de(atual) : null;
+        saldoService.registrarAlteracao(anterior, estadoAtual);
+        resumoMensalService.registrarAlteracao(anterior, estadoAtual);
+        if (anterior != null) {
+            contadorAlteracoes.registrar(anterior.getIdUsuario());
+        }
+        if (estadoAtual != null) {
+            contadorAlteracoes.registrar(estadoAtual.getIdUsuario());
+        }
+
+        if (anterior != null && (estadoAtual == null || !anterior.getIdUsuario().equals(estadoAtual.getIdUsuario()))) {
+            buscaTextoService.remover(anterior.getIdUsuario(), id);
+        }
+        if (atual != null) {
+            buscaTextoService.indexar(atual);
+        }
+    }
+
+    /**
+     * Estado do lançamento como foi lido do banco. Se a entidade gerenciada já foi alterada pelo chamador
+     * (ex.: {@link #atualizarStatus}), a fotografia tirada no carregamento ainda reflete o valor anterior.
+     */
+    private EstadoLancamento obterEstadoPersistido(Long id) {
+        return repository.findById(id)
+                .map(Lancamento::getEstadoCarregado)
+                .orElse(null);
+    }
 
 }
@@ -0,0 +1,141 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.daianaegermichels.financas.exception.TentativasExcedidasException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de tentativas de login por email e por IP, verificado antes de qualquer consulta ao banco ou BCrypt.
+ * Cada chave tem um balde de fichas: {@code tentativas} por {@code janela}, repostas de forma contínua.
+ * O balde é um único {@link AtomicLong} com o instante em que ele volta a ficar cheio (GCRA), atualizado por CAS,
+ * sem trava. Os baldes ficam em caches Caffeine limitados por {@code tamanho-maximo} e saem após uma {@code janela}
+ * sem uso, quando já estariam cheios de novo.
+ */
+@Component
+public class LimiteTentativasLogin {
+
+    private static final String MENSAGEM = "Muitas tentativas de login. Aguarde para tentar novamente!";
+
+    private static final int TAMANHO_MAXIMO_EMAIL = 254;
+
+    private final boolean habilitado;
+    private final LongSupplier relogio;
+    private final Limite porEmail;
+    private final Limite porIp;
+
+    @Autowired
+    public LimiteTentativasLogin(@Value("${financas.login.limite.habilitado:true}") boolean habilitado,
+                                 @Value("${financas.login.limite.email.tentativas:5}") int tentativasEmail,
+                                 @Value("${financas.login.limite.email.janela:1m}") Duration janelaEmail,
+                                 @Value("${financas.login.limite.ip.tentativas:20}") int tentativasIp,
+                                 @Value("${financas.login.limite.ip.janela:1m}") Duration janelaIp,
+                                 @Value("${financas.login.limite.tamanho-maximo:100000}") long tamanhoMaximo,
+                                 MeterRegistry registry) {
+        this(habilitado, tentativasEmail, janelaEmail, tentativasIp, janelaIp, tamanhoMaximo, registry, System::nanoTime);
+    }
+
+    LimiteTentativasLogin(boolean habilitado, int tentativasEmail, Duration janelaEmail, int tentativasIp,
+                          Duration janelaIp, long tamanhoMaximo, MeterRegistry registry, LongSupplier relogio) {
+        this.habilitado = habilitado;
+        this.relogio = relogio;
+        this.porEmail = new Limite("email", tentativasEmail, janelaEmail, tamanhoMaximo, registry, relogio);
+        this.porIp = new Limite("ip", tentativasIp, janelaIp, tamanhoMaximo, registry, relogio);
+    }
+
+    /**
+     * Consome uma ficha do IP e uma do email. Sem ficha, lança {@link TentativasExcedidasException} com a espera até a
+     * próxima.
+     */
+    public void verificar(String email, String ip) {
+        if (!habilitado) {
+            return;
+        }
+        long agora = relogio.getAsLong();
+        long espera = porIp.consumir(ip != null ? ip : "", agora);
+        if (espera == 0) {
+            espera = porEmail.consumir(normalizar(email), agora);
+        }
+        if (espera > 0) {
+            throw new TentativasExcedidasException(MENSAGEM, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + 999_999_999)));
+        }
+    }
+
+    long obterQuantidadeEmails() {
+        return porEmail.obterQuantidade();
+    }
+
+    long obterQuantidadeIps() {
+        return porIp.obterQuantidade();
+    }
+
+    private static String normalizar(String email) {
+        if (email == null) {
+            return "";
+        }
+        var normalizado = email.trim().toLowerCase(Locale.ROOT);
+        return normalizado.length() > TAMANHO_MAXIMO_EMAIL ? normalizado.substring(0, TAMANHO_MAXIMO_EMAIL) : normalizado;
+    }
+
+    private static class Limite {
+
+        private final long intervalo;
+        private final long tolerancia;
+        private final Cache<String, AtomicLong> baldes;
+        private final Counter limitadas;
+
+        Limite(String chave, int tentativas, Duration janela, long tamanhoMaximo, MeterRegistry registry,
+               LongSupplier relogio) {
+            this.intervalo = janela.toNanos() / tentativas;
+            this.tolerancia = janela.toNanos() - intervalo;
+            this.baldes = Caffeine.newBuilder()
+                    .maximumSize(tamanhoMaximo)
+                    .expireAfterAccess(janela)
+                    .ticker(relogio::getAsLong)
+                    .build();
+            this.limitadas = Counter.builder("financas.login.limitadas")
+                    .description("Tentativas de login recusadas pelo limite, antes de consultar o usuário")
+                    .tag("chave", chave)
+                    .register(registry);
+            Gauge.builder("financas.login.limite.chaves", baldes, Cache::estimatedSize)
+                    .description("Baldes de tentativas de login em memória")
+                    .tag("chave", chave)
+                    .register(registry);
+        }
+
+        /**
+         * Zero quando havia ficha; senão, nanossegundos até a próxima.
+         */
+        long consumir(String chave, long agora) {
+            var balde = baldes.get(chave, nova -> new AtomicLong(agora));
+            while (true) {
+                long cheio = balde.get();
+                long inicio = cheio - agora > 0 ? cheio : agora;
+                long espera = inicio - tolerancia - agora;
+                if (espera > 0) {
+                    limitadas.increment();
+                    return espera;
+                }
+                if (balde.compareAndSet(cheio, inicio + intervalo)) {
+                    return 0;
+                }
+            }
+        }
+
+        long obterQuantidade() {
+            baldes.cleanUp();
+            return baldes.estimatedSize();
+        }
+    }
+}
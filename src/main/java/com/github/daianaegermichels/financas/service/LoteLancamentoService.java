@@ -0,0 +1,17 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.dto.ResultadoLoteDTO;
+import com.github.daianaegermichels.financas.dto.ResultadoStatusLoteDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+
+import java.util.List;
+
+public interface LoteLancamentoService {
+
+    ResultadoLoteDTO salvar(List<Lancamento> lancamentos);
+
+    ResultadoStatusLoteDTO atualizarStatus(Long idUsuario, List<Long> ids, StatusLancamento status);
+
+    ResultadoStatusLoteDTO atualizarStatus(Long idUsuario, Integer ano, Integer mes, StatusLancamento status);
+}
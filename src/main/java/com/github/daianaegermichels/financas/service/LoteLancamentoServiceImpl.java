@@ -0,0 +1,136 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.dto.ErroLoteDTO;
+import com.github.daianaegermichels.financas.dto.ResultadoLoteDTO;
+import com.github.daianaegermichels.financas.dto.ResultadoStatusLoteDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Inclusão de muitos lançamentos de uma vez. Os itens válidos são gravados em transações de
+ * {@code financas.lote.tamanho-transacao} itens; cada uma vira poucos comandos em lote no JDBC.
+ * Erros de validação ou de gravação são devolvidos por item, sem descartar o restante do lote.
+ * A alteração de status em lote usa os mesmos blocos, cada um com um único UPDATE, mas em uma só transação.
+ */
+@Service
+@Timed("financas.servico")
+public class LoteLancamentoServiceImpl implements LoteLancamentoService {
+
+    @Value("${financas.lote.tamanho-transacao:500}")
+    private int tamanhoTransacao;
+
+    @Value("${financas.lote.tamanho-maximo:5000}")
+    private int tamanhoMaximo;
+
+    private LancamentoService lancamentoService;
+
+    public LoteLancamentoServiceImpl(LancamentoService lancamentoService) {
+        this.lancamentoService = lancamentoService;
+    }
+
+    @Override
+    public ResultadoLoteDTO salvar(List<Lancamento> lancamentos) {
+        var erros = new ArrayList<ErroLoteDTO>();
+        var validos = new ArrayList<Lancamento>(lancamentos.size());
+        var posicoes = new ArrayList<Integer>(lancamentos.size());
+
+        for (int i = 0; i < lancamentos.size(); i++) {
+            try {
+                lancamentoService.validar(lancamentos.get(i));
+                validos.add(lancamentos.get(i));
+                posicoes.add(i);
+            } catch (RegraNegocioException e) {
+                erros.add(new ErroLoteDTO(i, e.getMessage()));
+            }
+        }
+
+        var ids = new Long[lancamentos.size()];
+        int salvos = 0;
+        for (int inicio = 0; inicio < validos.size(); inicio += tamanhoTransacao) {
+            int fim = Math.min(inicio + tamanhoTransacao, validos.size());
+            try {
+                lancamentoService.salvarTodos(validos.subList(inicio, fim));
+                for (int i = inicio; i < fim; i++) {
+                    ids[posicoes.get(i)] = validos.get(i).getId();
+                }
+                salvos += fim - inicio;
+            } catch (DataAccessException | TransactionException e) {
+                // A transação do bloco foi desfeita: grava item a item para isolar o que falhou.
+                for (int i = inicio; i < fim; i++) {
+                    var lancamento = validos.get(i);
+                    lancamento.setId(null);
+                    try {
+                        ids[posicoes.get(i)] = lancamentoService.salvar(lancamento).getId();
+                        salvos++;
+                    } catch (DataAccessException | TransactionException | RegraNegocioException erro) {
+                        erros.add(new ErroLoteDTO(posicoes.get(i), "Não foi possível gravar o lançamento!"));
+                    }
+                }
+            }
+        }
+
+        erros.sort(Comparator.comparing(ErroLoteDTO::getIndice));
+        return ResultadoLoteDTO.builder()
+                .recebidos(lancamentos.size())
+                .salvos(salvos)
+                .ids(Arrays.asList(ids))
+                .erros(erros)
+                .build();
+    }
+
+    /**
+     * Todos os blocos rodam na mesma transação: se um falhar, nenhum fica gravado. Por isso o lote é limitado a
+     * {@code financas.lote.tamanho-maximo} ids, o que também limita quanto tempo as linhas ficam bloqueadas.
+     */
+    @Override
+    @Transactional
+    public ResultadoStatusLoteDTO atualizarStatus(Long idUsuario, List<Long> ids, StatusLancamento status) {
+        if (status == null) {
+            throw new RegraNegocioException("Informe um status válido!");
+        }
+        var distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distintos.size() > tamanhoMaximo) {
+            throw new RegraNegocioException("Informe entre 1 e " + tamanhoMaximo + " lançamentos por lote!");
+        }
+        int encontrados = 0;
+        int alterados = 0;
+        var naoEncontrados = new ArrayList<Long>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += tamanhoTransacao) {
+            var bloco = distintos.subList(inicio, Math.min(inicio + tamanhoTransacao, distintos.size()));
+            var resultado = lancamentoService.atualizarStatusEmLote(idUsuario, bloco, status);
+            encontrados += resultado.getEncontrados();
+            alterados += resultado.getAlterados();
+            naoEncontrados.addAll(resultado.getNaoEncontrados());
+        }
+        return ResultadoStatusLoteDTO.builder()
+                .encontrados(encontrados)
+                .alterados(alterados)
+                .naoEncontrados(naoEncontrados)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ResultadoStatusLoteDTO atualizarStatus(Long idUsuario, Integer ano, Integer mes, StatusLancamento status) {
+        if (ano == null || mes == null || mes < 1 || mes > 12) {
+            throw new RegraNegocioException("Informe os ids ou um Mês e Ano válidos!");
+        }
+        if (status == null) {
+            throw new RegraNegocioException("Informe um status válido!");
+        }
+        return atualizarStatus(idUsuario, lancamentoService.obterIdsPorMesComStatusDiferente(idUsuario, ano, mes, status), status);
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.dto.AlteracaoRecorrenciaDTO;
+import com.github.daianaegermichels.financas.dto.RecorrenciaDTO;
+
+import java.util.Optional;
+
+public interface RecorrenciaService {
+
+    RecorrenciaDTO criar(RecorrenciaDTO recorrencia);
+
+    RecorrenciaDTO alterar(Long id, AlteracaoRecorrenciaDTO alteracao);
+
+    RecorrenciaDTO cancelar(Long id, Long idUsuario, Integer ano, Integer mes);
+
+    Optional<RecorrenciaDTO> obterPorId(Long id);
+
+    int gerarOcorrencias();
+}
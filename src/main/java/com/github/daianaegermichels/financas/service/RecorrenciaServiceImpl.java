@@ -0,0 +1,370 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.dto.AlteracaoRecorrenciaDTO;
+import com.github.daianaegermichels.financas.dto.RecorrenciaDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoRecorrencia;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.EstadoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.RecorrenciaLancamento;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.RecorrenciaLancamentoRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Séries de lançamentos mensais. As ocorrências são geradas até {@code financas.recorrencia.meses-antecedencia} meses
+ * à frente, todas de uma vez por {@link LancamentoService#salvarTodos} (um INSERT em lote, com saldo, resumos e
+ * contador de alterações mantidos como em qualquer lançamento); o restante fica para o job de geração. Alterar ou
+ * cancelar uma série é um único UPDATE sobre as ocorrências pendentes.
+ */
+@Slf4j
+@Service
+@Timed("financas.servico")
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+    @Value("${financas.recorrencia.meses-antecedencia:12}")
+    private int mesesAntecedencia;
+
+    @Value("${financas.recorrencia.tamanho-bloco:200}")
+    private int tamanhoBloco;
+
+    private RecorrenciaLancamentoRepository repository;
+
+    private LancamentoRepository lancamentoRepository;
+
+    private UsuarioRepository usuarioRepository;
+
+    private LancamentoService lancamentoService;
+
+    private ResumoMensalService resumoMensalService;
+
+    private BuscaTextoService buscaTextoService;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    private ArquivamentoService arquivamentoService;
+
+    private TransactionTemplate transactionTemplate;
+
+    public RecorrenciaServiceImpl(RecorrenciaLancamentoRepository repository, LancamentoRepository lancamentoRepository,
+                                  UsuarioRepository usuarioRepository, LancamentoService lancamentoService,
+                                  ResumoMensalService resumoMensalService, BuscaTextoService buscaTextoService,
+                                  ContadorAlteracoes contadorAlteracoes, ArquivamentoService arquivamentoService,
+                                  TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.lancamentoService = lancamentoService;
+        this.resumoMensalService = resumoMensalService;
+        this.buscaTextoService = buscaTextoService;
+        this.contadorAlteracoes = contadorAlteracoes;
+        this.arquivamentoService = arquivamentoService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    @Transactional
+    public RecorrenciaDTO criar(RecorrenciaDTO dto) {
+        TipoLancamento tipo;
+        TipoRecorrencia tipoRecorrencia;
+        try {
+            tipo = dto.getTipo() != null ? TipoLancamento.valueOf(dto.getTipo()) : null;
+            tipoRecorrencia = dto.getTipoRecorrencia() != null ? TipoRecorrencia.valueOf(dto.getTipoRecorrencia()) : TipoRecorrencia.MENSAL;
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Tipo de lançamento ou de recorrência inválido!");
+        }
+
+        // A primeira ocorrência passa pelas mesmas validações de um lançamento avulso.
+        lancamentoService.validar(Lancamento.builder()
+                .descricao(dto.getDescricao())
+                .mes(dto.getMes())
+                .ano(dto.getAno())
+                .usuario(dto.getUsuario() != null ? usuarioRepository.getReferenceById(dto.getUsuario()) : null)
+                .valor(dto.getValor())
+                .tipo(tipo)
+                .build());
+
+        var inicio = indice(dto.getAno(), dto.getMes());
+        var parcelas = dto.getParcelas();
+        var informouDataFinal = dto.getMesFinal() != null || dto.getAnoFinal() != null;
+        if (informouDataFinal) {
+            if (parcelas != null || tipoRecorrencia == TipoRecorrencia.PARCELADA) {
+                throw new RegraNegocioException("Informe as Parcelas ou a data final, não ambas!");
+            }
+            parcelas = obterInicio(dto.getAnoFinal(), dto.getMesFinal()) - inicio + 1;
+            if (parcelas < 1) {
+                throw new RegraNegocioException("Informe uma data final igual ou posterior ao início!");
+            }
+        } else if (tipoRecorrencia == TipoRecorrencia.PARCELADA && parcelas == null) {
+            throw new RegraNegocioException("Informe as Parcelas!");
+        }
+        if (parcelas != null && parcelas < 1) {
+            throw new RegraNegocioException("Informe um número de Parcelas válido!");
+        }
+
+        var recorrencia = repository.save(RecorrenciaLancamento.builder()
+                .idUsuario(dto.getUsuario())
+                .descricao(dto.getDescricao())
+                .valor(dto.getValor())
+                .tipo(tipo)
+                .tipoRecorrencia(tipoRecorrencia)
+                .anoInicial(dto.getAno())
+                .mesInicial(dto.getMes())
+                .parcelas(parcelas)
+                .parcelasGeradas(0)
+                .proximaGeracao(inicio)
+                .cancelada(false)
+                .dataCadastro(LocalDateTime.now())
+                .build());
+
+        var limite = limiteGeracao();
+        var ultima = parcelas != null ? Math.min(limite, inicio + parcelas - 1) : limite;
+        criarParticoes(dto.getAno(), ultima / 12);
+        var geradas = gerar(List.of(recorrencia), limite);
+        return converter(recorrencia, geradas);
+    }
+
+    /**
+     * Bloqueia a série e as ocorrências pendentes a partir do mês informado, na ordem do id, e as altera num único
+     * UPDATE. Ocorrências pendentes não entram no saldo, então só os resumos mensais recebem delta.
+     */
+    @Override
+    @Transactional
+    public RecorrenciaDTO alterar(Long id, AlteracaoRecorrenciaDTO alteracao) {
+        var idUsuario = alteracao.getUsuario();
+        if (idUsuario == null) {
+            throw new RegraNegocioException("Informe um Usuário!");
+        }
+
+        var campos = new LinkedHashMap<String, Object>();
+        if (alteracao.getDescricao() != null) {
+            if (alteracao.getDescricao().trim().equals("")) {
+                throw new RegraNegocioException("Informe uma Descrição válida!");
+            }
+            campos.put("descricao", alteracao.getDescricao());
+        }
+        if (alteracao.getValor() != null) {
+            if (alteracao.getValor().compareTo(BigDecimal.ZERO) < 1) {
+                throw new RegraNegocioException("Informe um Valor válido!");
+            }
+            campos.put("valor", alteracao.getValor());
+        }
+        TipoLancamento tipo = null;
+        if (alteracao.getTipo() != null) {
+            try {
+                tipo = TipoLancamento.valueOf(alteracao.getTipo());
+            } catch (IllegalArgumentException e) {
+                throw new RegraNegocioException("Tipo de lançamento ou de recorrência inválido!");
+            }
+            campos.put("tipo", tipo);
+        }
+        if (campos.isEmpty()) {
+            throw new RegraNegocioException("Informe ao menos um campo para alterar!");
+        }
+        var inicio = obterInicio(alteracao.getAno(), alteracao.getMes());
+
+        var recorrencia = obterParaAtualizacao(id, idUsuario);
+        if (alteracao.getDescricao() != null) {
+            recorrencia.setDescricao(alteracao.getDescricao());
+        }
+        if (alteracao.getValor() != null) {
+            recorrencia.setValor(alteracao.getValor());
+        }
+        if (tipo != null) {
+            recorrencia.setTipo(tipo);
+        }
+        // O UPDATE das ocorrências limpa o contexto de persistência.
+        repository.flush();
+
+        var ids = new ArrayList<Long>();
+        for (Object[] linha : lancamentoRepository.bloquearPendentesPorRecorrencia(id, inicio)) {
+            var anterior = new EstadoLancamento(idUsuario, ((Number) linha[1]).intValue(), ((Number) linha[2]).intValue(),
+                    (BigDecimal) linha[3], TipoLancamento.valueOf((String) linha[4]), StatusLancamento.valueOf((String) linha[5]));
+            var atual = new EstadoLancamento(idUsuario, anterior.getAno(), anterior.getMes(),
+                    alteracao.getValor() != null ? alteracao.getValor() : anterior.getValor(),
+                    tipo != null ? tipo : anterior.getTipo(), anterior.getStatus());
+            resumoMensalService.registrarAlteracao(anterior, atual);
+            ids.add(((Number) linha[0]).longValue());
+        }
+
+        if (!ids.isEmpty()) {
+            lancamentoRepository.atualizarOcorrencias(ids, campos, numerarParcelas(recorrencia) ? recorrencia.getParcelas() : null);
+            if (alteracao.getDescricao() != null) {
+                buscaTextoService.invalidar(idUsuario);
+            }
+            contadorAlteracoes.registrar(idUsuario);
+        }
+        return converter(recorrencia, ids.size());
+    }
+
+    /**
+     * Encerra a série, sem gerar novas ocorrências, e cancela as pendentes a partir do mês informado (todas, se
+     * omitido) com a alteração de status em lote.
+     */
+    @Override
+    @Transactional
+    public RecorrenciaDTO cancelar(Long id, Long idUsuario, Integer ano, Integer mes) {
+        if (idUsuario == null) {
+            throw new RegraNegocioException("Informe um Usuário!");
+        }
+        var inicio = obterInicio(ano, mes);
+
+        var recorrencia = obterParaAtualizacao(id, idUsuario);
+        recorrencia.setCancelada(true);
+        recorrencia.setProximaGeracao(null);
+        repository.flush();
+
+        var ids = lancamentoRepository.obterIdsPorRecorrenciaEStatus(id, StatusLancamento.PENDENTE, inicio);
+        var canceladas = ids.isEmpty() ? 0
+                : lancamentoService.atualizarStatusEmLote(idUsuario, ids, StatusLancamento.CANCELADO).getAlterados();
+        return converter(recorrencia, canceladas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RecorrenciaDTO> obterPorId(Long id) {
+        return repository.findById(id).map(recorrencia -> converter(recorrencia, null));
+    }
+
+    /**
+     * Gera as ocorrências que entraram no horizonte de antecedência, em blocos de
+     * {@code financas.recorrencia.tamanho-bloco} séries: cada bloco é uma transação com um único INSERT em lote.
+     */
+    @Override
+    public int gerarOcorrencias() {
+        var limite = limiteGeracao();
+        criarParticoes(LocalDate.now().getYear(), limite / 12);
+
+        int geradas = 0;
+        long ultimo = 0;
+        List<Long> ids;
+        while (!(ids = repository.obterIdsComGeracaoAte(limite, ultimo, PageRequest.of(0, tamanhoBloco))).isEmpty()) {
+            ultimo = ids.get(ids.size() - 1);
+            var bloco = ids;
+            geradas += transactionTemplate.execute(status -> gerar(repository.bloquear(bloco), limite));
+        }
+        log.info("{} ocorrência(s) de lançamentos recorrentes gerada(s).", geradas);
+        return geradas;
+    }
+
+    /**
+     * Monta as ocorrências das séries até o mês {@code limite} e as grava num único lote. O avanço das séries é
+     * gravado no flush do lote, na mesma transação.
+     */
+    private int gerar(List<RecorrenciaLancamento> recorrencias, int limite) {
+        var agora = LocalDateTime.now();
+        var ocorrencias = new ArrayList<Lancamento>();
+        for (var recorrencia : recorrencias) {
+            var usuario = usuarioRepository.getReferenceById(recorrencia.getIdUsuario());
+            while (recorrencia.getProximaGeracao() != null && recorrencia.getProximaGeracao() <= limite) {
+                var mes = recorrencia.getProximaGeracao();
+                var parcela = recorrencia.getParcelasGeradas() + 1;
+                ocorrencias.add(Lancamento.builder()
+                        .descricao(numerarParcelas(recorrencia)
+                                ? recorrencia.getDescricao() + " (" + parcela + "/" + recorrencia.getParcelas() + ")"
+                                : recorrencia.getDescricao())
+                        .ano(mes / 12)
+                        .mes(mes % 12 + 1)
+                        .usuario(usuario)
+                        .valor(recorrencia.getValor())
+                        .tipo(recorrencia.getTipo())
+                        .dataCadastro(agora)
+                        .idRecorrencia(recorrencia.getId())
+                        .parcela(parcela)
+                        .build());
+
+                recorrencia.setParcelasGeradas(parcela);
+                var terminou = recorrencia.getParcelas() != null && parcela >= recorrencia.getParcelas();
+                recorrencia.setProximaGeracao(terminou ? null : mes + 1);
+            }
+        }
+
+        if (!ocorrencias.isEmpty()) {
+            lancamentoService.salvarTodos(ocorrencias);
+        }
+        return ocorrencias.size();
+    }
+
+    /**
+     * Garante as partições dos anos das ocorrências antes do INSERT, para que não caiam na partição padrão.
+     */
+    private void criarParticoes(int anoInicial, int anoFinal) {
+        for (int ano = anoInicial; ano <= anoFinal; ano++) {
+            arquivamentoService.criarParticao(ano);
+        }
+    }
+
+    private RecorrenciaLancamento obterParaAtualizacao(Long id, Long idUsuario) {
+        return repository.buscarParaAtualizacao(id, idUsuario)
+                .orElseThrow(() -> new RegraNegocioException("Recorrência não encontrada na base de dados!"));
+    }
+
+    private int limiteGeracao() {
+        var hoje = LocalDate.now();
+        return indice(hoje.getYear(), hoje.getMonthValue()) + mesesAntecedencia;
+    }
+
+    /**
+     * Mês a partir do qual as ocorrências são alteradas ou canceladas; sem mês e ano, todas.
+     */
+    private static int obterInicio(Integer ano, Integer mes) {
+        if (ano == null && mes == null) {
+            return 0;
+        }
+        if (mes == null || mes < 1 || mes > 12) {
+            throw new RegraNegocioException("Informe um Mês válido!");
+        }
+        if (ano == null || ano.toString().length() != 4) {
+            throw new RegraNegocioException("Informe um Ano válido!");
+        }
+        return indice(ano, mes);
+    }
+
+    private static int indice(int ano, int mes) {
+        return ano * 12 + mes - 1;
+    }
+
+    private static boolean numerarParcelas(RecorrenciaLancamento recorrencia) {
+        return recorrencia.getTipoRecorrencia() == TipoRecorrencia.PARCELADA;
+    }
+
+    private static RecorrenciaDTO converter(RecorrenciaLancamento recorrencia, Integer ocorrencias) {
+        var dto = RecorrenciaDTO.builder()
+                .id(recorrencia.getId())
+                .usuario(recorrencia.getIdUsuario())
+                .descricao(recorrencia.getDescricao())
+                .valor(recorrencia.getValor())
+                .tipo(recorrencia.getTipo().name())
+                .tipoRecorrencia(recorrencia.getTipoRecorrencia().name())
+                .mes(recorrencia.getMesInicial())
+                .ano(recorrencia.getAnoInicial())
+                .parcelas(recorrencia.getParcelas())
+                .parcelasGeradas(recorrencia.getParcelasGeradas())
+                .cancelada(recorrencia.getCancelada())
+                .ocorrencias(ocorrencias)
+                .build();
+        if (recorrencia.getParcelas() != null) {
+            var fim = indice(recorrencia.getAnoInicial(), recorrencia.getMesInicial()) + recorrencia.getParcelas() - 1;
+            dto.setAnoFinal(fim / 12);
+            dto.setMesFinal(fim % 12 + 1);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.dto.ResumoMensalDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.model.EstadoLancamento;
+
+import java.util.List;
+
+public interface ResumoMensalService {
+
+    void registrarAlteracao(EstadoLancamento anterior, EstadoLancamento atual);
+
+    void retirar(Long idLancamento);
+
+    void acrescentar(Long idLancamento);
+
+    List<ResumoMensalDTO> obterRelatorio(Long idUsuario, Integer anoInicial, Integer anoFinal, StatusLancamento status);
+
+    void reconstruir(Long idUsuario);
+
+    int reconstruirTodos();
+}
@@ -0,0 +1,273 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.dto.ResumoMensalDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.EstadoLancamento;
+import com.github.daianaegermichels.financas.repository.ResumoMensalLancamentoRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém {@code resumo_mensal_lancamento} por delta. As alterações de uma transação são somadas por chave e gravadas
+ * logo antes do commit, um UPDATE por chave alterada, em ordem de chave: um lote de lançamentos do mesmo mês vira um
+ * único UPDATE, e transações concorrentes do mesmo usuário travam os resumos na mesma sequência.
+ */
+@Slf4j
+@Service
+@Timed("financas.servico")
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+
+    private static final Comparator<Chave> ORDEM = Comparator.comparing(Chave::getIdUsuario)
+            .thenComparing(Chave::getAno)
+            .thenComparing(Chave::getMes)
+            .thenComparing(Chave::getTipo)
+            .thenComparing(Chave::getStatus);
+
+    @Value("${financas.resumo.reconstrucao.threads:4}")
+    private int threads;
+
+    @Value("${financas.resumo.reconstrucao.tamanho-bloco:200}")
+    private int tamanhoBloco;
+
+    private ResumoMensalLancamentoRepository repository;
+
+    private UsuarioRepository usuarioRepository;
+
+    private ContadorAlteracoes contadorAlteracoes;
+
+    private TransactionTemplate transactionTemplate;
+
+    public ResumoMensalServiceImpl(ResumoMensalLancamentoRepository repository, UsuarioRepository usuarioRepository,
+                                   ContadorAlteracoes contadorAlteracoes, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.usuarioRepository = usuarioRepository;
+        this.contadorAlteracoes = contadorAlteracoes;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void registrarAlteracao(EstadoLancamento anterior, EstadoLancamento atual) {
+        var deltas = obterDeltasPendentes();
+        acumular(deltas, anterior, -1);
+        acumular(deltas, atual, 1);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(deltas);
+        }
+    }
+
+    /**
+     * Parte de {@link #acrescentar} numa alteração parcial, antes de o lançamento ser alterado e com a linha dele já
+     * bloqueada na transação.
+     */
+    @Override
+    @Transactional
+    public void retirar(Long idLancamento) {
+        repository.retirar(idLancamento);
+    }
+
+    @Override
+    @Transactional
+    public void acrescentar(Long idLancamento) {
+        if (repository.acrescentar(idLancamento) == 0) {
+            repository.criarSeAusente(idLancamento);
+            repository.acrescentar(idLancamento);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResumoMensalDTO> obterRelatorio(Long idUsuario, Integer anoInicial, Integer anoFinal, StatusLancamento status) {
+        if (anoInicial == null || anoFinal == null || anoFinal < anoInicial) {
+            throw new RegraNegocioException("Informe um intervalo de anos válido!");
+        }
+
+        var statusConsultados = status == null ? EnumSet.allOf(StatusLancamento.class) : EnumSet.of(status);
+        return repository.obterPorPeriodo(idUsuario, anoInicial, anoFinal, statusConsultados).stream()
+                .map(resumo -> ResumoMensalDTO.builder()
+                        .ano(resumo.getAno())
+                        .mes(resumo.getMes())
+                        .tipo(resumo.getTipo().name())
+                        .status(resumo.getStatus().name())
+                        .total(resumo.getTotal())
+                        .quantidade(resumo.getQuantidade())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void reconstruir(Long idUsuario) {
+        reconstruirBloco(List.of(idUsuario));
+    }
+
+    /**
+     * Reconstrói os resumos de todos os usuários em blocos de {@code financas.resumo.reconstrucao.tamanho-bloco},
+     * cada bloco numa transação, com até {@code financas.resumo.reconstrucao.threads} blocos em paralelo. Uma
+     * alteração concorrente que crie o primeiro resumo de uma chave pode fazer o bloco falhar pela restrição única;
+     * basta executar de novo.
+     */
+    @Override
+    public int reconstruirTodos() {
+        var contador = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            var thread = new Thread(tarefa, "resumo-reconstrucao-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Limita os blocos lidos e ainda não processados.
+        var vagas = new Semaphore(threads * 2);
+        var blocos = new ArrayList<Future<Integer>>();
+        try {
+            long ultimo = 0;
+            List<Long> ids;
+            while (!(ids = usuarioRepository.obterIdsApos(ultimo, PageRequest.of(0, tamanhoBloco))).isEmpty()) {
+                ultimo = ids.get(ids.size() - 1);
+                vagas.acquire();
+                var bloco = ids;
+                blocos.add(executor.submit(() -> {
+                    try {
+                        return reconstruirBloco(bloco);
+                    } finally {
+                        vagas.release();
+                    }
+                }));
+            }
+
+            int usuarios = 0;
+            for (var bloco : blocos) {
+                usuarios += bloco.get();
+            }
+            log.info("Resumos mensais de {} usuários reconstruídos.", usuarios);
+            return usuarios;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução dos resumos interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int reconstruirBloco(List<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            repository.removerPorUsuarios(ids);
+            repository.inserirTotais(ids);
+            ids.forEach(contadorAlteracoes::registrar);
+            return ids.size();
+        });
+    }
+
+    /**
+     * Deltas ainda não gravados da transação corrente; sem transação, um mapa avulso aplicado na hora.
+     */
+    private Map<Chave, Delta> obterDeltasPendentes() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new TreeMap<>(ORDEM);
+        }
+
+        @SuppressWarnings("unchecked")
+        var pendentes = (Map<Chave, Delta>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            var deltas = new TreeMap<Chave, Delta>(ORDEM);
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    aplicar(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ResumoMensalServiceImpl.this);
+                }
+
+                // Antes do contador de alterações, que trava a linha do usuário.
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE - 1;
+                }
+            });
+            pendentes = deltas;
+        }
+        return pendentes;
+    }
+
+    private static void acumular(Map<Chave, Delta> deltas, EstadoLancamento estado, int sinal) {
+        if (estado == null || estado.getIdUsuario() == null || estado.getAno() == null || estado.getMes() == null
+                || estado.getTipo() == null || estado.getStatus() == null) {
+            return;
+        }
+        var chave = new Chave(estado.getIdUsuario(), estado.getAno(), estado.getMes(), estado.getTipo(), estado.getStatus());
+        var valor = estado.getValor() != null ? estado.getValor() : BigDecimal.ZERO;
+        var delta = deltas.computeIfAbsent(chave, nova -> new Delta());
+        delta.total = delta.total.add(sinal < 0 ? valor.negate() : valor);
+        delta.quantidade += sinal;
+    }
+
+    private void aplicar(Map<Chave, Delta> deltas) {
+        deltas.forEach((chave, delta) -> {
+            // Alterações que não mudam a chave nem o valor (ex.: só a descrição) se anulam e não geram UPDATE.
+            if (delta.total.signum() == 0 && delta.quantidade == 0) {
+                return;
+            }
+            if (aplicarDelta(chave, delta) == 0) {
+                // Primeiro lançamento da chave: cria o resumo zerado e aplica o delta sobre ele.
+                repository.criarSeAusente(chave.getIdUsuario(), chave.getAno(), chave.getMes(), chave.getTipo(), chave.getStatus());
+                aplicarDelta(chave, delta);
+            }
+        });
+        deltas.clear();
+    }
+
+    private int aplicarDelta(Chave chave, Delta delta) {
+        return repository.aplicarDelta(chave.getIdUsuario(), chave.getAno(), chave.getMes(), chave.getTipo(),
+                chave.getStatus(), delta.total, delta.quantidade);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Chave {
+        private final Long idUsuario;
+        private final Integer ano;
+        private final Integer mes;
+        private final TipoLancamento tipo;
+        private final StatusLancamento status;
+    }
+
+    private static class Delta {
+        BigDecimal total = BigDecimal.ZERO;
+        long quantidade;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.EstadoLancamento;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+public interface SaldoService {
+
+    BigDecimal obterSaldo(Long idUsuario);
+
+    void registrarAlteracao(EstadoLancamento anterior, EstadoLancamento atual);
+
+    void aplicarDelta(Long idUsuario, BigDecimal receitas, BigDecimal despesas);
+
+    void aplicarAlteracao(Long idLancamento, Long idUsuario, BigDecimal valor, TipoLancamento tipo, StatusLancamento status);
+
+    void recalcular(Long idUsuario);
+
+    Set<Long> buscarDivergencias();
+}
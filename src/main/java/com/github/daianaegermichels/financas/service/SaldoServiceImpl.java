@@ -0,0 +1,160 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.EstadoLancamento;
+import com.github.daianaegermichels.financas.model.SaldoUsuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.ResumoLancamentoArquivadoRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Timed("financas.servico")
+public class SaldoServiceImpl implements SaldoService {
+
+    private SaldoUsuarioRepository saldoRepository;
+
+    private LancamentoRepository lancamentoRepository;
+
+    private ResumoLancamentoArquivadoRepository resumoArquivadoRepository;
+
+    public SaldoServiceImpl(SaldoUsuarioRepository saldoRepository, LancamentoRepository lancamentoRepository,
+                            ResumoLancamentoArquivadoRepository resumoArquivadoRepository) {
+        this.saldoRepository = saldoRepository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.resumoArquivadoRepository = resumoArquivadoRepository;
+    }
+
+    @Override
+    @Transactional
+    public BigDecimal obterSaldo(Long idUsuario) {
+        var saldo = saldoRepository.obterSaldo(idUsuario);
+        if (saldo.isPresent()) {
+            return saldo.get();
+        }
+        // Usuário ainda sem registro (ex.: lançamentos anteriores ao saldo incremental): inicializa a partir da base.
+        recalcular(idUsuario);
+        return saldoRepository.obterSaldo(idUsuario).orElse(BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional
+    public void registrarAlteracao(EstadoLancamento anterior, EstadoLancamento atual) {
+        if (anterior != null && atual != null && !anterior.getIdUsuario().equals(atual.getIdUsuario())) {
+            aplicarDelta(anterior.getIdUsuario(), anterior.getReceitaEfetivada().negate(), anterior.getDespesaEfetivada().negate());
+            aplicarDelta(atual.getIdUsuario(), atual.getReceitaEfetivada(), atual.getDespesaEfetivada());
+            return;
+        }
+
+        var referencia = atual != null ? atual : anterior;
+        if (referencia == null) {
+            return;
+        }
+
+        var receitas = BigDecimal.ZERO;
+        var despesas = BigDecimal.ZERO;
+        if (atual != null) {
+            receitas = receitas.add(atual.getReceitaEfetivada());
+            despesas = despesas.add(atual.getDespesaEfetivada());
+        }
+        if (anterior != null) {
+            receitas = receitas.subtract(anterior.getReceitaEfetivada());
+            despesas = despesas.subtract(anterior.getDespesaEfetivada());
+        }
+        aplicarDelta(referencia.getIdUsuario(), receitas, despesas);
+    }
+
+    @Override
+    @Transactional
+    public void aplicarDelta(Long idUsuario, BigDecimal receitas, BigDecimal despesas) {
+        if (idUsuario == null || (receitas.signum() == 0 && despesas.signum() == 0)) {
+            return;
+        }
+
+        int atualizados = saldoRepository.aplicarDelta(idUsuario, receitas, despesas, LocalDateTime.now());
+        if (atualizados == 0) {
+            // Sem registro para o usuário: o recálculo já enxerga a alteração corrente, pois a consulta força o flush.
+            recalcular(idUsuario);
+        }
+    }
+
+    /**
+     * Delta de uma alteração parcial do lançamento, calculado pelo banco a partir da linha ainda não alterada.
+     */
+    @Override
+    @Transactional
+    public void aplicarAlteracao(Long idLancamento, Long idUsuario, BigDecimal valor, TipoLancamento tipo, StatusLancamento status) {
+        int atualizados = saldoRepository.aplicarAlteracao(idLancamento, idUsuario, valor, tipo, status, LocalDateTime.now());
+        if (atualizados == 0) {
+            // Sem registro para o usuário: o recálculo parte do estado anterior e o delta é aplicado sobre ele.
+            recalcular(idUsuario);
+            saldoRepository.flush();
+            saldoRepository.aplicarAlteracao(idLancamento, idUsuario, valor, tipo, status, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recalcular(Long idUsuario) {
+        // Cria a linha antes de bloqueá-la: duas primeiras alterações simultâneas do usuário não tentam inserir as duas.
+        saldoRepository.criarSeAusente(idUsuario);
+        var encontrado = saldoRepository.buscarParaAtualizacao(idUsuario);
+        if (encontrado.isEmpty()) {
+            // Usuário inexistente: não há saldo a calcular.
+            return;
+        }
+
+        var saldo = encontrado.get();
+        saldo.setReceitas(BigDecimal.ZERO);
+        saldo.setDespesas(BigDecimal.ZERO);
+        // Anos arquivados entram pelos resumos; lancamento só tem os anos abertos.
+        for (List<Object[]> totais : List.of(
+                lancamentoRepository.obterTotaisPorTipoDeLancamento(idUsuario, StatusLancamento.EFETIVADO),
+                resumoArquivadoRepository.obterTotaisPorTipoDeLancamento(idUsuario, StatusLancamento.EFETIVADO))) {
+            for (Object[] total : totais) {
+                if (total[0] == TipoLancamento.RECEITA) {
+                    saldo.setReceitas(saldo.getReceitas().add((BigDecimal) total[1]));
+                } else if (total[0] == TipoLancamento.DESPESA) {
+                    saldo.setDespesas(saldo.getDespesas().add((BigDecimal) total[1]));
+                }
+            }
+        }
+        saldo.setDataAtualizacao(LocalDateTime.now());
+        saldoRepository.save(saldo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<Long> buscarDivergencias() {
+        Map<Long, BigDecimal[]> recalculados = new HashMap<>();
+        for (List<Object[]> totais : List.of(
+                lancamentoRepository.obterTotaisPorUsuarioETipoDeLancamento(StatusLancamento.EFETIVADO),
+                resumoArquivadoRepository.obterTotaisPorUsuarioETipoDeLancamento(StatusLancamento.EFETIVADO))) {
+            for (Object[] total : totais) {
+                var valores = recalculados.computeIfAbsent((Long) total[0], id -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+                int indice = total[1] == TipoLancamento.RECEITA ? 0 : 1;
+                valores[indice] = valores[indice].add((BigDecimal) total[2]);
+            }
+        }
+
+        Set<Long> divergentes = new HashSet<>();
+        for (SaldoUsuario saldo : saldoRepository.findAll()) {
+            var valores = recalculados.getOrDefault(saldo.getIdUsuario(), new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            if (saldo.getReceitas().compareTo(valores[0]) != 0 || saldo.getDespesas().compareTo(valores[1]) != 0) {
+                divergentes.add(saldo.getIdUsuario());
+            }
+        }
+        return divergentes;
+    }
+}
@@ -1,30 +1,45 @@
 package com.github.daianaegermichels.financas.service;
 
 import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service
 public class SecurityUserDetailsService implements UserDetailsService {
 
     private UsuarioRepository usuarioRepository;
+    private UsuarioCache usuarioCache;
+
+    /**
+     * Emails com acesso aos endpoints administrativos ({@code /actuator/**}), em {@code financas.admin.emails}.
+     */
+    private Set<String> emailsAdministradores;
 
-    public SecurityUserDetailsService(UsuarioRepository usuarioRepository){
+    public SecurityUserDetailsService(UsuarioRepository usuarioRepository, UsuarioCache usuarioCache,
+                                      @Value("${financas.admin.emails:}") Set<String> emailsAdministradores){
         this.usuarioRepository = usuarioRepository;
+        this.usuarioCache = usuarioCache;
+        this.emailsAdministradores = emailsAdministradores;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        var usuarioEncontrado = usuarioRepository.findByEmail(email)
+        var usuarioEncontrado = usuarioCache.obterPorEmail(email)
+                .or(() -> usuarioRepository.findByEmail(email).map(usuarioCache::registrar))
                 .orElseThrow(()-> new UsernameNotFoundException("Email não cadastrado!"));
 
+        var perfis = emailsAdministradores.contains(usuarioEncontrado.getEmail()) ? new String[]{"USER", "ADMIN"} : new String[]{"USER"};
+
         return User.builder()
                 .username(usuarioEncontrado.getEmail())
                 .password(usuarioEncontrado.getSenha())
-                .roles("USER")
+                .roles(perfis)
                 .build();
     }
 }
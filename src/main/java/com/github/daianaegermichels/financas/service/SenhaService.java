@@ -0,0 +1,10 @@
+package com.github.daianaegermichels.financas.service;
+
+public interface SenhaService {
+
+    String criptografar(String senha);
+
+    boolean conferir(String senha, String senhaCriptografada);
+
+    boolean precisaAtualizar(String senhaCriptografada);
+}
@@ -0,0 +1,112 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Criptografia e conferência de senhas no executor {@code senhaExecutor}. A thread da requisição só espera o resultado,
+ * até {@code financas.senha.tempo-limite-ms}; se o executor estiver saturado a operação falha na hora com
+ * {@link ServicoSobrecarregadoException}.
+ */
+@Service
+public class SenhaServiceImpl implements SenhaService {
+
+    private static final Pattern CUSTO_BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private static final String MENSAGEM_SOBRECARGA = "Serviço de autenticação sobrecarregado. Tente novamente em instantes!";
+
+    private PasswordEncoder encoder;
+    private AsyncTaskExecutor senhaExecutor;
+    private int custo;
+    private long tempoLimiteMs;
+    private Counter recusadas;
+    private Counter expiradas;
+
+    public SenhaServiceImpl(PasswordEncoder encoder,
+                            @Qualifier("senhaExecutor") AsyncTaskExecutor senhaExecutor,
+                            @Value("${financas.senha.bcrypt.custo:10}") int custo,
+                            @Value("${financas.senha.tempo-limite-ms:5000}") long tempoLimiteMs,
+                            MeterRegistry registry) {
+        this.encoder = encoder;
+        this.senhaExecutor = senhaExecutor;
+        this.custo = custo;
+        this.tempoLimiteMs = tempoLimiteMs;
+        this.recusadas = criarContador(registry, "recusada");
+        this.expiradas = criarContador(registry, "expirada");
+    }
+
+    @Override
+    public String criptografar(String senha) {
+        return executar(() -> encoder.encode(senha));
+    }
+
+    @Override
+    public boolean conferir(String senha, String senhaCriptografada) {
+        if (senha == null || senhaCriptografada == null) {
+            return false;
+        }
+        return executar(() -> encoder.matches(senha, senhaCriptografada));
+    }
+
+    /**
+     * Hash BCrypt gerado com custo diferente do configurado em {@code financas.senha.bcrypt.custo}, para cima ou para
+     * baixo.
+     */
+    @Override
+    public boolean precisaAtualizar(String senhaCriptografada) {
+        if (senhaCriptografada == null) {
+            return false;
+        }
+        var custoAtual = CUSTO_BCRYPT.matcher(senhaCriptografada);
+        return custoAtual.find() && Integer.parseInt(custoAtual.group(1)) != custo;
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> resultado;
+        try {
+            resultado = senhaExecutor.submit(tarefa);
+        } catch (TaskRejectedException e) {
+            recusadas.increment();
+            throw new ServicoSobrecarregadoException(MENSAGEM_SOBRECARGA);
+        }
+
+        try {
+            return resultado.get(tempoLimiteMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Uma tarefa cancelada ainda na fila não chega a rodar o BCrypt.
+            resultado.cancel(true);
+            expiradas.increment();
+            throw new ServicoSobrecarregadoException(MENSAGEM_SOBRECARGA);
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServicoSobrecarregadoException(MENSAGEM_SOBRECARGA);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter criarContador(MeterRegistry registry, String motivo) {
+        return Counter.builder("financas.senha.rejeitadas")
+                .description("Operações de senha não executadas por saturação do executor")
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+}
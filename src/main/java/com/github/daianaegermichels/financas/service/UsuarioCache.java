@@ -0,0 +1,95 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.daianaegermichels.financas.dto.EstatisticasCacheDTO;
+import com.github.daianaegermichels.financas.model.Usuario;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Usuários lidos recentemente, indexados por id e por email. Atende a autenticação de cada requisição
+ * ({@link SecurityUserDetailsService}) e as consultas de {@link UsuarioService} sem ir ao banco.
+ * As entradas são cópias, para que alterações feitas por quem consultou não vazem para o cache.
+ */
+@Component
+public class UsuarioCache {
+
+    private final Cache<Long, Usuario> porId;
+    private final Cache<String, Usuario> porEmail;
+
+    public UsuarioCache(@Value("${financas.usuario.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                        @Value("${financas.usuario.cache.ttl:10m}") Duration ttl) {
+        this.porId = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(ttl).recordStats().build();
+        this.porEmail = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public Optional<Usuario> obterPorId(Long id) {
+        return Optional.ofNullable(porId.getIfPresent(id)).map(UsuarioCache::copiar);
+    }
+
+    public Optional<Usuario> obterPorEmail(String email) {
+        return Optional.ofNullable(porEmail.getIfPresent(email)).map(UsuarioCache::copiar);
+    }
+
+    public Usuario registrar(Usuario usuario) {
+        var copia = copiar(usuario);
+        porId.put(copia.getId(), copia);
+        porEmail.put(copia.getEmail(), copia);
+        return usuario;
+    }
+
+    /**
+     * Remove o usuário imediatamente e de novo após o commit, para que uma leitura concorrente feita antes
+     * do commit não deixe a versão antiga no cache.
+     */
+    public void invalidar(Usuario usuario) {
+        remover(usuario);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover(usuario);
+                }
+            });
+        }
+    }
+
+    public EstatisticasCacheDTO obterEstatisticas() {
+        var estatisticasId = porId.stats();
+        var estatisticasEmail = porEmail.stats();
+        return EstatisticasCacheDTO.builder()
+                .acertos(estatisticasId.hitCount() + estatisticasEmail.hitCount())
+                .falhas(estatisticasId.missCount() + estatisticasEmail.missCount())
+                .remocoes(estatisticasId.evictionCount() + estatisticasEmail.evictionCount())
+                .tamanho(porId.estimatedSize())
+                .build();
+    }
+
+    private void remover(Usuario usuario) {
+        if (usuario.getId() != null) {
+            var anterior = porId.getIfPresent(usuario.getId());
+            porId.invalidate(usuario.getId());
+            if (anterior != null) {
+                porEmail.invalidate(anterior.getEmail());
+            }
+        }
+        if (usuario.getEmail() != null) {
+            porEmail.invalidate(usuario.getEmail());
+        }
+    }
+
+    private static Usuario copiar(Usuario usuario) {
+        return Usuario.builder()
+                .id(usuario.getId())
+                .nome(usuario.getNome())
+                .email(usuario.getEmail())
+                .senha(usuario.getSenha())
+                .build();
+    }
+}
@@ -2,6 +2,8 @@ package com.github.daianaegermichels.financas.service;
 
 import com.github.daianaegermichels.financas.model.Usuario;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -15,5 +17,7 @@ public interface UsuarioService {
 
     Optional <Usuario> obterPorId(Long id);
 
+    Map<Long, Usuario> obterPorIds(Collection<Long> ids);
+
 
 }
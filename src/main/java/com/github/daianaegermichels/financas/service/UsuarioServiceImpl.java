@@ -2,23 +2,32 @@ package com.github.daianaegermichels.financas.service;
 
 import com.github.daianaegermichels.financas.exception.ErroAutenticacao;
 import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.exception.ServicoSobrecarregadoException;
 import com.github.daianaegermichels.financas.model.Usuario;
 import com.github.daianaegermichels.financas.repository.UsuarioRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @Service
+@Timed("financas.servico")
 public class UsuarioServiceImpl implements UsuarioService{
 
     private final UsuarioRepository usuarioRepository;
-    private PasswordEncoder encoder;
+    private SenhaService senhaService;
+    private UsuarioCache usuarioCache;
 
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, PasswordEncoder encoder) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, SenhaService senhaService, UsuarioCache usuarioCache) {
         this.usuarioRepository = usuarioRepository;
-        this.encoder = encoder;
+        this.senhaService = senhaService;
+        this.usuarioCache = usuarioCache;
     }
 
     @Override
@@ -29,32 +38,54 @@ public class UsuarioServiceImpl implements UsuarioService{
             throw new ErroAutenticacao("Usuário não encontrado para o email informado!");
         }
 
-        encoder.matches(senha, usuario.get().getSenha());
-
-        if(!usuario.get().getSenha().equals(senha)){
+        if(!senhaService.conferir(senha, usuario.get().getSenha())){
             throw new ErroAutenticacao("Senha inválida!");
         }
 
+        atualizarCriptografia(usuario.get(), senha);
         return usuario.get();
     }
 
+    /**
+     * Quando o custo do BCrypt muda, a senha é criptografada de novo no primeiro login, único momento em que ela está
+     * disponível. Se o executor de senhas estiver saturado a atualização fica para um próximo login.
+     */
+    private void atualizarCriptografia(Usuario usuario, String senha) {
+        if (!senhaService.precisaAtualizar(usuario.getSenha())) {
+            return;
+        }
+        try {
+            var senhaCriptografada = senhaService.criptografar(senha);
+            if (usuarioRepository.atualizarSenha(usuario.getId(), usuario.getSenha(), senhaCriptografada) > 0) {
+                usuario.setSenha(senhaCriptografada);
+                usuarioCache.invalidar(usuario);
+            }
+        } catch (ServicoSobrecarregadoException e) {
+            log.debug("Atualização da senha do usuário {} adiada: {}", usuario.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Sem transação própria: o BCrypt roda antes do {@code save}, sem segurar uma conexão do pool enquanto espera.
+     */
     @Override
-    @Transactional
     public Usuario salvarUsuario(Usuario usuario) {
         validarEmail(usuario.getEmail());
         criptografarSenha(usuario);
-        return usuarioRepository.save(usuario);
+        var usuarioSalvo = usuarioRepository.save(usuario);
+        usuarioCache.invalidar(usuarioSalvo);
+        return usuarioSalvo;
     }
 
     private void criptografarSenha(Usuario usuario) {
         String  senha = usuario.getSenha();
-        String senhaCriptografada = encoder.encode(senha);
+        String senhaCriptografada = senhaService.criptografar(senha);
         usuario.setSenha(senhaCriptografada);
     }
 
     @Override
     public void validarEmail(String email) {
-        boolean existe = usuarioRepository.existsByEmail(email);
+        boolean existe = usuarioCache.obterPorEmail(email).isPresent() || usuarioRepository.existsByEmail(email);
         if(existe){
             throw new RegraNegocioException("Já existe um usuário com este email!");
         }
@@ -62,7 +93,21 @@ public class UsuarioServiceImpl implements UsuarioService{
 
     @Override
     public Optional<Usuario> obterPorId(Long id) {
-        return usuarioRepository.findById(id);
+        return usuarioCache.obterPorId(id)
+                .or(() -> usuarioRepository.findById(id).map(usuarioCache::registrar));
+    }
+
+    @Override
+    public Map<Long, Usuario> obterPorIds(Collection<Long> ids) {
+        Map<Long, Usuario> usuarios = new HashMap<>();
+        var ausentes = new ArrayList<Long>();
+        for (Long id : ids) {
+            usuarioCache.obterPorId(id).ifPresentOrElse(usuario -> usuarios.put(id, usuario), () -> ausentes.add(id));
+        }
+        if (!ausentes.isEmpty()) {
+            usuarioRepository.findAllById(ausentes).forEach(usuario -> usuarios.put(usuario.getId(), usuarioCache.registrar(usuario)));
+        }
+        return usuarios;
     }
 
 
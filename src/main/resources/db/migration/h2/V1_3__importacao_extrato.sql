@@ -0,0 +1,28 @@
+-- Importações de extrato e hashes dos movimentos já importados por usuário, para descartar duplicados.
+
+create table financas.importacao_extrato (
+    id bigint generated by default as identity,
+    caminho_arquivo varchar(255),
+    charset varchar(255),
+    data_atualizacao timestamp,
+    data_cadastro timestamp,
+    formato varchar(255),
+    linhas_duplicadas bigint,
+    linhas_importadas bigint,
+    linhas_invalidas bigint,
+    linhas_lidas bigint,
+    mensagem_erro varchar(255),
+    nome_arquivo varchar(255),
+    status varchar(255),
+    ultima_sequencia bigint,
+    id_usuario bigint,
+    primary key (id),
+    constraint fk_importacao_extrato_usuario foreign key (id_usuario) references financas.usuario
+);
+
+create table financas.lancamento_importado (
+    hash varchar(64) not null,
+    id_usuario bigint not null,
+    id_lancamento bigint,
+    primary key (hash, id_usuario)
+);
@@ -0,0 +1,24 @@
+-- Esquema equivalente ao gerado pelo Hibernate (ddl-auto=update) antes das migrações: só usuario e lancamento, ambos
+-- com id por identity. Bancos já existentes recebem baseline nesta versão e seguem a partir da V1.1.
+
+create table financas.usuario (
+    id bigint generated by default as identity,
+    email varchar(255),
+    nome varchar(255),
+    senha varchar(255),
+    primary key (id)
+);
+
+create table financas.lancamento (
+    id bigint generated by default as identity,
+    ano integer,
+    data_cadastro timestamp,
+    descricao varchar(255),
+    mes integer,
+    status varchar(255),
+    tipo varchar(255),
+    valor numeric(19, 2),
+    id_usuario bigint,
+    primary key (id),
+    constraint fk_lancamento_usuario foreign key (id_usuario) references financas.usuario
+);
@@ -0,0 +1,7 @@
+-- Mesmos índices da migração do PostgreSQL; o H2 não tem include, então as colunas cobertas entram na chave.
+
+create index if not exists idx_lancamento_usuario_periodo
+    on financas.lancamento (id_usuario, ano, mes, id);
+
+create index if not exists idx_lancamento_usuario_status_tipo
+    on financas.lancamento (id_usuario, status, tipo, valor);
@@ -0,0 +1,4 @@
+-- Versão para controle otimista de concorrência: cada UPDATE do lançamento incrementa a coluna e o PATCH só é
+-- aplicado se a versão enviada pelo cliente ainda for a atual.
+
+alter table financas.lancamento add column versao bigint default 0 not null;
@@ -0,0 +1,25 @@
+-- Totais por usuário/mês/tipo/status de todos os lançamentos, abertos e arquivados. Mantidos por delta a cada
+-- alteração de lançamento e lidos pelo relatório mensal; o arquivamento não os altera.
+
+create table financas.resumo_mensal_lancamento (
+    id bigint generated by default as identity,
+    id_usuario bigint not null,
+    ano integer not null,
+    mes integer not null,
+    tipo varchar(255) not null,
+    status varchar(255) not null,
+    total numeric(19, 2) not null,
+    quantidade bigint not null,
+    primary key (id),
+    constraint uk_resumo_mensal_lancamento unique (id_usuario, ano, mes, tipo, status)
+);
+
+insert into financas.resumo_mensal_lancamento (id_usuario, ano, mes, tipo, status, total, quantidade)
+select t.id_usuario, t.ano, t.mes, t.tipo, t.status, sum(t.total), sum(t.quantidade)
+from (select l.id_usuario, l.ano, l.mes, l.tipo, l.status, coalesce(l.valor, 0) as total, 1 as quantidade
+      from financas.lancamento l
+      where l.id_usuario is not null and l.ano is not null and l.mes is not null and l.tipo is not null and l.status is not null
+      union all
+      select r.id_usuario, r.ano, r.mes, r.tipo, r.status, r.total, r.quantidade
+      from financas.resumo_lancamento_arquivado r) t
+group by t.id_usuario, t.ano, t.mes, t.tipo, t.status;
@@ -0,0 +1,32 @@
+-- Lançamentos recorrentes (mensais, parcelados ou com data final). Cada definição gera as ocorrências como linhas de
+-- financas.lancamento, em lote, até alguns meses à frente; proxima_geracao é o mês (ano * 12 + mes - 1) da próxima
+-- ocorrência ainda não gerada e fica nulo quando a série termina ou é cancelada.
+
+create table financas.recorrencia_lancamento (
+    id bigint generated by default as identity,
+    id_usuario bigint not null,
+    descricao varchar(255) not null,
+    valor numeric(19, 2) not null,
+    tipo varchar(255) not null,
+    tipo_recorrencia varchar(255) not null,
+    ano_inicial integer not null,
+    mes_inicial integer not null,
+    parcelas integer,
+    parcelas_geradas integer default 0 not null,
+    proxima_geracao integer,
+    cancelada boolean default false not null,
+    data_cadastro timestamp,
+    primary key (id),
+    constraint fk_recorrencia_lancamento_usuario foreign key (id_usuario) references financas.usuario (id)
+);
+
+-- Séries ainda com ocorrências a gerar. O H2 não tem índice parcial, então o índice cobre todas as séries.
+create index idx_recorrencia_lancamento_proxima_geracao
+    on financas.recorrencia_lancamento (proxima_geracao, id);
+
+alter table financas.lancamento add column id_recorrencia bigint;
+alter table financas.lancamento add column parcela integer;
+
+-- Ocorrências de uma série, para alteração e cancelamento em lote.
+create index idx_lancamento_recorrencia
+    on financas.lancamento (id_recorrencia, parcela);
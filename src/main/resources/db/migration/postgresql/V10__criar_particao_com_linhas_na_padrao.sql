@@ -0,0 +1,28 @@
+-- Refaz financas.criar_particao_lancamento para anos que já têm linhas na partição padrão (ex.: lançamento com ano
+-- futuro gravado antes do job): o PostgreSQL recusa criar a partição nesse caso. A padrão é desanexada, a partição do
+-- ano é criada, as linhas do ano passam para ela e a padrão é anexada de novo, tudo na transação de quem chamou.
+-- Desanexar e anexar bloqueiam financas.lancamento por completo, mas só acontecem quando a padrão tem linhas do ano.
+
+create or replace function financas.criar_particao_lancamento(p_ano int) returns void as $$
+declare
+    v_particao text := 'lancamento_' || p_ano;
+    v_criar text := format('create table financas.%I partition of financas.lancamento for values from (%s) to (%s)',
+                           'lancamento_' || p_ano, p_ano, p_ano + 1);
+begin
+    if to_regclass(format('financas.%I', v_particao)) is not null then
+        return;
+    end if;
+
+    if to_regclass('financas.lancamento_padrao') is null
+            or not exists (select 1 from financas.lancamento_padrao where ano = p_ano) then
+        execute v_criar;
+        return;
+    end if;
+
+    alter table financas.lancamento detach partition financas.lancamento_padrao;
+    execute v_criar;
+    insert into financas.lancamento select * from financas.lancamento_padrao where ano = p_ano;
+    delete from financas.lancamento_padrao where ano = p_ano;
+    alter table financas.lancamento attach partition financas.lancamento_padrao default;
+end;
+$$ language plpgsql;
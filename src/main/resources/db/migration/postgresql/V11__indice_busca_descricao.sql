@@ -0,0 +1,5 @@
+-- Índice GIN da busca textual na descrição (BuscaTextoPostgresService), antes criado pela aplicação ao subir. Na
+-- tabela particionada é replicado em cada partição. Bases em que a aplicação já o criou ficam como estão.
+
+create index if not exists idx_lancamento_descricao_tsv
+    on financas.lancamento using gin (to_tsvector('portuguese', coalesce(descricao, '')));
@@ -0,0 +1,9 @@
+-- Saldo efetivado por usuário, mantido de forma incremental. Usuários sem linha são recalculados no primeiro acesso.
+
+create table financas.saldo_usuario (
+    id_usuario int8 not null,
+    data_atualizacao timestamp,
+    despesas numeric(19, 2),
+    receitas numeric(19, 2),
+    primary key (id_usuario)
+);
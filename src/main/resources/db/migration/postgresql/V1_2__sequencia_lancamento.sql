@@ -0,0 +1,4 @@
+-- Ids de lançamento por sequência com blocos de 50, para que o Hibernate agrupe os inserts em lote no JDBC. A
+-- identity criada na V1 fica sem uso: o Hibernate passa a informar o id.
+
+create sequence if not exists financas.lancamento_seq start 1 increment 50;
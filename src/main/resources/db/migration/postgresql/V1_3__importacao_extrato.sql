@@ -0,0 +1,28 @@
+-- Importações de extrato e hashes dos movimentos já importados por usuário, para descartar duplicados.
+
+create table financas.importacao_extrato (
+    id int8 generated by default as identity,
+    caminho_arquivo varchar(255),
+    charset varchar(255),
+    data_atualizacao timestamp,
+    data_cadastro timestamp,
+    formato varchar(255),
+    linhas_duplicadas int8,
+    linhas_importadas int8,
+    linhas_invalidas int8,
+    linhas_lidas int8,
+    mensagem_erro varchar(255),
+    nome_arquivo varchar(255),
+    status varchar(255),
+    ultima_sequencia int8,
+    id_usuario int8,
+    primary key (id),
+    constraint fk_importacao_extrato_usuario foreign key (id_usuario) references financas.usuario
+);
+
+create table financas.lancamento_importado (
+    hash varchar(64) not null,
+    id_usuario int8 not null,
+    id_lancamento int8,
+    primary key (hash, id_usuario)
+);
@@ -0,0 +1,25 @@
+-- Esquema equivalente ao gerado pelo Hibernate (ddl-auto=update) antes das migrações: só usuario e lancamento, ambos
+-- com id por identity. Bancos já existentes recebem baseline nesta versão e seguem a partir da V1.1, por isso tudo o
+-- que veio depois fica nas migrações seguintes.
+
+create table financas.usuario (
+    id int8 generated by default as identity,
+    email varchar(255),
+    nome varchar(255),
+    senha varchar(255),
+    primary key (id)
+);
+
+create table financas.lancamento (
+    id int8 generated by default as identity,
+    ano int4,
+    data_cadastro timestamp,
+    descricao varchar(255),
+    mes int4,
+    status varchar(255),
+    tipo varchar(255),
+    valor numeric(19, 2),
+    id_usuario int8,
+    primary key (id),
+    constraint fk_lancamento_usuario foreign key (id_usuario) references financas.usuario
+);
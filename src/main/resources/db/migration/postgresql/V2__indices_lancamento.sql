@@ -0,0 +1,11 @@
+-- Índices para os padrões de consulta de financas.lancamento. Criados com concurrently para não bloquear escritas
+-- em bases existentes; por isso esta migração roda fora de transação e contém apenas criação de índices.
+
+-- Listagem/paginação por usuário ordenada por (ano, mes, id) e filtros por período. Também atende buscas só por
+-- id_usuario (chave estrangeira). O include cobre a linha do tempo de saldo mensal sem ler a tabela.
+create index concurrently if not exists idx_lancamento_usuario_periodo
+    on financas.lancamento (id_usuario, ano, mes, id) include (status, tipo, valor);
+
+-- Agregações de saldo: where id_usuario = ? and status = ? [and tipo = ?] group by tipo, respondidas só pelo índice.
+create index concurrently if not exists idx_lancamento_usuario_status_tipo
+    on financas.lancamento (id_usuario, status, tipo) include (valor);
@@ -0,0 +1,5 @@
+-- Bases criadas antes da sequência podem ter ids acima do valor corrente dela. O otimizador do Hibernate usa o valor
+-- retornado como limite superior de um bloco de 50, então a sequência é posicionada um bloco acima do maior id.
+select setval('financas.lancamento_seq',
+              greatest((select coalesce(max(id), 0) from financas.lancamento) + 50,
+                       (select last_value from financas.lancamento_seq)));
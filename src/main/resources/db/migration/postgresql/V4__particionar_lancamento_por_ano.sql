@@ -0,0 +1,57 @@
+-- Particiona financas.lancamento por faixa de ano. O tráfego se concentra no ano corrente e no anterior, então cada ano
+-- fica em uma partição própria e anos fechados podem ser arquivados sem varrer o histórico inteiro.
+-- A tabela é recriada e os dados copiados dentro da transação da migração: em bases grandes, rodar em janela de
+-- manutenção. A chave primária de uma tabela particionada precisa conter a coluna de partição, por isso (id, ano).
+
+create or replace function financas.criar_particao_lancamento(p_ano int) returns void as $$
+begin
+    execute format('create table if not exists financas.%I partition of financas.lancamento for values from (%s) to (%s)',
+                   'lancamento_' || p_ano, p_ano, p_ano + 1);
+end;
+$$ language plpgsql;
+
+drop index if exists financas.idx_lancamento_usuario_periodo;
+drop index if exists financas.idx_lancamento_usuario_status_tipo;
+drop index if exists financas.idx_lancamento_descricao_tsv;
+alter table financas.lancamento rename to lancamento_legado;
+alter index if exists financas.lancamento_pkey rename to lancamento_legado_pkey;
+
+create table financas.lancamento (
+    id int8 not null,
+    ano int4 not null,
+    data_cadastro timestamp,
+    descricao varchar(255),
+    mes int4,
+    status varchar(255),
+    tipo varchar(255),
+    valor numeric(19, 2),
+    id_usuario int8,
+    primary key (id, ano)
+) partition by range (ano);
+
+-- Uma partição por ano existente, mais o ano corrente e o seguinte. A partição padrão só recebe anos sem partição
+-- própria; o job de arquivamento cria as partições dos anos seguintes antes que isso aconteça.
+select financas.criar_particao_lancamento(anos.ano)
+from (select distinct coalesce(ano, cast(extract(year from data_cadastro) as int4)) as ano from financas.lancamento_legado
+      union
+      select cast(extract(year from current_date) as int4) + deslocamento from generate_series(0, 1) as deslocamento) anos
+where anos.ano is not null;
+
+create table financas.lancamento_padrao partition of financas.lancamento default;
+
+insert into financas.lancamento (id, ano, data_cadastro, descricao, mes, status, tipo, valor, id_usuario)
+select id, coalesce(ano, cast(extract(year from coalesce(data_cadastro, current_timestamp)) as int4)),
+       data_cadastro, descricao, mes, status, tipo, valor, id_usuario
+from financas.lancamento_legado;
+
+drop table financas.lancamento_legado;
+
+alter table financas.lancamento
+    add constraint fk_lancamento_usuario foreign key (id_usuario) references financas.usuario;
+
+-- Mesmos índices da V2, agora definidos na tabela particionada e replicados em cada partição.
+create index idx_lancamento_usuario_periodo
+    on financas.lancamento (id_usuario, ano, mes, id) include (status, tipo, valor);
+
+create index idx_lancamento_usuario_status_tipo
+    on financas.lancamento (id_usuario, status, tipo) include (valor);
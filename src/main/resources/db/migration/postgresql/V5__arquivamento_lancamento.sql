@@ -0,0 +1,32 @@
+-- Anos fechados saem de financas.lancamento: o detalhe vai para lancamento_arquivado, consultado sob demanda, e os
+-- totais por usuário/mês/tipo/status vão para resumo_lancamento_arquivado, lido pelas consultas de saldo e relatório.
+
+create table financas.lancamento_arquivado (
+    id int8 not null,
+    ano int4 not null,
+    data_cadastro timestamp,
+    descricao varchar(255),
+    mes int4,
+    status varchar(255),
+    tipo varchar(255),
+    valor numeric(19, 2),
+    id_usuario int8,
+    primary key (id),
+    constraint fk_lancamento_arquivado_usuario foreign key (id_usuario) references financas.usuario
+);
+
+create index idx_lancamento_arquivado_usuario_periodo
+    on financas.lancamento_arquivado (id_usuario, ano, mes, id);
+
+create table financas.resumo_lancamento_arquivado (
+    id int8 generated by default as identity,
+    id_usuario int8 not null,
+    ano int4 not null,
+    mes int4 not null,
+    tipo varchar(255) not null,
+    status varchar(255) not null,
+    total numeric(19, 2) not null,
+    quantidade int8 not null,
+    primary key (id),
+    constraint uk_resumo_lancamento_arquivado unique (id_usuario, ano, mes, tipo, status)
+);
@@ -0,0 +1,4 @@
+-- Contador de alterações nos lançamentos de cada usuário, incrementado uma vez por transação que os altera. Serve de
+-- ETag para a listagem e o saldo: sem alteração, a requisição condicional recebe 304 sem consultar os lançamentos.
+
+alter table financas.usuario add column versao_lancamentos bigint default 0 not null;
@@ -0,0 +1,24 @@
+package com.github.daianaegermichels.financas.benchmark;
+
+import com.github.daianaegermichels.financas.config.BuscaTextoConfig;
+import com.github.daianaegermichels.financas.service.ContadorAlteracoes;
+import com.github.daianaegermichels.financas.service.LancamentoServiceImpl;
+import com.github.daianaegermichels.financas.service.ResumoMensalServiceImpl;
+import com.github.daianaegermichels.financas.service.SaldoServiceImpl;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Contexto mínimo para benchmarks de persistência: somente JPA e os serviços de lançamento, sem a camada web.
+ * Marcado como {@link TestComponent} para não ser incluído pela varredura da aplicação completa.
+ */
+@SpringBootConfiguration
+@TestComponent
+@EntityScan("com.github.daianaegermichels.financas.model")
+@EnableJpaRepositories("com.github.daianaegermichels.financas.repository")
+@Import({LancamentoServiceImpl.class, SaldoServiceImpl.class, ContadorAlteracoes.class, ResumoMensalServiceImpl.class, BuscaTextoConfig.class})
+public class BenchmarkJpaConfig {
+}
@@ -0,0 +1,95 @@
+package com.github.daianaegermichels.financas.benchmark;
+
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import com.github.daianaegermichels.financas.service.BuscaTextoService;
+import com.github.daianaegermichels.financas.service.LancamentoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a busca por descrição via {@code Example} com {@code CONTAINING} (like '%texto%') com o índice invertido.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+public class BuscaTextoBenchmarkTest {
+
+    static final int LANCAMENTOS = Integer.getInteger("benchmark.lancamentos", 20_000);
+    static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 200);
+    static final String[] PALAVRAS = {"aluguel", "mercado", "salario", "energia", "agua", "internet", "farmacia",
+            "combustivel", "restaurante", "cartao", "academia", "escola", "seguro", "viagem", "presente", "pix"};
+
+    @Autowired
+    LancamentoService lancamentoService;
+
+    @Autowired
+    BuscaTextoService buscaTextoService;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Benchmark busca textual x CONTAINING")
+    public void compararBuscaTextualComContaining() {
+        var usuario = usuarioRepository.save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+        popular(usuario.getId());
+
+        var filtro = new Lancamento();
+        filtro.setUsuario(usuario);
+        filtro.setDescricao("combustivel");
+
+        var containing = medir("CONTAINING", () -> lancamentoService.buscar(filtro).size());
+        var indice = medir("Índice textual", () -> buscaTextoService.buscar(usuario.getId(), "combustivel", true, LANCAMENTOS).size());
+
+        assertThat(indice).isEqualTo(containing);
+    }
+
+    private int medir(String nome, Supplier<Integer> busca) {
+        int resultados = busca.get();
+        for (int i = 0; i < ITERACOES / 10; i++) {
+            busca.get();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            busca.get();
+        }
+        double mediaMs = (System.nanoTime() - inicio) / 1_000_000.0 / ITERACOES;
+        System.out.printf("%-16s %8.3f ms/busca  (%d lançamentos, %d resultados)%n", nome, mediaMs, LANCAMENTOS, resultados);
+        return resultados;
+    }
+
+    private void popular(Long idUsuario) {
+        var aleatorio = new Random(42);
+        var linhas = new ArrayList<Object[]>(LANCAMENTOS);
+        for (int i = 0; i < LANCAMENTOS; i++) {
+            var descricao = PALAVRAS[aleatorio.nextInt(PALAVRAS.length)] + " " + PALAVRAS[aleatorio.nextInt(PALAVRAS.length)] + " " + i;
+            linhas.add(new Object[]{descricao, 1 + aleatorio.nextInt(12), 2015 + aleatorio.nextInt(8), idUsuario,
+                    BigDecimal.valueOf(1 + aleatorio.nextInt(1000)), LocalDateTime.now(), "DESPESA", "PENDENTE"});
+        }
+        jdbcTemplate.batchUpdate("insert into financas.lancamento (id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status) " +
+                "values (next value for financas.lancamento_seq, ?, ?, ?, ?, ?, ?, ?, ?)", linhas);
+    }
+}
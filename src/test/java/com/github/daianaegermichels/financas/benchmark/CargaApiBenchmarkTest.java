@@ -0,0 +1,306 @@
+package com.github.daianaegermichels.financas.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.daianaegermichels.financas.FinancasApplication;
+import com.github.daianaegermichels.financas.dto.AtualizaStatusDTO;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.dto.TokenDTO;
+import com.github.daianaegermichels.financas.dto.UsuarioDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga ponta a ponta sobre a API: sobe a aplicação completa no perfil de teste (H2), popula usuários e lançamentos
+ * e executa uma mistura fixa de login, consulta, saldo, criação e alteração de status em cada nível de concorrência.
+ * O resultado (vazão e p50/p99/p999 por endpoint) é gravado em JSON para comparação entre execuções.
+ * Executar com {@code mvn test -Pbenchmark -Dtest=CargaApiBenchmarkTest}.
+ */
+@Tag("benchmark")
+// Todos os clientes fazem login do mesmo IP: o limite de tentativas recusaria a maior parte.
+@SpringBootTest(classes = FinancasApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "financas.login.limite.habilitado=false")
+@ActiveProfiles("test")
+public class CargaApiBenchmarkTest {
+
+    static final int USUARIOS = Integer.getInteger("benchmark.usuarios", 1_000);
+    static final int LANCAMENTOS_POR_USUARIO = Integer.getInteger("benchmark.lancamentos-por-usuario", 10);
+    static final int[] CONCORRENCIAS = Arrays.stream(System.getProperty("benchmark.concorrencias", "1,8,32").split(","))
+            .mapToInt(valor -> Integer.parseInt(valor.trim())).toArray();
+    static final int AQUECIMENTO_SEGUNDOS = Integer.getInteger("benchmark.aquecimento-segundos", 5);
+    static final int DURACAO_SEGUNDOS = Integer.getInteger("benchmark.duracao-segundos", 20);
+    static final String SAIDA = System.getProperty("benchmark.saida", "target/benchmark/carga-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+    static final String SENHA = "senha";
+
+    /**
+     * Peso de cada operação na mistura de carga.
+     */
+    enum Operacao {
+        LOGIN(5), BUSCAR(45), SALDO(25), CRIAR(15), ATUALIZAR_STATUS(10);
+
+        final int peso;
+
+        Operacao(int peso) {
+            this.peso = peso;
+        }
+    }
+
+    @LocalServerPort
+    int porta;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    HttpClient cliente = HttpClient.newHttpClient();
+
+    List<Long> idsUsuarios = new ArrayList<>();
+
+    Map<Long, String> emails = new HashMap<>();
+
+    Map<Long, long[]> lancamentosPorUsuario = new HashMap<>();
+
+    @Test
+    @DisplayName("Benchmark de carga da API com base populada")
+    public void executarCarga() throws Exception {
+        popular();
+
+        var niveis = new ArrayList<Map<String, Object>>();
+        for (int concorrencia : CONCORRENCIAS) {
+            executar(concorrencia, AQUECIMENTO_SEGUNDOS);
+            var resultado = executar(concorrencia, DURACAO_SEGUNDOS);
+            niveis.add(resumir(concorrencia, resultado));
+        }
+
+        var relatorio = new LinkedHashMap<String, Object>();
+        relatorio.put("data", LocalDateTime.now().toString());
+        relatorio.put("usuarios", USUARIOS);
+        relatorio.put("lancamentosPorUsuario", LANCAMENTOS_POR_USUARIO);
+        relatorio.put("aquecimentoSegundos", AQUECIMENTO_SEGUNDOS);
+        relatorio.put("duracaoSegundos", DURACAO_SEGUNDOS);
+        relatorio.put("niveis", niveis);
+
+        var arquivo = Path.of(SAIDA);
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), relatorio);
+        System.out.println("Resultado gravado em " + arquivo.toAbsolutePath());
+
+        assertThat(niveis).allSatisfy(nivel -> assertThat((Map<?, ?>) nivel.get("endpoints")).allSatisfy((operacao, estatisticas) ->
+                assertThat(((Map<?, ?>) estatisticas).get("erros")).as("erros em %s", operacao).isEqualTo(0L)));
+    }
+
+    Map<Operacao, Medicoes> executar(int concorrencia, int segundos) throws Exception {
+        long limite = System.nanoTime() + segundos * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia);
+        try {
+            var tarefas = new ArrayList<Future<Map<Operacao, Medicoes>>>();
+            for (int i = 0; i < concorrencia; i++) {
+                tarefas.add(executor.submit(() -> trabalhar(limite)));
+            }
+            var total = new EnumMap<Operacao, Medicoes>(Operacao.class);
+            for (var tarefa : tarefas) {
+                tarefa.get().forEach((operacao, medicoes) -> total.computeIfAbsent(operacao, o -> new Medicoes()).somar(medicoes));
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Operacao, Medicoes> trabalhar(long limite) throws IOException, InterruptedException {
+        var aleatorio = ThreadLocalRandom.current();
+        var medicoes = new EnumMap<Operacao, Medicoes>(Operacao.class);
+        long idUsuario = idsUsuarios.get(aleatorio.nextInt(idsUsuarios.size()));
+        var token = objectMapper.readValue(autenticar(idUsuario).body(), TokenDTO.class).getToken();
+
+        int pesoTotal = Arrays.stream(Operacao.values()).mapToInt(operacao -> operacao.peso).sum();
+        while (System.nanoTime() < limite) {
+            var operacao = sortear(aleatorio.nextInt(pesoTotal));
+            long inicio = System.nanoTime();
+            var resposta = switch (operacao) {
+                case LOGIN -> autenticar(idUsuario);
+                case BUSCAR -> enviar(get("/api/lancamentos?usuario=" + idUsuario + "&ano=" + (2020 + aleatorio.nextInt(3)) + "&tamanho=50", token));
+                case SALDO -> enviar(get("/api/usuarios/" + idUsuario + "/saldo", token));
+                case CRIAR -> enviar(json("/api/lancamentos", token, "POST", LancamentoDTO.builder()
+                        .descricao("Lançamento de carga")
+                        .mes(1 + aleatorio.nextInt(12))
+                        .ano(2020 + aleatorio.nextInt(3))
+                        .valor(BigDecimal.valueOf(1 + aleatorio.nextInt(100_000), 2))
+                        .usuario(idUsuario)
+                        .tipo(aleatorio.nextBoolean() ? "RECEITA" : "DESPESA")
+                        .build()));
+                case ATUALIZAR_STATUS -> {
+                    var ids = lancamentosPorUsuario.get(idUsuario);
+                    var status = aleatorio.nextBoolean() ? "EFETIVADO" : "PENDENTE";
+                    yield enviar(json("/api/lancamentos/" + ids[aleatorio.nextInt(ids.length)] + "/atualiza-status", token, "PUT",
+                            new AtualizaStatusDTO(status)));
+                }
+            };
+            medicoes.computeIfAbsent(operacao, o -> new Medicoes()).registrar(System.nanoTime() - inicio, resposta.statusCode() < 300);
+        }
+        return medicoes;
+    }
+
+    private static Operacao sortear(int sorteio) {
+        for (var operacao : Operacao.values()) {
+            sorteio -= operacao.peso;
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private HttpResponse<String> autenticar(long idUsuario) throws IOException, InterruptedException {
+        var requisicao = json("/api/usuarios/autenticar", null, "POST",
+                UsuarioDTO.builder().email(emails.get(idUsuario)).senha(SENHA).build());
+        return enviar(requisicao);
+    }
+
+    private HttpResponse<String> enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String caminho, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest json(String caminho, String token, String metodo, Object corpo) throws IOException {
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo)));
+        if (token != null) {
+            requisicao.header("Authorization", "Bearer " + token);
+        }
+        return requisicao.build();
+    }
+
+    Map<String, Object> resumir(int concorrencia, Map<Operacao, Medicoes> resultado) {
+        var endpoints = new LinkedHashMap<String, Object>();
+        long requisicoes = 0;
+        for (var entrada : resultado.entrySet()) {
+            var medicoes = entrada.getValue();
+            requisicoes += medicoes.quantidade;
+            var estatisticas = new LinkedHashMap<String, Object>();
+            estatisticas.put("requisicoes", (long) medicoes.quantidade);
+            estatisticas.put("erros", medicoes.erros);
+            estatisticas.put("vazaoPorSegundo", (double) medicoes.quantidade / DURACAO_SEGUNDOS);
+            estatisticas.put("p50Ms", medicoes.percentil(0.50));
+            estatisticas.put("p99Ms", medicoes.percentil(0.99));
+            estatisticas.put("p999Ms", medicoes.percentil(0.999));
+            estatisticas.put("maximoMs", medicoes.percentil(1.0));
+            endpoints.put(entrada.getKey().name(), estatisticas);
+            System.out.printf("c=%-3d %-17s %9.1f req/s  p50 %8.3f ms  p99 %8.3f ms  p999 %8.3f ms  erros %d%n", concorrencia,
+                    entrada.getKey(), estatisticas.get("vazaoPorSegundo"), estatisticas.get("p50Ms"), estatisticas.get("p99Ms"),
+                    estatisticas.get("p999Ms"), medicoes.erros);
+        }
+        var nivel = new LinkedHashMap<String, Object>();
+        nivel.put("concorrencia", concorrencia);
+        nivel.put("vazaoPorSegundo", (double) requisicoes / DURACAO_SEGUNDOS);
+        nivel.put("endpoints", endpoints);
+        return nivel;
+    }
+
+    void popular() {
+        // Um único hash, com o custo configurado, para o login não recriptografar a senha durante a medição.
+        var senhaCriptografada = passwordEncoder.encode(SENHA);
+        var usuarios = new ArrayList<Object[]>(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            usuarios.add(new Object[]{"carga " + i, "carga" + i + "@email.com", senhaCriptografada});
+        }
+        jdbcTemplate.batchUpdate("insert into financas.usuario (nome, email, senha) values (?, ?, ?)", usuarios);
+        jdbcTemplate.query("select id, email from financas.usuario where email like 'carga%'", linha -> {
+            emails.put(linha.getLong(1), linha.getString(2));
+        });
+        idsUsuarios.addAll(emails.keySet());
+
+        var aleatorio = new Random(42);
+        var lancamentos = new ArrayList<Object[]>(idsUsuarios.size() * LANCAMENTOS_POR_USUARIO);
+        for (Long idUsuario : idsUsuarios) {
+            for (int i = 0; i < LANCAMENTOS_POR_USUARIO; i++) {
+                lancamentos.add(new Object[]{"lançamento " + i, 1 + aleatorio.nextInt(12), 2020 + aleatorio.nextInt(3), idUsuario,
+                        BigDecimal.valueOf(1 + aleatorio.nextInt(100_000), 2), LocalDateTime.now(),
+                        aleatorio.nextBoolean() ? "RECEITA" : "DESPESA", aleatorio.nextBoolean() ? "EFETIVADO" : "PENDENTE"});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into financas.lancamento (id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status) " +
+                "values (next value for financas.lancamento_seq, ?, ?, ?, ?, ?, ?, ?, ?)", lancamentos);
+
+        var ids = new HashMap<Long, List<Long>>();
+        jdbcTemplate.query("select id, id_usuario from financas.lancamento", linha -> {
+            ids.computeIfAbsent(linha.getLong(2), id -> new ArrayList<>()).add(linha.getLong(1));
+        });
+        ids.forEach((idUsuario, lista) -> lancamentosPorUsuario.put(idUsuario, lista.stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    /**
+     * Latências de uma operação em nanossegundos, acumuladas por thread e somadas ao final de cada nível.
+     */
+    static class Medicoes {
+
+        long[] latencias = new long[1024];
+        int quantidade;
+        long erros;
+
+        void registrar(long nanos, boolean sucesso) {
+            if (quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = nanos;
+            if (!sucesso) {
+                erros++;
+            }
+        }
+
+        void somar(Medicoes outras) {
+            for (int i = 0; i < outras.quantidade; i++) {
+                registrar(outras.latencias[i], true);
+            }
+            erros += outras.erros;
+        }
+
+        double percentil(double percentil) {
+            if (quantidade == 0) {
+                return 0;
+            }
+            var ordenadas = Arrays.copyOf(latencias, quantidade);
+            Arrays.sort(ordenadas);
+            int indice = Math.max(0, (int) Math.ceil(percentil * quantidade) - 1);
+            return ordenadas[indice] / 1_000_000.0;
+        }
+    }
+}
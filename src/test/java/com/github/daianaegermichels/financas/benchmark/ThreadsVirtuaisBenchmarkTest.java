@@ -0,0 +1,117 @@
+package com.github.daianaegermichels.financas.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.daianaegermichels.financas.FinancasApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compara a vazão da mesma carga de {@link CargaApiBenchmarkTest} com as requisições em threads de plataforma (pool do
+ * Tomcat) e em threads virtuais, com 1000 clientes simultâneos por padrão. Cada modo sobe sua própria aplicação, com
+ * banco H2 próprio e o mesmo tamanho de pool de conexões. Exige Java 21.
+ * Executar com {@code mvn test -Pbenchmark -Dtest=ThreadsVirtuaisBenchmarkTest}.
+ */
+@Tag("benchmark")
+public class ThreadsVirtuaisBenchmarkTest {
+
+    static final int CLIENTES = Integer.getInteger("benchmark.clientes", 1_000);
+    static final int POOL_CONEXOES = Integer.getInteger("benchmark.pool-conexoes", 50);
+    static final String SAIDA = System.getProperty("benchmark.saida", "target/benchmark/threads-virtuais-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+
+    @Test
+    @DisplayName("Benchmark de vazão com threads de plataforma e threads virtuais")
+    public void compararModos() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "threads virtuais exigem Java 21");
+
+        var modos = new LinkedHashMap<String, Map<String, Object>>();
+        modos.put("plataforma", executar(false));
+        modos.put("virtuais", executar(true));
+
+        var relatorio = new LinkedHashMap<String, Object>();
+        relatorio.put("data", LocalDateTime.now().toString());
+        relatorio.put("java", Runtime.version().toString());
+        relatorio.put("clientes", CLIENTES);
+        relatorio.put("poolConexoes", POOL_CONEXOES);
+        relatorio.put("duracaoSegundos", CargaApiBenchmarkTest.DURACAO_SEGUNDOS);
+        relatorio.put("modos", modos);
+        relatorio.put("razaoVazao", (double) modos.get("virtuais").get("vazaoPorSegundo")
+                / (double) modos.get("plataforma").get("vazaoPorSegundo"));
+
+        var arquivo = Path.of(SAIDA);
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        new ObjectMapper().writer(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), relatorio);
+        System.out.println("Resultado gravado em " + arquivo.toAbsolutePath());
+
+        assertThat(modos.values()).allSatisfy(nivel -> assertThat((Map<?, ?>) nivel.get("endpoints")).allSatisfy((operacao, estatisticas) ->
+                assertThat(((Map<?, ?>) estatisticas).get("erros")).as("erros em %s", operacao).isEqualTo(0L)));
+    }
+
+    private Map<String, Object> executar(boolean threadsVirtuais) throws Exception {
+        try (var contexto = new SpringApplicationBuilder(FinancasApplication.class)
+                .profiles("test")
+                .initializers(inicial -> inicial.getBeanFactory().registerSingleton("excluirComponentesDeTeste", new ExcluirComponentesDeTeste()))
+                .run("--server.port=0",
+                        "--financas.execucao.threads-virtuais=" + threadsVirtuais,
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + threadsVirtuais + ";DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_CONEXOES,
+                        "--server.tomcat.max-connections=" + (CLIENTES * 2),
+                        // Compara o modo de execução, não a proteção contra rajadas: nenhum login é recusado por fila cheia.
+                        "--financas.senha.capacidade-fila=" + CLIENTES,
+                        // Todos os clientes fazem login do mesmo IP.
+                        "--financas.login.limite.habilitado=false")) {
+            var carga = new CargaApiBenchmarkTest();
+            carga.porta = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+            carga.jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+            carga.objectMapper = contexto.getBean(ObjectMapper.class);
+            carga.passwordEncoder = contexto.getBean(PasswordEncoder.class);
+            carga.popular();
+            carga.executar(CLIENTES, CargaApiBenchmarkTest.AQUECIMENTO_SEGUNDOS);
+            var nivel = carga.resumir(CLIENTES, carga.executar(CLIENTES, CargaApiBenchmarkTest.DURACAO_SEGUNDOS));
+            nivel.put("threadsVirtuais", threadsVirtuais);
+            return nivel;
+        }
+    }
+
+    /**
+     * Fora de um {@code @SpringBootTest} a varredura da aplicação enxergaria as configurações de teste
+     * ({@code @TestComponent}) do classpath; este filtro faz o papel do que o framework de teste registra.
+     */
+    static class ExcluirComponentesDeTeste extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getAnnotationMetadata().hasAnnotation(TestComponent.class.getName());
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            return outro != null && getClass() == outro.getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
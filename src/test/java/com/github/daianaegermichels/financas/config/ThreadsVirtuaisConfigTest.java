@@ -0,0 +1,40 @@
+package com.github.daianaegermichels.financas.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ThreadsVirtuaisConfigTest {
+
+    @Test
+    @DisplayName("Executor roda as tarefas em threads virtuais nomeadas")
+    public void deveExecutarEmThreadsVirtuais() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21);
+        Method isVirtual = Thread.class.getMethod("isVirtual");
+
+        var executor = ThreadsVirtuaisConfig.criarExecutor("teste-");
+        try {
+            var thread = executor.submit(Thread::currentThread).get();
+
+            assertThat(isVirtual.invoke(thread)).isEqualTo(true);
+            assertThat(thread.getName()).startsWith("teste-");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Sem Java 21 o modo falha na inicialização com mensagem clara")
+    public void deveFalharAntesDoJava21(){
+        assumeTrue(Runtime.version().feature() < 21);
+
+        assertThatThrownBy(() -> ThreadsVirtuaisConfig.criarExecutor("teste-"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+}
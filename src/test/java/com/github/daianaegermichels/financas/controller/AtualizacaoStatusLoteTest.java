@@ -0,0 +1,159 @@
+package com.github.daianaegermichels.financas.controller;
+
+import com.github.daianaegermichels.financas.FinancasApplication;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import com.github.daianaegermichels.financas.service.JwtService;
+import com.github.daianaegermichels.financas.service.LancamentoService;
+import com.github.daianaegermichels.financas.service.LoteLancamentoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+
+/**
+ * {@code PUT /api/lancamentos/lote/atualiza-status} com blocos de um id: o lote inteiro é uma transação e só o dono
+ * dos lançamentos pode alterá-los.
+ */
+@SpringBootTest(classes = FinancasApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "financas.lote.tamanho-transacao=1")
+public class AtualizacaoStatusLoteTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @SpyBean
+    LancamentoService lancamentoService;
+
+    @Autowired
+    LoteLancamentoService loteService;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    SaldoUsuarioRepository saldoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario dono;
+
+    Usuario outro;
+
+    List<Long> lancamentos = new ArrayList<>();
+
+    // Ano corrente, para não aparecer como ano fechado em outros testes que compartilham o banco.
+    int ano = LocalDate.now().getYear();
+
+    @BeforeEach
+    public void setup(){
+        dono = usuarioRepository.save(Usuario.builder().nome("dono").email("lote-dono@email.com").senha("senha").build());
+        outro = usuarioRepository.save(Usuario.builder().nome("outro").email("lote-outro@email.com").senha("senha").build());
+        lancamentos.add(salvar("Aluguel", 1000));
+        lancamentos.add(salvar("Mercado", 300));
+    }
+
+    @AfterEach
+    public void limpar(){
+        lancamentoRepository.deleteAllById(lancamentos);
+        for (Usuario usuario : List.of(dono, outro)) {
+            jdbcTemplate.update("delete from financas.resumo_mensal_lancamento where id_usuario = ?", usuario.getId());
+            saldoRepository.findById(usuario.getId()).ifPresent(saldoRepository::delete);
+            usuarioRepository.delete(usuario);
+        }
+    }
+
+    @Test
+    @DisplayName("Usuário autenticado não altera o status dos lançamentos de outro usuário")
+    public void naoDeveAlterarLancamentosDeOutroUsuario() throws Exception {
+        //ação
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/lancamentos/lote/atualiza-status")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.gerarToken(outro))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usuario\": " + dono.getId() + ", \"status\": \"EFETIVADO\", \"ids\": " + lancamentos + "}"))
+                //verificação
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        assertThat(obterStatus()).containsOnly(StatusLancamento.PENDENTE.name());
+    }
+
+    @Test
+    @DisplayName("Dono altera o status de todos os lançamentos do lote")
+    public void deveAlterarLancamentosDoUsuarioAutenticado() throws Exception {
+        //ação
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/lancamentos/lote/atualiza-status")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.gerarToken(dono))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usuario\": " + dono.getId() + ", \"status\": \"EFETIVADO\", \"ids\": " + lancamentos + "}"))
+                //verificação
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.alterados").value(2));
+
+        assertThat(obterStatus()).containsOnly(StatusLancamento.EFETIVADO.name());
+    }
+
+    @Test
+    @DisplayName("Falha no segundo bloco desfaz também o primeiro")
+    public void deveDesfazerLoteInteiroQuandoUmBlocoFalhar(){
+        //cenário
+        doCallRealMethod()
+                .doThrow(new DataIntegrityViolationException("falha"))
+                .when(lancamentoService).atualizarStatusEmLote(anyLong(), anyList(), any());
+
+        //ação
+        assertThrows(DataIntegrityViolationException.class,
+                () -> loteService.atualizarStatus(dono.getId(), lancamentos, StatusLancamento.EFETIVADO));
+
+        //verificação
+        assertThat(obterStatus()).containsOnly(StatusLancamento.PENDENTE.name());
+        assertThat(saldoRepository.obterSaldo(dono.getId()).orElse(BigDecimal.ZERO)).isEqualByComparingTo("0");
+    }
+
+    private List<String> obterStatus(){
+        return jdbcTemplate.queryForList("select status from financas.lancamento where id_usuario = ?", String.class, dono.getId());
+    }
+
+    private Long salvar(String descricao, int valor){
+        return lancamentoService.salvar(Lancamento.builder().usuario(dono).ano(ano).mes(1)
+                .descricao(descricao).tipo(TipoLancamento.RECEITA).valor(BigDecimal.valueOf(valor)).build()).getId();
+    }
+}
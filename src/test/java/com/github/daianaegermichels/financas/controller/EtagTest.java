@@ -0,0 +1,168 @@
+package com.github.daianaegermichels.financas.controller;
+
+import com.github.daianaegermichels.financas.FinancasApplication;
+import com.github.daianaegermichels.financas.dto.AlteracaoLancamentoDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import com.github.daianaegermichels.financas.service.JwtService;
+import com.github.daianaegermichels.financas.service.LancamentoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * GET condicional: com a ETag ainda válida a resposta é 304 sem chegar à consulta; depois de uma alteração a ETag muda.
+ */
+@SpringBootTest(classes = FinancasApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EtagTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @SpyBean
+    LancamentoService lancamentoService;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    SaldoUsuarioRepository saldoRepository;
+
+    Usuario usuario;
+
+    String token;
+
+    List<Long> lancamentos = new ArrayList<>();
+
+    // Ano corrente, para não aparecer como ano fechado em outros testes que compartilham o banco.
+    int ano = LocalDate.now().getYear();
+
+    @BeforeEach
+    public void setup(){
+        usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("etag@email.com").senha("senha").build());
+        token = jwtService.gerarToken(usuario);
+    }
+
+    @AfterEach
+    public void limpar(){
+        lancamentoRepository.deleteAllById(lancamentos);
+        saldoRepository.findById(usuario.getId()).ifPresent(saldoRepository::delete);
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    @DisplayName("Listagem e saldo sem alteração respondem 304 sem consultar os lançamentos")
+    public void deveResponderNaoModificadoSemConsultar() throws Exception {
+        //cenário
+        salvar("Salário", TipoLancamento.RECEITA, 1000);
+        var listagem = "/api/lancamentos?usuario=" + usuario.getId();
+        var saldo = "/api/usuarios/" + usuario.getId() + "/saldo";
+        var etagListagem = obterEtag(listagem);
+        var etagSaldo = obterEtag(saldo);
+        Mockito.clearInvocations(lancamentoService);
+
+        //ação e verificação
+        naoModificado(listagem, etagListagem);
+        naoModificado(saldo, etagSaldo);
+        naoModificado("/api/usuarios/" + usuario.getId() + "/saldo/mensal?anoInicial=" + ano,
+                obterEtag("/api/usuarios/" + usuario.getId() + "/saldo/mensal?anoInicial=" + ano));
+        verify(lancamentoService, never()).buscarTodos(any());
+        verify(lancamentoService, never()).buscarPagina(any(), any(), any());
+        verify(lancamentoService, never()).obterSaldoPorUsuario(anyLong());
+
+        salvar("Aluguel", TipoLancamento.DESPESA, 400);
+        assertThat(modificado(listagem, etagListagem)).isNotEqualTo(etagListagem);
+        assertThat(modificado(saldo, etagSaldo)).isNotEqualTo(etagSaldo);
+    }
+
+    @Test
+    @DisplayName("Lançamento por id usa a própria versão como ETag")
+    public void deveUsarVersaoDoLancamentoComoEtag() throws Exception {
+        //cenário
+        var lancamento = salvar("Mercado", TipoLancamento.DESPESA, 30);
+        var recurso = "/api/lancamentos/" + lancamento.getId();
+        var etag = obterEtag(recurso);
+        Mockito.clearInvocations(lancamentoService);
+
+        //ação e verificação
+        naoModificado(recurso, etag);
+        verify(lancamentoService, never()).obterResumoPorId(anyLong());
+
+        // Outro lançamento do usuário não invalida este.
+        salvar("Padaria", TipoLancamento.DESPESA, 10);
+        naoModificado(recurso, etag);
+
+        var versao = lancamentoRepository.obterVersao(lancamento.getId()).orElseThrow();
+        lancamentoService.atualizarParcial(lancamento.getId(),
+                AlteracaoLancamentoDTO.builder().usuario(usuario.getId()).versao(versao).descricao("Mercado central").build());
+        assertThat(modificado(recurso, etag)).isNotEqualTo(etag);
+    }
+
+    private String obterEtag(String uri) throws Exception {
+        var etag = mockMvc.perform(MockMvcRequestBuilders.get(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private void naoModificado(String uri, String etag) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    private String modificado(String uri, String etag) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get(uri)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Lancamento salvar(String descricao, TipoLancamento tipo, int valor){
+        var lancamento = lancamentoService.salvar(Lancamento.builder().usuario(usuario).ano(ano).mes(1)
+                .descricao(descricao).tipo(tipo).valor(BigDecimal.valueOf(valor)).build());
+        lancamentoService.atualizarStatus(lancamento, StatusLancamento.EFETIVADO);
+        lancamentos.add(lancamento.getId());
+        return lancamento;
+    }
+}
@@ -0,0 +1,210 @@
+package com.github.daianaegermichels.financas.controller;
+
+import com.github.daianaegermichels.financas.FinancasApplication;
+import com.github.daianaegermichels.financas.api.reativo.ServidorReativo;
+import com.github.daianaegermichels.financas.dto.CursorLancamento;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.LeituraReativaRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import com.github.daianaegermichels.financas.service.JwtService;
+import com.github.daianaegermichels.financas.service.LancamentoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe a aplicação com a API reativa em porta aleatória e confere as leituras contra o mesmo H2 usado pelo JPA.
+ */
+@SpringBootTest(classes = FinancasApplication.class)
+@ActiveProfiles("test")
+public class LeituraReativaTest {
+
+    @Autowired
+    ServidorReativo servidorReativo;
+
+    @Autowired
+    LeituraReativaRepository leituraReativaRepository;
+
+    @Autowired
+    LancamentoService lancamentoService;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    SaldoUsuarioRepository saldoRepository;
+
+    WebTestClient cliente;
+
+    Usuario usuario;
+
+    String token;
+
+    List<Lancamento> lancamentos = new ArrayList<>();
+
+    // Ano corrente, para não aparecer como ano fechado em outros testes que compartilham o banco.
+    int ano = LocalDate.now().getYear();
+
+    @BeforeEach
+    public void setup(){
+        cliente = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + servidorReativo.getPorta())
+                .responseTimeout(Duration.ofSeconds(10))
+                .build();
+        usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("reativo@email.com").senha("senha").build());
+        token = jwtService.gerarToken(usuario);
+    }
+
+    @AfterEach
+    public void limpar(){
+        // Por id: as instâncias guardadas ficaram com a versão anterior à efetivação.
+        lancamentoRepository.deleteAllById(lancamentos.stream().map(Lancamento::getId).toList());
+        saldoRepository.findById(usuario.getId()).ifPresent(saldoRepository::delete);
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    @DisplayName("Leitura reativa sem token é rejeitada")
+    public void deveRejeitarSemToken(){
+        cliente.get().uri("/api/lancamentos?usuario={id}", usuario.getId())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        cliente.get().uri("/api/usuarios/{id}/saldo", usuario.getId())
+                .header("Authorization", "Bearer invalido")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Busca reativa transmite os lançamentos em NDJSON na ordem da paginação")
+    public void deveTransmitirLancamentosEmNdjson(){
+        //cenário
+        var terceiro = salvar(3, "Mercado", TipoLancamento.DESPESA, 30);
+        var primeiro = salvar(1, "Salário", TipoLancamento.RECEITA, 1000);
+        var segundo = salvar(2, "Mercado do bairro", TipoLancamento.DESPESA, 20);
+
+        //ação
+        var todos = buscar("/api/lancamentos?usuario={id}", usuario.getId());
+        var porDescricao = buscar("/api/lancamentos?usuario={id}&descricao=mercado", usuario.getId());
+        var aposCursor = buscar("/api/lancamentos?usuario={id}&cursor={cursor}&tamanho=1", usuario.getId(),
+                new CursorLancamento(ano, 1, primeiro.getId()).codificar());
+
+        //verificação
+        assertThat(todos).extracting(LancamentoDTO::getId).containsExactly(primeiro.getId(), segundo.getId(), terceiro.getId());
+        assertThat(todos.get(0).getTipo()).isEqualTo("RECEITA");
+        assertThat(todos.get(0).getValor()).isEqualByComparingTo("1000");
+        assertThat(porDescricao).extracting(LancamentoDTO::getId).containsExactly(segundo.getId(), terceiro.getId());
+        assertThat(aposCursor).extracting(LancamentoDTO::getId).containsExactly(segundo.getId());
+    }
+
+    @Test
+    @DisplayName("Busca reativa valida usuário e cursor como a busca servlet")
+    public void deveValidarParametrosDaBusca(){
+        cliente.get().uri("/api/lancamentos?usuario={id}", -1)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado!");
+
+        cliente.get().uri("/api/lancamentos?usuario={id}&cursor=invalido", usuario.getId())
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Cursor de paginação inválido!");
+    }
+
+    @Test
+    @DisplayName("Fluxo da busca reativa respeita a demanda do assinante")
+    public void deveRespeitarDemandaDoAssinante(){
+        for (int mes = 1; mes <= 5; mes++) {
+            salvar(mes, "Lançamento " + mes, TipoLancamento.DESPESA, mes);
+        }
+
+        StepVerifier.create(leituraReativaRepository.buscar(usuario.getId(), null, null, null, null, null), 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Leitura reativa por id e de saldo")
+    public void deveObterLancamentoESaldo(){
+        //cenário
+        var receita = salvar(1, "Salário", TipoLancamento.RECEITA, 1000);
+        salvar(2, "Aluguel", TipoLancamento.DESPESA, 400);
+
+        //verificação
+        cliente.get().uri("/api/lancamentos/{id}", receita.getId())
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LancamentoDTO.class)
+                .value(lancamento -> assertThat(lancamento.getDescricao()).isEqualTo("Salário"));
+
+        cliente.get().uri("/api/lancamentos/{id}", -1)
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        cliente.get().uri("/api/usuarios/{id}/saldo", usuario.getId())
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BigDecimal.class)
+                .value(saldo -> assertThat(saldo).isEqualByComparingTo("600"));
+    }
+
+    private List<LancamentoDTO> buscar(String uri, Object... variaveis){
+        return cliente.get().uri(uri, variaveis)
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(LancamentoDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+
+    private Lancamento salvar(int mes, String descricao, TipoLancamento tipo, int valor){
+        var lancamento = lancamentoService.salvar(Lancamento.builder().usuario(usuario).ano(ano).mes(mes)
+                .descricao(descricao).tipo(tipo).valor(BigDecimal.valueOf(valor)).build());
+        lancamentoService.atualizarStatus(lancamento, StatusLancamento.EFETIVADO);
+        lancamentos.add(lancamento);
+        return lancamento;
+    }
+}
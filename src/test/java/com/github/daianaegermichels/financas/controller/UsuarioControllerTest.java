@@ -6,7 +6,10 @@ import com.github.daianaegermichels.financas.dto.UsuarioDTO;
 import com.github.daianaegermichels.financas.exception.ErroAutenticacao;
 import com.github.daianaegermichels.financas.exception.RegraNegocioException;
 import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.service.ContadorAlteracoes;
 import com.github.daianaegermichels.financas.service.LancamentoService;
+import com.github.daianaegermichels.financas.service.LimiteTentativasLogin;
+import com.github.daianaegermichels.financas.service.ResumoMensalService;
 import com.github.daianaegermichels.financas.service.UsuarioService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,6 +46,15 @@ public class UsuarioControllerTest {
     @MockBean
     private LancamentoService lancamentoService;
 
+    @MockBean
+    private LimiteTentativasLogin limiteTentativasLogin;
+
+    @MockBean
+    private ContadorAlteracoes contadorAlteracoes;
+
+    @MockBean
+    private ResumoMensalService resumoMensalService;
+
     @Test
     @DisplayName("Autenticação usuário - ok")
     public void deveAutenticarUmUsuario() throws Exception {
@@ -0,0 +1,86 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import com.github.daianaegermichels.financas.enuns.FormatoExtrato;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class LeitorExtratoTest {
+
+    @Test
+    @DisplayName("Lê CSV com ponto e vírgula, vírgula decimal e campos entre aspas")
+    public void deveLerCsv() throws Exception {
+        //cenário
+        var conteudo = "Data;Descrição;Valor\n" +
+                "15/03/2022;\"Mercado; feira\";-1.234,56\n" +
+                "\n" +
+                "16/03/2022;Salário;5000,00\n" +
+                "xx;Inválida;10\n";
+
+        //ação
+        var linhas = ler(FormatoExtrato.CSV, conteudo);
+
+        //verificação
+        assertThat(linhas).hasSize(3);
+        assertThat(linhas.get(0).getSequencia()).isEqualTo(1);
+        assertThat(linhas.get(0).getData()).isEqualTo(LocalDate.of(2022, 3, 15));
+        assertThat(linhas.get(0).getDescricao()).isEqualTo("Mercado; feira");
+        assertThat(linhas.get(0).getValor()).isEqualByComparingTo(new BigDecimal("-1234.56"));
+        assertThat(linhas.get(1).getValor()).isEqualByComparingTo(new BigDecimal("5000"));
+        assertThat(linhas.get(2).getSequencia()).isEqualTo(3);
+        assertThat(linhas.get(2).getErro()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("CSV sem as colunas obrigatórias é rejeitado")
+    public void deveRejeitarCsvSemColunasObrigatorias() {
+        //ação
+        var erro = catchThrowable(() -> ler(FormatoExtrato.CSV, "data,historico\n2022-03-15,Mercado\n"));
+
+        //verificação
+        assertThat(erro).isInstanceOf(RegraNegocioException.class);
+    }
+
+    @Test
+    @DisplayName("Lê os movimentos de um OFX em SGML")
+    public void deveLerOfx() throws Exception {
+        //cenário
+        var conteudo = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n" +
+                "<DTSTART>20220301\n" +
+                "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20220315120000[-3:BRT]\n<TRNAMT>-50.00\n<FITID>A1\n<MEMO>Padaria &amp; Café\n</STMTTRN>\n" +
+                "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20220320<TRNAMT>1500,00<FITID>A2<NAME>Salário</STMTTRN>\n" +
+                "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+
+        //ação
+        var linhas = ler(FormatoExtrato.OFX, conteudo);
+
+        //verificação
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas.get(0).getData()).isEqualTo(LocalDate.of(2022, 3, 15));
+        assertThat(linhas.get(0).getValor()).isEqualByComparingTo(new BigDecimal("-50"));
+        assertThat(linhas.get(0).getDescricao()).isEqualTo("Padaria & Café");
+        assertThat(linhas.get(0).chaveConteudo()).isEqualTo("id:A1");
+        assertThat(linhas.get(1).getDescricao()).isEqualTo("Salário");
+        assertThat(linhas.get(1).getValor()).isEqualByComparingTo(new BigDecimal("1500"));
+    }
+
+    private List<LinhaExtrato> ler(FormatoExtrato formato, String conteudo) throws Exception {
+        var linhas = new ArrayList<LinhaExtrato>();
+        try (var leitor = LeitorExtrato.abrir(formato, new StringReader(conteudo))) {
+            LinhaExtrato linha;
+            while ((linha = leitor.proxima()) != null) {
+                linhas.add(linha);
+            }
+        }
+        return linhas;
+    }
+}
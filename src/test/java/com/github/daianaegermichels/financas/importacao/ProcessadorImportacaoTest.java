@@ -0,0 +1,182 @@
+package com.github.daianaegermichels.financas.importacao;
+
+import com.github.daianaegermichels.financas.enuns.FormatoExtrato;
+import com.github.daianaegermichels.financas.model.ImportacaoExtrato;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.ImportacaoExtratoRepository;
+import com.github.daianaegermichels.financas.repository.LancamentoImportadoRepository;
+import com.github.daianaegermichels.financas.service.LancamentoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ProcessadorImportacaoTest {
+
+    @Mock
+    LancamentoService lancamentoService;
+
+    @Mock
+    ImportacaoExtratoRepository importacaoRepository;
+
+    @Mock
+    LancamentoImportadoRepository importadoRepository;
+
+    @TempDir
+    Path diretorio;
+
+    ProcessadorImportacao processador;
+
+    // Lançamentos recebidos por salvarTodos, na ordem das chamadas.
+    List<Lancamento> gravados = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setup(){
+        MockitoAnnotations.openMocks(this);
+        processador = new ProcessadorImportacao(lancamentoService, importacaoRepository, importadoRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(processador, "tamanhoBloco", 3);
+        ReflectionTestUtils.setField(processador, "capacidadeFila", 4);
+        ReflectionTestUtils.setField(processador, "threadsValidacao", 4);
+        when(lancamentoService.salvarTodos(anyList())).thenAnswer(invocacao -> {
+            List<Lancamento> lancamentos = invocacao.getArgument(0);
+            gravados.addAll(lancamentos);
+            return lancamentos;
+        });
+    }
+
+    @Test
+    @DisplayName("Movimentos convertidos em paralelo são gravados na ordem do arquivo, em blocos")
+    public void deveGravarNaOrdemDoArquivo() throws Exception {
+        //cenário
+        var importacao = criarImportacao(movimentos(10), null);
+
+        //ação
+        processador.processar(importacao);
+
+        //verificação
+        assertThat(gravados).extracting(Lancamento::getDescricao)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 10).mapToObj(i -> "Movimento " + i).collect(Collectors.toList()));
+        var ordem = inOrder(importacaoRepository);
+        for (long sequencia : new long[]{3, 6, 9, 10}) {
+            ordem.verify(importacaoRepository).registrarProgresso(eq(1L), eq(sequencia), anyLong(), anyLong(), anyLong(), anyLong(), any());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Movimento com hash já importado é contado como duplicado e não é gravado")
+    public void deveIgnorarMovimentosJaImportados() throws Exception {
+        //cenário: o primeiro hash consultado já existe para o usuário
+        var importacao = criarImportacao(movimentos(3), null);
+        when(importadoRepository.obterHashesExistentes(eq(1L), anyCollection()))
+                .thenAnswer(invocacao -> List.of(((Collection<String>) invocacao.getArgument(1)).iterator().next()));
+
+        //ação
+        processador.processar(importacao);
+
+        //verificação
+        assertThat(gravados).extracting(Lancamento::getDescricao).containsExactly("Movimento 2", "Movimento 3");
+        verify(importacaoRepository).registrarProgresso(eq(1L), eq(3L), eq(3L), eq(2L), eq(1L), eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Importação retomada começa depois da última sequência gravada")
+    public void deveRetomarAposUltimaSequencia() throws Exception {
+        //cenário
+        var importacao = criarImportacao(movimentos(5), 3L);
+
+        //ação
+        processador.processar(importacao);
+
+        //verificação
+        assertThat(gravados).extracting(Lancamento::getDescricao).containsExactly("Movimento 4", "Movimento 5");
+        verify(importacaoRepository).registrarProgresso(eq(1L), eq(5L), eq(2L), eq(2L), eq(0L), eq(0L), any());
+        verify(lancamentoService, times(2)).validar(any());
+    }
+
+    @Test
+    @DisplayName("Com a gravação parada, a leitura não passa da capacidade da fila")
+    public void deveLimitarMovimentosEmTransito() throws Exception {
+        //cenário: o primeiro bloco (1 movimento) fica preso na gravação
+        ReflectionTestUtils.setField(processador, "tamanhoBloco", 1);
+        ReflectionTestUtils.setField(processador, "capacidadeFila", 2);
+        var importacao = criarImportacao(movimentos(20), null);
+        var validados = new AtomicInteger();
+        doAnswer(invocacao -> validados.incrementAndGet()).when(lancamentoService).validar(any());
+        var liberar = new CountDownLatch(1);
+        when(lancamentoService.salvarTodos(anyList())).thenAnswer(invocacao -> {
+            liberar.await(10, TimeUnit.SECONDS);
+            List<Lancamento> lancamentos = invocacao.getArgument(0);
+            gravados.addAll(lancamentos);
+            return lancamentos;
+        });
+
+        //ação
+        var processamento = CompletableFuture.runAsync(() -> {
+            try {
+                processador.processar(importacao);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // espera a leitura encher a fila e dá tempo para que, sem o limite, ela seguisse adiante
+        for (int i = 0; i < 100 && validados.get() < 3; i++) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(300);
+        var validadosComGravacaoParada = validados.get();
+        liberar.countDown();
+        processamento.get(10, TimeUnit.SECONDS);
+
+        //verificação: o movimento no bloco parado mais as 2 vagas da fila
+        assertThat(validadosComGravacaoParada).isEqualTo(3);
+        assertThat(gravados).hasSize(20);
+    }
+
+    private String movimentos(int quantidade){
+        var conteudo = new StringBuilder("Data;Descrição;Valor\n");
+        for (int i = 1; i <= quantidade; i++) {
+            conteudo.append("15/03/2022;Movimento ").append(i).append(";-").append(i).append(",00\n");
+        }
+        return conteudo.toString();
+    }
+
+    private ImportacaoExtrato criarImportacao(String conteudo, Long ultimaSequencia) throws Exception {
+        var arquivo = Files.writeString(diretorio.resolve("extrato.csv"), conteudo);
+        return ImportacaoExtrato.builder()
+                .id(1L)
+                .usuario(Usuario.builder().id(1L).build())
+                .caminhoArquivo(arquivo.toString())
+                .formato(FormatoExtrato.CSV)
+                .ultimaSequencia(ultimaSequencia)
+                .build();
+    }
+}
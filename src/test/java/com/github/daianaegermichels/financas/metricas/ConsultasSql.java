@@ -0,0 +1,28 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verificação da quantidade de comandos SQL de uma operação em testes de persistência. O contexto precisa importar
+ * {@code ContadorSqlConfig}. Como o Hibernate adia escritas até o flush, a operação deve incluí-lo quando houver.
+ */
+public final class ConsultasSql {
+
+    private ConsultasSql() {
+    }
+
+    public static ContadorSql contar(Runnable operacao) {
+        var contador = ContadorSql.iniciar();
+        try {
+            operacao.run();
+            return contador;
+        } finally {
+            ContadorSql.encerrar();
+        }
+    }
+
+    public static void assertComandos(long esperados, Runnable operacao) {
+        var contador = contar(operacao);
+        assertThat(contador.getComandos()).as("comandos SQL executados").isEqualTo(esperados);
+    }
+}
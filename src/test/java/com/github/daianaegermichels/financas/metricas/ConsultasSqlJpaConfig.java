@@ -0,0 +1,19 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import com.github.daianaegermichels.financas.config.ContadorSqlConfig;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Contexto JPA com o {@code DataSource} instrumentado, para testes que fixam a quantidade de comandos SQL.
+ */
+@SpringBootConfiguration
+@TestComponent
+@EntityScan("com.github.daianaegermichels.financas.model")
+@EnableJpaRepositories("com.github.daianaegermichels.financas.repository")
+@Import(ContadorSqlConfig.class)
+public class ConsultasSqlJpaConfig {
+}
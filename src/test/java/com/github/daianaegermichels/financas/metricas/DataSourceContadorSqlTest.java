@@ -0,0 +1,79 @@
+package com.github.daianaegermichels.financas.metricas;
+
+import com.github.daianaegermichels.financas.exception.OrcamentoSqlExcedidoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class DataSourceContadorSqlTest {
+
+    SingleConnectionDataSource dataSource;
+
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup(){
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:contador;DB_CLOSE_DELAY=-1", "sa", "sa", true);
+        jdbcTemplate = new JdbcTemplate(new DataSourceContadorSql(dataSource));
+        jdbcTemplate.execute("create table item (id bigint primary key, nome varchar(50))");
+    }
+
+    @AfterEach
+    public void encerrar(){
+        ContadorSql.encerrar();
+        jdbcTemplate.execute("drop table item");
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Conta comandos e linhas lidas e alteradas na requisição corrente")
+    public void deveContarComandosELinhas(){
+        //cenário
+        var contador = ContadorSql.iniciar();
+
+        //ação
+        jdbcTemplate.batchUpdate("insert into item (id, nome) values (?, ?)", List.of(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+        var nomes = jdbcTemplate.queryForList("select nome from item where id < 3", String.class);
+        jdbcTemplate.update("update item set nome = 'x' where id > 1");
+
+        //verificação
+        assertThat(nomes).hasSize(2);
+        assertThat(contador.getComandos()).isEqualTo(3);
+        assertThat(contador.getLinhas()).isEqualTo(3 + 2 + 2);
+    }
+
+    @Test
+    @DisplayName("Comando acima do orçamento é rejeitado antes de executar")
+    public void deveRejeitarComandoAcimaDoOrcamento(){
+        //cenário
+        var contador = ContadorSql.iniciar();
+        contador.definirOrcamento(1, true);
+        jdbcTemplate.update("insert into item (id, nome) values (1, 'a')");
+
+        //ação
+        var erro = catchThrowable(() -> jdbcTemplate.update("insert into item (id, nome) values (2, 'b')"));
+
+        //verificação
+        assertThat(erro).isInstanceOf(OrcamentoSqlExcedidoException.class);
+        ContadorSql.encerrar();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from item", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Fora de uma requisição nada é contado")
+    public void naoDeveContarSemContadorAberto(){
+        //ação
+        jdbcTemplate.queryForList("select nome from item", String.class);
+
+        //verificação
+        assertThat(ContadorSql.atual()).isNull();
+    }
+}
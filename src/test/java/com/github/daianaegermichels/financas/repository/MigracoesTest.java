@@ -0,0 +1,116 @@
+package com.github.daianaegermichels.financas.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aplica as migrações em um H2 vazio. O contexto só sobe se o Hibernate validar o esquema resultante contra as
+ * entidades ({@code ddl-auto=validate}). Uma base no esquema anterior às migrações deve chegar ao mesmo resultado.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+public class MigracoesTest {
+
+    @SpringBootConfiguration
+    @EntityScan("com.github.daianaegermichels.financas.model")
+    @EnableJpaRepositories("com.github.daianaegermichels.financas.repository")
+    static class Configuracao {
+    }
+
+    @Autowired
+    Flyway flyway;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Todas as migrações são aplicadas com sucesso")
+    public void deveAplicarMigracoes(){
+        var aplicadas = Arrays.stream(flyway.info().applied())
+                .filter(migracao -> migracao.getVersion() != null)
+                .map(migracao -> migracao.getVersion().getVersion())
+                .toList();
+
+        assertThat(aplicadas).containsExactly("1", "1.1", "1.2", "1.3", "2", "5", "6", "7", "8", "9");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Base criada pelo Hibernate antes das migrações recebe baseline e chega ao mesmo esquema")
+    public void deveMigrarBaseAnteriorAsMigracoes(){
+        //cenário: esquema e dados como o ddl-auto=update deixava antes da adoção das migrações
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:anterior;DB_CLOSE_DELAY=-1", "sa", "sa");
+        var anterior = new JdbcTemplate(dataSource);
+        try {
+            anterior.execute("create schema financas");
+            anterior.execute("create table financas.usuario (id bigint generated by default as identity, email varchar(255), " +
+                    "nome varchar(255), senha varchar(255), primary key (id))");
+            anterior.execute("create table financas.lancamento (id bigint generated by default as identity, ano integer, " +
+                    "data_cadastro timestamp, descricao varchar(255), mes integer, status varchar(255), tipo varchar(255), " +
+                    "valor numeric(19,2), id_usuario bigint, primary key (id))");
+            anterior.execute("alter table financas.lancamento add constraint FKbs3gtkd9w4w3cm3fqn5h6jsda " +
+                    "foreign key (id_usuario) references financas.usuario");
+            anterior.update("insert into financas.usuario (email, nome, senha) values ('anterior@email.com', 'anterior', 'senha')");
+            anterior.update("insert into financas.lancamento (ano, mes, descricao, valor, tipo, status, id_usuario) " +
+                    "select 2021, 3, 'Aluguel', 900, 'DESPESA', 'EFETIVADO', id from financas.usuario");
+
+            //ação
+            var migracao = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2").schemas("FINANCAS")
+                    .baselineOnMigrate(true).baselineVersion("1").load();
+            migracao.migrate();
+
+            //verificação
+            var aplicadas = Arrays.stream(migracao.info().applied())
+                    .map(aplicada -> aplicada.getType().name() + " " + aplicada.getVersion().getVersion())
+                    .toList();
+            assertThat(aplicadas).containsExactly("BASELINE 1", "SQL 1.1", "SQL 1.2", "SQL 1.3", "SQL 2", "SQL 5", "SQL 6",
+                    "SQL 7", "SQL 8", "SQL 9");
+            assertThat(colunas(anterior)).isEqualTo(colunas(jdbcTemplate));
+            assertThat(anterior.queryForObject("select count(*) from information_schema.sequences " +
+                    "where sequence_schema = 'FINANCAS' and sequence_name = 'LANCAMENTO_SEQ'", Long.class)).isEqualTo(1L);
+            assertThat(anterior.queryForObject("select descricao from financas.lancamento", String.class)).isEqualTo("Aluguel");
+        } finally {
+            anterior.execute("drop all objects");
+        }
+    }
+
+    @Test
+    @DisplayName("Consultas de saldo e de listagem por usuário usam os índices criados")
+    public void deveUsarIndicesNasConsultasPorUsuario(){
+        var planoSaldo = explicar("select tipo, sum(valor) from financas.lancamento " +
+                "where id_usuario = 1 and status = 'EFETIVADO' group by tipo");
+        var planoSaldoPorTipo = explicar("select sum(valor) from financas.lancamento " +
+                "where id_usuario = 1 and tipo = 'RECEITA' and status = 'EFETIVADO'");
+        var indicesPeriodo = jdbcTemplate.queryForObject("select count(*) from information_schema.indexes " +
+                "where table_schema = 'FINANCAS' and index_name = 'IDX_LANCAMENTO_USUARIO_PERIODO'", Long.class);
+
+        assertThat(planoSaldo).containsIgnoringCase("idx_lancamento_usuario_status_tipo");
+        assertThat(planoSaldoPorTipo).containsIgnoringCase("idx_lancamento_usuario_status_tipo");
+        // Com a tabela vazia o H2 prefere o índice da chave estrangeira na listagem; basta garantir que o índice existe.
+        assertThat(indicesPeriodo).isEqualTo(1L);
+    }
+
+    private static List<Map<String, Object>> colunas(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList("select table_name, column_name, data_type, is_nullable from information_schema.columns " +
+                "where table_schema = 'FINANCAS' and lower(table_name) <> 'flyway_schema_history' order by table_name, column_name");
+    }
+
+    private String explicar(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.config.BuscaTextoConfig;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.metricas.ConsultasSqlJpaConfig;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.ResumoLancamentoArquivadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arquiva um ano no H2 e confere que saldo, relatório mensal e leitura por id continuam iguais.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = ConsultasSqlJpaConfig.class)
+@Import({ArquivamentoServiceImpl.class, LancamentoServiceImpl.class, SaldoServiceImpl.class, ContadorAlteracoes.class, ResumoMensalServiceImpl.class, BuscaTextoConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ArquivamentoServiceTest {
+
+    @Autowired
+    ArquivamentoService arquivamentoService;
+
+    @Autowired
+    LancamentoService lancamentoService;
+
+    @Autowired
+    SaldoService saldoService;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    ResumoLancamentoArquivadoRepository resumoRepository;
+
+    @Autowired
+    BuscaTextoService buscaTextoService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    Usuario usuario;
+
+    @BeforeEach
+    public void setup(){
+        usuario = entityManager.persist(Usuario.builder().nome("usuario").email("arquivamento@email.com").senha("senha").build());
+    }
+
+    @Test
+    @DisplayName("Arquivar um ano mantém saldo, relatório mensal e leitura por id")
+    public void deveArquivarAnoSemAlterarSaldoERelatorio(){
+        //cenário
+        var receita = salvar(2019, 3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1000);
+        salvar(2019, 3, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 300);
+        salvar(2019, 7, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 50);
+        salvar(2020, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 100);
+        var saldoAntes = saldoService.obterSaldo(usuario.getId());
+        var relatorioAntes = lancamentoService.obterSaldoMensalPorUsuario(usuario.getId(), 2019, 2020, null);
+
+        //ação
+        var arquivados = arquivamentoService.arquivar(usuario.getId(), 2019);
+        entityManager.flush();
+        entityManager.clear();
+
+        //verificação
+        assertThat(arquivados).isEqualTo(3);
+        assertThat(lancamentoRepository.obterAnosAnterioresA(2021)).containsExactly(2020);
+        assertThat(resumoRepository.count()).isEqualTo(3);
+        assertThat(lancamentoService.obterSaldoMensalPorUsuario(usuario.getId(), 2019, 2020, null)).isEqualTo(relatorioAntes);
+        saldoService.recalcular(usuario.getId());
+        assertThat(saldoService.obterSaldo(usuario.getId())).isEqualByComparingTo(saldoAntes);
+        assertThat(saldoService.buscarDivergencias()).isEmpty();
+        assertThat(lancamentoService.obterResumoPorId(receita.getId())).hasValueSatisfying(dto -> assertThat(dto.getAno()).isEqualTo(2019));
+        assertThat(lancamentoService.buscarArquivados(usuario.getId(), 2019, 3)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Lançamentos criados em ano já arquivado são somados aos resumos existentes")
+    public void deveAcumularNosResumosAoArquivarNovamente(){
+        //cenário
+        salvar(2019, 3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1000);
+        arquivamentoService.arquivar(usuario.getId(), 2019);
+        salvar(2019, 3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 500);
+
+        //ação
+        arquivamentoService.arquivar(usuario.getId(), 2019);
+        entityManager.flush();
+        entityManager.clear();
+
+        //verificação
+        var resumos = resumoRepository.findAll();
+        assertThat(resumos).hasSize(1);
+        assertThat(resumos.get(0).getTotal()).isEqualByComparingTo(BigDecimal.valueOf(1500));
+        assertThat(resumos.get(0).getQuantidade()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Lançamentos arquivados deixam de aparecer na busca textual")
+    public void deveRemoverArquivadosDaBuscaTextual(){
+        //cenário: o índice do usuário é carregado antes do arquivamento e tudo é confirmado
+        var arquivado = salvar(2018, 5, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 80);
+        salvar(2018, 6, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 40);
+        assertThat(buscaTextoService.buscar(usuario.getId(), "lançamento", true, 10)).contains(arquivado.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        try {
+            //ação: transação própria do serviço, confirmada ao final
+            arquivamentoService.arquivar(usuario.getId(), 2018);
+
+            //verificação
+            assertThat(buscaTextoService.buscar(usuario.getId(), "lançamento", true, 10)).isEmpty();
+        } finally {
+            for (String tabela : new String[]{"lancamento_arquivado", "resumo_lancamento_arquivado", "resumo_mensal_lancamento", "saldo_usuario", "lancamento"}) {
+                jdbcTemplate.update("delete from financas." + tabela + " where id_usuario = ?", usuario.getId());
+            }
+            jdbcTemplate.update("delete from financas.usuario where id = ?", usuario.getId());
+        }
+    }
+
+    private Lancamento salvar(int ano, int mes, TipoLancamento tipo, StatusLancamento status, int valor){
+        var lancamento = lancamentoService.salvar(Lancamento.builder()
+                .descricao("Lançamento " + ano + "/" + mes)
+                .ano(ano)
+                .mes(mes)
+                .valor(BigDecimal.valueOf(valor))
+                .tipo(tipo)
+                .usuario(usuario)
+                .build());
+        if (status != StatusLancamento.PENDENTE) {
+            lancamentoService.atualizarStatus(lancamento, status);
+        }
+        entityManager.flush();
+        return lancamento;
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.github.daianaegermichels.financas.service.UsuarioServiceTest.criarUsuario;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+public class BuscaTextoMemoriaServiceTest {
+
+    @Mock
+    LancamentoRepository repository;
+
+    BuscaTextoMemoriaService buscaTextoService;
+
+    @BeforeEach
+    public void setup(){
+        MockitoAnnotations.openMocks(this);
+        buscaTextoService = new BuscaTextoMemoriaService(repository, 10);
+        when(repository.obterDescricoesPorUsuario(1L)).thenReturn(List.of(
+                new Object[]{1L, 2022, 3, "Conta de energia elétrica"},
+                new Object[]{2L, 2022, 1, "Energia solar - energia extra"},
+                new Object[]{3L, 2021, 5, "Mercado"}));
+    }
+
+    @Test
+    @DisplayName("Busca ordenada por relevância")
+    public void deveOrdenarPorRelevancia(){
+        //execução
+        var ids = buscaTextoService.buscar(1L, "energia", true, 10);
+
+        //verificação
+        assertThat(ids).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Busca ordenada por data")
+    public void deveOrdenarPorAnoEMes(){
+        //execução
+        var ids = buscaTextoService.buscar(1L, "energia", false, 10);
+
+        //verificação
+        assertThat(ids).containsExactly(2L, 1L);
+        assertThat(buscaTextoService.buscar(1L, "ENERGIA ELETRICA", false, 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Busca por prefixo e sem acentos")
+    public void deveEncontrarPorPrefixoIgnorandoAcentos(){
+        //execução
+        var ids = buscaTextoService.buscar(1L, "elétr", true, 10);
+
+        //verificação
+        assertThat(ids).containsExactly(1L);
+        assertThat(buscaTextoService.buscar(1L, "aluguel", true, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Índice acompanha alterações e exclusões")
+    public void deveAtualizarIndiceQuandoLancamentoForAlteradoOuRemovido(){
+        //cenário
+        buscaTextoService.buscar(1L, "mercado", true, 10);
+        var lancamento = Lancamento.builder().id(3L).ano(2021).mes(5).descricao("Farmácia").usuario(criarUsuario()).build();
+
+        //execução
+        buscaTextoService.indexar(lancamento);
+        buscaTextoService.remover(1L, 1L);
+
+        //verificação
+        assertThat(buscaTextoService.buscar(1L, "mercado", true, 10)).isEmpty();
+        assertThat(buscaTextoService.buscar(1L, "farmacia", true, 10)).containsExactly(3L);
+        assertThat(buscaTextoService.buscar(1L, "energia", true, 10)).containsExactly(2L);
+        verify(repository, times(1)).obterDescricoesPorUsuario(1L);
+    }
+}
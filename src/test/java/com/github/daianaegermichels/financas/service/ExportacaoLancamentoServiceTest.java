@@ -0,0 +1,89 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.enuns.FormatoExportacao;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+public class ExportacaoLancamentoServiceTest {
+
+    @Mock
+    LancamentoRepository repository;
+
+    ExportacaoLancamentoServiceImpl exportacaoService;
+
+    AtomicBoolean fechado = new AtomicBoolean();
+
+    @BeforeEach
+    public void setup(){
+        MockitoAnnotations.openMocks(this);
+        exportacaoService = new ExportacaoLancamentoServiceImpl(repository, new ObjectMapper());
+        ReflectionTestUtils.setField(exportacaoService, "tamanhoBloco", 1);
+        when(repository.percorrer(any(), anyInt())).thenReturn(Stream.of(
+                criarLancamento(1L, "Salário"),
+                criarLancamento(2L, "Mercado, \"feira\"")).onClose(() -> fechado.set(true)));
+    }
+
+    @Test
+    @DisplayName("Exporta CSV com cabeçalho e descrição escapada")
+    public void deveExportarCsv() throws Exception {
+        //cenário
+        var saida = new ByteArrayOutputStream();
+
+        //ação
+        var linhas = exportacaoService.exportar(new Lancamento(), FormatoExportacao.CSV, saida);
+
+        //verificação
+        assertThat(linhas).isEqualTo(2);
+        assertThat(saida.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,descricao,mes,ano,valor,tipo,status,usuario\n" +
+                "1,Salário,3,2022,10.50,RECEITA,PENDENTE,7\n" +
+                "2,\"Mercado, \"\"feira\"\"\",3,2022,10.50,RECEITA,PENDENTE,7\n");
+        assertThat(fechado).isTrue();
+    }
+
+    @Test
+    @DisplayName("Exporta um objeto JSON por linha")
+    public void deveExportarNdjson() throws Exception {
+        //cenário
+        var saida = new ByteArrayOutputStream();
+
+        //ação
+        exportacaoService.exportar(new Lancamento(), FormatoExportacao.NDJSON, saida);
+
+        //verificação
+        var linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(2);
+        var primeiro = new ObjectMapper().readTree(linhas[0]);
+        assertThat(primeiro.get("id").asLong()).isEqualTo(1L);
+        assertThat(primeiro.get("descricao").asText()).isEqualTo("Salário");
+        assertThat(primeiro.get("usuario").asLong()).isEqualTo(7L);
+        assertThat(fechado).isTrue();
+    }
+
+    private LancamentoDTO criarLancamento(Long id, String descricao){
+        return new LancamentoDTO(id, descricao, 3, 2022, new BigDecimal("10.50"), 7L, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.StatusImportacao;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.importacao.ProcessadorImportacao;
+import com.github.daianaegermichels.financas.model.ImportacaoExtrato;
+import com.github.daianaegermichels.financas.repository.ImportacaoExtratoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+public class ImportacaoServiceTest {
+
+    @Mock
+    ImportacaoExtratoRepository repository;
+
+    @Mock
+    ProcessadorImportacao processador;
+
+    ImportacaoServiceImpl service;
+
+    @BeforeEach
+    public void setup(){
+        MockitoAnnotations.openMocks(this);
+        service = new ImportacaoServiceImpl(repository, processador, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Não retoma importação já concluída")
+    public void naoDeveRetomarImportacaoConcluida(){
+        //cenário
+        when(repository.findById(1L)).thenReturn(Optional.of(criarImportacao(StatusImportacao.CONCLUIDA)));
+
+        //ação
+        var erro = catchThrowable(() -> service.retomar(1L));
+
+        //verificação
+        assertThat(erro).isInstanceOf(RegraNegocioException.class);
+        verifyNoInteractions(processador);
+    }
+
+    @Test
+    @DisplayName("Importação interrompida volta para pendente e é processada novamente")
+    public void deveRetomarImportacaoInterrompida() throws Exception {
+        //cenário
+        var importacao = criarImportacao(StatusImportacao.PENDENTE);
+        when(repository.findByStatus(StatusImportacao.PROCESSANDO)).thenReturn(List.of(criarImportacao(StatusImportacao.PROCESSANDO)));
+        when(repository.findByStatus(StatusImportacao.PENDENTE)).thenReturn(List.of(importacao));
+        when(repository.alterarStatus(anyLong(), anyCollection(), any(), any(), any())).thenReturn(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(importacao));
+
+        //ação
+        var retomadas = service.retomarInterrompidas();
+
+        //verificação
+        assertThat(retomadas).isEqualTo(1);
+        verify(repository).alterarStatus(eq(1L), eq(List.of(StatusImportacao.PROCESSANDO)), eq(StatusImportacao.PENDENTE), isNull(), any());
+        verify(processador).processar(importacao);
+        verify(repository).alterarStatus(eq(1L), anyCollection(), eq(StatusImportacao.CONCLUIDA), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Falha no processamento deixa a importação com status de falha")
+    public void deveRegistrarFalhaNoProcessamento() throws Exception {
+        //cenário
+        var importacao = criarImportacao(StatusImportacao.FALHA);
+        when(repository.findById(1L)).thenReturn(Optional.of(importacao));
+        when(repository.alterarStatus(anyLong(), anyCollection(), any(), any(), any())).thenReturn(1);
+        doThrow(new IOException("Arquivo ilegível")).when(processador).processar(importacao);
+
+        //ação
+        service.retomar(1L);
+
+        //verificação
+        verify(repository).alterarStatus(eq(1L), anyCollection(), eq(StatusImportacao.FALHA), eq("Arquivo ilegível"), any());
+    }
+
+    private ImportacaoExtrato criarImportacao(StatusImportacao status){
+        return ImportacaoExtrato.builder()
+                .id(1L)
+                .status(status)
+                .caminhoArquivo("/tmp/importacao-inexistente.csv")
+                .build();
+    }
+}
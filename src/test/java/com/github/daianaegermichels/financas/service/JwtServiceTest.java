@@ -0,0 +1,78 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.model.Usuario;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+public class JwtServiceTest {
+
+    private static final String CHAVE = "cGlwb2NhIG1lbCBlIHRvZGR5";
+
+    JwtServiceImpl jwtService;
+
+    @BeforeEach
+    public void setup(){
+        jwtService = new JwtServiceImpl(100);
+        ReflectionTestUtils.setField(jwtService, "expiracao", "30");
+        ReflectionTestUtils.setField(jwtService, "chaveAssinatura", CHAVE);
+    }
+
+    @Test
+    @DisplayName("Token válido é verificado uma vez e depois servido pelo cache")
+    public void deveVerificarTokenUmaVez(){
+        //cenário
+        var token = jwtService.gerarToken(Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build());
+
+        //ação
+        var primeira = jwtService.obterClaimsValidas(token);
+        var segunda = jwtService.obterClaimsValidas(token);
+
+        //verificação
+        assertThat(primeira).isPresent();
+        assertThat(segunda.get().getSubject()).isEqualTo("usuario@email.com");
+        assertThat(jwtService.obterLoginUsuario(token)).isEqualTo("usuario@email.com");
+        var estatisticas = jwtService.obterEstatisticasCache();
+        assertThat(estatisticas.getFalhas()).isEqualTo(1);
+        assertThat(estatisticas.getAcertos()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Token com assinatura inválida não é aceito nem guardado")
+    public void deveRejeitarTokenComAssinaturaInvalida(){
+        //cenário
+        var token = Jwts.builder()
+                .setSubject("usuario@email.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS512, "b3V0cmEgY2hhdmUgcXVhbHF1ZXI=")
+                .compact();
+
+        //ação / verificação
+        assertThat(jwtService.obterClaimsValidas(token)).isEmpty();
+        assertThat(jwtService.isTokenValido("nao-e-um-token")).isFalse();
+        assertThat(jwtService.obterEstatisticasCache().getTamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Token expirado não é aceito")
+    public void deveRejeitarTokenExpirado(){
+        //cenário
+        var token = Jwts.builder()
+                .setSubject("usuario@email.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(SignatureAlgorithm.HS512, CHAVE)
+                .compact();
+
+        //ação / verificação
+        assertThat(jwtService.isTokenValido(token)).isFalse();
+    }
+}
@@ -0,0 +1,210 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.config.BuscaTextoConfig;
+import com.github.daianaegermichels.financas.dto.AlteracaoLancamentoDTO;
+import com.github.daianaegermichels.financas.dto.ResultadoStatusLoteDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.exception.ConflitoVersaoException;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.metricas.ConsultasSqlJpaConfig;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.daianaegermichels.financas.metricas.ConsultasSql.assertComandos;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Fixa a quantidade de comandos SQL das operações de lançamento, para que mudanças de mapeamento ou de código que
+ * multipliquem consultas quebrem o teste. Os comandos gravados logo antes do commit (contador de alterações e resumos
+ * mensais) ficam de fora, pois a transação do teste é desfeita.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = ConsultasSqlJpaConfig.class)
+@Import({LancamentoServiceImpl.class, SaldoServiceImpl.class, ContadorAlteracoes.class, ResumoMensalServiceImpl.class, BuscaTextoConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+public class LancamentoServiceConsultasTest {
+
+    @Autowired
+    LancamentoService service;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    Usuario usuario;
+
+    Lancamento lancamento;
+
+    @BeforeEach
+    public void setup(){
+        usuario = entityManager.persist(Usuario.builder().nome("usuario").email("consultas@email.com").senha("senha").build());
+        // O otimizador da sequência consulta o banco duas vezes no primeiro bloco de ids e o saldo do usuário é
+        // criado na primeira leitura; as contagens abaixo são as do regime normal.
+        lancamento = service.salvar(criarLancamento());
+        service.salvar(criarLancamento());
+        service.obterSaldoPorUsuario(usuario.getId());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Salvar executa somente o insert do lançamento")
+    public void deveSalvarComUmComando(){
+        assertComandos(1, () -> {
+            service.salvar(criarLancamento());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("Atualizar lê o estado persistido e executa um update")
+    public void deveAtualizarComUmaLeituraEUmUpdate(){
+        var alterado = criarLancamento();
+        alterado.setId(lancamento.getId());
+        alterado.setStatus(StatusLancamento.PENDENTE);
+        alterado.setDescricao("Conta de água");
+
+        assertComandos(2, () -> {
+            service.atualizar(alterado);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("Efetivar atualiza o lançamento e o saldo sem recalcular")
+    public void deveEfetivarComUpdateDoSaldo(){
+        assertComandos(3, () -> {
+            var carregado = service.obterPorId(lancamento.getId()).get();
+            service.atualizarStatus(carregado, StatusLancamento.EFETIVADO);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("Deletar lançamento pendente lê e remove, sem tocar no saldo")
+    public void deveDeletarComUmaLeituraEUmDelete(){
+        assertComandos(2, () -> {
+            service.deletar(service.obterPorId(lancamento.getId()).get());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    @DisplayName("PATCH da descrição executa somente o update com a versão")
+    public void deveAlterarDescricaoComUmUpdate(){
+        var alteracao = AlteracaoLancamentoDTO.builder().usuario(usuario.getId()).versao(0L).descricao("Conta de luz").build();
+
+        assertComandos(1, () -> service.atualizarParcial(lancamento.getId(), alteracao));
+
+        assertThat(alteracao.getVersao()).isEqualTo(1L);
+        var resumo = service.obterResumoPorId(lancamento.getId()).get();
+        assertThat(resumo.getDescricao()).isEqualTo("Conta de luz");
+        assertThat(resumo.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("PATCH que afeta o saldo reserva a versão, aplica o delta, move o resumo mensal e altera os campos sem ler o lançamento")
+    public void deveAlterarValorEStatusSemLeitura(){
+        // Reserva, saldo, retirada do resumo, update e acréscimo ao resumo; o resumo de destino ainda não existe e é
+        // criado antes do acréscimo, que se repete.
+        var efetivar = AlteracaoLancamentoDTO.builder().usuario(usuario.getId()).versao(0L).status("EFETIVADO").build();
+        assertComandos(7, () -> service.atualizarParcial(lancamento.getId(), efetivar));
+        assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo("-100");
+
+        var alterarValor = AlteracaoLancamentoDTO.builder().usuario(usuario.getId()).versao(1L)
+                .valor(BigDecimal.valueOf(250)).tipo("RECEITA").build();
+        assertComandos(7, () -> service.atualizarParcial(lancamento.getId(), alterarValor));
+        assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo("250");
+
+        var mesmoResumo = AlteracaoLancamentoDTO.builder().usuario(usuario.getId()).versao(2L).valor(BigDecimal.valueOf(300)).build();
+        assertComandos(5, () -> service.atualizarParcial(lancamento.getId(), mesmoResumo));
+        assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo("300");
+        assertThat(service.obterResumoPorId(lancamento.getId()).get().getVersao()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("PATCH com versão desatualizada ou de outro usuário não altera o lançamento")
+    public void naoDeveAlterarComVersaoDesatualizada(){
+        var desatualizada = AlteracaoLancamentoDTO.builder().usuario(usuario.getId()).versao(7L).status("EFETIVADO").build();
+        var outroUsuario = AlteracaoLancamentoDTO.builder().usuario(usuario.getId() + 1000).versao(0L).descricao("x").build();
+
+        assertThrows(ConflitoVersaoException.class, () -> service.atualizarParcial(lancamento.getId(), desatualizada));
+        assertThrows(RegraNegocioException.class, () -> service.atualizarParcial(lancamento.getId(), outroUsuario));
+
+        var resumo = service.obterResumoPorId(lancamento.getId()).get();
+        assertThat(resumo.getStatus()).isEqualTo("PENDENTE");
+        assertThat(resumo.getVersao()).isZero();
+        assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Alterar status em lote bloqueia, executa um update e aplica um único delta no saldo")
+    public void deveAtualizarStatusEmLoteComUmUpdate(){
+        //cenário
+        var outro = service.salvar(criarLancamento());
+        var outroUsuario = entityManager.persist(Usuario.builder().nome("outro").email("consultas-outro@email.com").senha("senha").build());
+        var alheio = criarLancamento();
+        alheio.setUsuario(outroUsuario);
+        alheio = service.salvar(alheio);
+        entityManager.flush();
+        entityManager.clear();
+        var ids = List.of(lancamento.getId(), outro.getId(), alheio.getId());
+
+        //ação
+        var resultado = new AtomicReference<ResultadoStatusLoteDTO>();
+        assertComandos(3, () -> resultado.set(service.atualizarStatusEmLote(usuario.getId(), ids, StatusLancamento.EFETIVADO)));
+
+        //verificação
+        assertThat(resultado.get().getAlterados()).isEqualTo(2);
+        assertThat(resultado.get().getNaoEncontrados()).containsExactly(alheio.getId());
+        assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo("-200");
+        assertThat(service.obterPorId(alheio.getId()).get().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+
+        var repetido = service.atualizarStatusEmLote(usuario.getId(), ids, StatusLancamento.EFETIVADO);
+        assertThat(repetido.getEncontrados()).isEqualTo(2);
+        assertThat(repetido.getAlterados()).isZero();
+        service.atualizarStatusEmLote(usuario.getId(), List.of(outro.getId()), StatusLancamento.CANCELADO);
+        assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo("-100");
+    }
+
+    @Test
+    @DisplayName("Consultas de leitura executam um único comando")
+    public void deveConsultarComUmComando(){
+        var filtro = new Lancamento();
+        filtro.setUsuario(usuario);
+
+        assertComandos(1, () -> service.obterResumoPorId(lancamento.getId()));
+        assertComandos(1, () -> service.buscarTodos(filtro));
+        assertComandos(1, () -> service.buscarPagina(filtro, null, null));
+        assertComandos(1, () -> service.obterSaldoPorUsuario(usuario.getId()));
+    }
+
+    private Lancamento criarLancamento(){
+        return Lancamento.builder()
+                .descricao("Conta de energia")
+                .mes(5)
+                .ano(2022)
+                .valor(BigDecimal.valueOf(100))
+                .tipo(TipoLancamento.DESPESA)
+                .usuario(usuario)
+                .build();
+    }
+}
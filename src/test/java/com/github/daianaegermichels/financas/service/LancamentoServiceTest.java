@@ -1,10 +1,15 @@
 package com.github.daianaegermichels.financas.service;
 
+import com.github.daianaegermichels.financas.dto.CursorLancamento;
+import com.github.daianaegermichels.financas.dto.LancamentoDTO;
+import com.github.daianaegermichels.financas.dto.SaldoMensalDTO;
 import com.github.daianaegermichels.financas.enuns.StatusLancamento;
 import com.github.daianaegermichels.financas.enuns.TipoLancamento;
 import com.github.daianaegermichels.financas.exception.RegraNegocioException;
 import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.repository.LancamentoArquivadoRepository;
 import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.ResumoLancamentoArquivadoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,12 +19,15 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Example;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.github.daianaegermichels.financas.service.UsuarioServiceTest.criarUsuario;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +44,24 @@ public class LancamentoServiceTest {
     @Mock
     LancamentoRepository repository;
 
+    @Mock
+    SaldoService saldoService;
+
+    @Mock
+    BuscaTextoService buscaTextoService;
+
+    @Mock
+    LancamentoArquivadoRepository arquivadoRepository;
+
+    @Mock
+    ResumoLancamentoArquivadoRepository resumoArquivadoRepository;
+
+    @Mock
+    ContadorAlteracoes contadorAlteracoes;
+
+    @Mock
+    ResumoMensalService resumoMensalService;
+
     @InjectMocks
     LancamentoServiceImpl lancamentoService;
 
@@ -162,6 +188,57 @@ public class LancamentoServiceTest {
         assertThat(resultado).contains(lancamento);
     }
 
+    @Test
+    @DisplayName("Buscar página de lançamentos")
+    public void deveRetornarCursorQuandoHouverMaisLancamentosQueOTamanhoDaPagina(){
+        //cenário
+        ReflectionTestUtils.setField(lancamentoService, "tamanhoPaginaMaximo", 500);
+        var primeiro = criarLancamentoDTO(1l);
+        var segundo = criarLancamentoDTO(2l);
+        var terceiro = criarLancamentoDTO(3l);
+        when(repository.buscarPagina(any(Lancamento.class), isNull(), eq(3))).thenReturn(List.of(primeiro, segundo, terceiro));
+
+        //execução
+        var pagina = lancamentoService.buscarPagina(criarLancamento(), null, 2);
+
+        //verificação
+        assertThat(pagina.getItens()).containsExactly(primeiro, segundo);
+        assertThat(pagina.getProximoCursor()).isNotNull();
+        var cursor = CursorLancamento.decodificar(pagina.getProximoCursor());
+        assertEquals(2022, cursor.getAno());
+        assertEquals(6, cursor.getMes());
+        assertEquals(2l, cursor.getId());
+    }
+
+    @Test
+    @DisplayName("Buscar todos os lançamentos sem limite de página")
+    public void deveBuscarTodosOsLancamentosSemLimite(){
+        //cenário
+        var lancamentos = List.of(criarLancamentoDTO(1l), criarLancamentoDTO(2l));
+        when(repository.buscarPagina(any(Lancamento.class), isNull(), isNull())).thenReturn(lancamentos);
+
+        //execução
+        var resultado = lancamentoService.buscarTodos(criarLancamento());
+
+        //verificação
+        assertThat(resultado).isEqualTo(lancamentos);
+    }
+
+    @Test
+    @DisplayName("Tamanho de página limitado ao máximo")
+    public void deveLimitarOTamanhoDaPaginaAoMaximoConfigurado(){
+        //cenário
+        ReflectionTestUtils.setField(lancamentoService, "tamanhoPaginaMaximo", 10);
+        when(repository.buscarPagina(any(Lancamento.class), isNull(), anyInt())).thenReturn(List.of(criarLancamentoDTO(1l)));
+
+        //execução
+        var pagina = lancamentoService.buscarPagina(criarLancamento(), null, 10000);
+
+        //verificação
+        verify(repository).buscarPagina(any(Lancamento.class), isNull(), eq(11));
+        assertThat(pagina.getProximoCursor()).isNull();
+    }
+
     @Test
     @DisplayName("Atualizar status lançamento")
     public void deveAtualizarStatusDoLancamentoQuandoPassarUmStatusValido(){
@@ -192,6 +269,21 @@ public class LancamentoServiceTest {
         assertEquals(resultado.get().getId(), lancamento.getId());
     }
 
+    @Test
+    @DisplayName("Buscar por Id pela projeção de leitura")
+    public void deveRetornarProjecaoQuandoBuscarResumoPorId(){
+        //cenário
+        when(repository.obterResumoPorId(1l)).thenReturn(Optional.of(criarLancamentoDTO(1l)));
+
+        //execução
+        var resultado = lancamentoService.obterResumoPorId(1l);
+
+        //verificação
+        assertThat(resultado).isPresent();
+        assertEquals(1l, resultado.get().getUsuario());
+        verify(repository, never()).findById(anyLong());
+    }
+
     @Test
     @DisplayName("Erro ao buscar por Id inválido")
     public void deveRetornarVazioQuandoBuscarPorUmIdInvalido(){
@@ -207,6 +299,55 @@ public class LancamentoServiceTest {
         assertThat(resultado.isPresent()).isFalse();
     }
 
+    @Test
+    @DisplayName("Saldo mensal acumulado")
+    public void deveAcumularSaldoMensalNaOrdemDosMeses(){
+        //cenário
+        when(repository.obterTotaisMensais(eq(1l), eq(2022), eq(2022), any())).thenReturn(Stream.of(
+                new Object[]{2022, 1, BigDecimal.valueOf(1000), BigDecimal.valueOf(400)},
+                new Object[]{2022, 2, BigDecimal.valueOf(500), BigDecimal.valueOf(800)}));
+
+        //execução
+        var linhaDoTempo = lancamentoService.obterSaldoMensalPorUsuario(1l, 2022, 2022, StatusLancamento.EFETIVADO);
+
+        //verificação
+        assertThat(linhaDoTempo).hasSize(2);
+        assertThat(linhaDoTempo.get(0).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(600));
+        assertThat(linhaDoTempo.get(1).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(300));
+    }
+
+    @Test
+    @DisplayName("Saldo mensal intercala os resumos dos anos arquivados")
+    public void deveIntercalarResumosArquivadosNoSaldoMensal(){
+        //cenário
+        when(resumoArquivadoRepository.obterTotaisMensais(eq(1l), eq(2020), eq(2022), any())).thenReturn(List.of(
+                new Object[]{2020, 12, BigDecimal.valueOf(200), BigDecimal.ZERO},
+                new Object[]{2022, 1, BigDecimal.valueOf(100), BigDecimal.ZERO}));
+        when(repository.obterTotaisMensais(eq(1l), eq(2020), eq(2022), any())).thenReturn(Stream.of(
+                new Object[]{2022, 1, BigDecimal.valueOf(1000), BigDecimal.valueOf(400)},
+                new Object[]{2022, 2, BigDecimal.valueOf(500), BigDecimal.valueOf(800)}));
+
+        //execução
+        var linhaDoTempo = lancamentoService.obterSaldoMensalPorUsuario(1l, 2020, 2022, null);
+
+        //verificação
+        assertThat(linhaDoTempo).extracting(SaldoMensalDTO::getMes).containsExactly(12, 1, 2);
+        assertThat(linhaDoTempo.get(1).getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(1100));
+        assertThat(linhaDoTempo.get(2).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(600));
+    }
+
+    @Test
+    @DisplayName("Saldo mensal com intervalo inválido")
+    public void naoDeveObterSaldoMensalQuandoAnoFinalForMenorQueAnoInicial(){
+        //ação
+        try{
+            lancamentoService.obterSaldoMensalPorUsuario(1l, 2022, 2021, null);
+        } catch (Exception ex){
+            assertEquals(RegraNegocioException.class, ex.getClass());
+            verify(repository, never()).obterTotaisMensais(any(), any(), any(), any());
+        }
+    }
+
     @Test
     @DisplayName("Ano inválido - null")
     public void naoDeveValidarUmLancamentoQuandoOAnoForNull(){
@@ -437,4 +578,9 @@ public class LancamentoServiceTest {
                 .build();
     }
 
+    public static LancamentoDTO criarLancamentoDTO(Long id) {
+        return new LancamentoDTO(id, "Recebimento de Pix", 6, 2022, BigDecimal.valueOf(100.00), 1l,
+                TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+    }
+
 }
@@ -0,0 +1,134 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.exception.TentativasExcedidasException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LimiteTentativasLoginTest {
+
+    AtomicLong relogio = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    LimiteTentativasLogin limite = new LimiteTentativasLogin(true, 5, Duration.ofMinutes(1), 20, Duration.ofMinutes(1),
+            1000, registry, relogio::get);
+
+    @Test
+    @DisplayName("Email sem fichas é recusado até a reposição")
+    public void deveRecusarEmailAposEsgotarTentativas(){
+        //cenário
+        for (int i = 0; i < 5; i++) {
+            limite.verificar("Usuario@Email.com", "10.0.0." + i);
+        }
+
+        //ação
+        var erro = assertThrows(TentativasExcedidasException.class, () -> limite.verificar("usuario@email.com ", "10.0.0.9"));
+
+        //verificação
+        assertThat(erro.getEsperaSegundos()).isEqualTo(12);
+        assertThat(registry.counter("financas.login.limitadas", "chave", "email").count()).isEqualTo(1);
+        relogio.addAndGet(Duration.ofSeconds(12).toNanos());
+        assertDoesNotThrow(() -> limite.verificar("usuario@email.com", "10.0.0.9"));
+        assertThrows(TentativasExcedidasException.class, () -> limite.verificar("usuario@email.com", "10.0.0.9"));
+        assertDoesNotThrow(() -> limite.verificar("outro@email.com", "10.0.0.9"));
+    }
+
+    @Test
+    @DisplayName("IP sem fichas é recusado para qualquer email")
+    public void deveRecusarIpAposEsgotarTentativas(){
+        //cenário
+        for (int i = 0; i < 20; i++) {
+            limite.verificar("usuario" + i + "@email.com", "10.0.0.1");
+        }
+
+        //ação e verificação
+        assertThrows(TentativasExcedidasException.class, () -> limite.verificar("novo@email.com", "10.0.0.1"));
+        assertThat(registry.counter("financas.login.limitadas", "chave", "ip").count()).isEqualTo(1);
+        assertDoesNotThrow(() -> limite.verificar("novo@email.com", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Baldes ociosos saem da memória e a quantidade fica limitada")
+    public void deveLimitarMemoriaERemoverBaldesOciosos(){
+        //cenário
+        for (int i = 0; i < 5000; i++) {
+            limite.verificar("usuario" + i + "@email.com", "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        //verificação
+        assertThat(limite.obterQuantidadeEmails()).isLessThanOrEqualTo(1000);
+        assertThat(limite.obterQuantidadeIps()).isLessThanOrEqualTo(1000);
+        relogio.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(limite.obterQuantidadeEmails()).isZero();
+        assertThat(limite.obterQuantidadeIps()).isZero();
+    }
+
+    @Test
+    @DisplayName("Limite desligado não recusa tentativas")
+    public void naoDeveRecusarComLimiteDesligado(){
+        var desligado = new LimiteTentativasLogin(false, 1, Duration.ofMinutes(1), 1, Duration.ofMinutes(1),
+                1000, registry, relogio::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> desligado.verificar("usuario@email.com", "10.0.0.1"));
+        }
+    }
+
+    @Test
+    @DisplayName("Sob concorrência o email concede exatamente as fichas disponíveis")
+    public void deveConcederExatamenteAsFichasSobConcorrencia() throws Exception {
+        //cenário: relógio parado, 32 threads disputando o mesmo email de IPs diferentes
+        var concorrente = new LimiteTentativasLogin(true, 50, Duration.ofMinutes(1), 1_000_000, Duration.ofMinutes(1),
+                100_000, registry, relogio::get);
+        int threads = 32;
+        int tentativasPorThread = 2_000;
+        var largada = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        var resultados = new ArrayList<Future<Integer>>();
+
+        //ação
+        try {
+            for (int t = 0; t < threads; t++) {
+                var ip = "10.1.0." + t;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    int concedidas = 0;
+                    for (int i = 0; i < tentativasPorThread; i++) {
+                        try {
+                            concorrente.verificar("alvo@email.com", ip);
+                            concedidas++;
+                        } catch (TentativasExcedidasException e) {
+                            // esperado após as fichas acabarem
+                        }
+                    }
+                    return concedidas;
+                }));
+            }
+            largada.countDown();
+            int concedidas = 0;
+            for (var resultado : resultados) {
+                concedidas += resultado.get(30, TimeUnit.SECONDS);
+            }
+
+            //verificação
+            assertThat(concedidas).isEqualTo(50);
+            assertThat(registry.counter("financas.login.limitadas", "chave", "email").count())
+                    .isEqualTo(threads * tentativasPorThread - 50);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.dto.ResultadoStatusLoteDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+public class LoteLancamentoServiceTest {
+
+    @Mock
+    LancamentoService lancamentoService;
+
+    @InjectMocks
+    LoteLancamentoServiceImpl loteService;
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @BeforeEach
+    public void setup(){
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(loteService, "tamanhoTransacao", 2);
+        ReflectionTestUtils.setField(loteService, "tamanhoMaximo", 4);
+        when(lancamentoService.salvarTodos(anyList())).thenAnswer(invocacao -> {
+            List<Lancamento> lancamentos = invocacao.getArgument(0);
+            lancamentos.forEach(lancamento -> lancamento.setId(sequencia.incrementAndGet()));
+            return lancamentos;
+        });
+    }
+
+    @Test
+    @DisplayName("Grava os itens válidos em blocos e informa os inválidos pelo índice")
+    public void deveGravarItensValidosEInformarInvalidos(){
+        //cenário
+        var lancamentos = criarLancamentos(5);
+        doThrow(new RegraNegocioException("Informe um Valor válido!")).when(lancamentoService).validar(lancamentos.get(1));
+
+        //ação
+        var resultado = loteService.salvar(lancamentos);
+
+        //verificação
+        assertThat(resultado.getRecebidos()).isEqualTo(5);
+        assertThat(resultado.getSalvos()).isEqualTo(4);
+        assertThat(resultado.getIds()).containsExactly(1L, null, 2L, 3L, 4L);
+        assertThat(resultado.getErros()).hasSize(1);
+        assertThat(resultado.getErros().get(0).getIndice()).isEqualTo(1);
+        assertThat(resultado.getErros().get(0).getMensagem()).isEqualTo("Informe um Valor válido!");
+        verify(lancamentoService, times(2)).salvarTodos(anyList());
+        verify(lancamentoService, never()).salvar(any());
+    }
+
+    @Test
+    @DisplayName("Bloco com falha de gravação é refeito item a item")
+    public void deveRegravarItemAItemQuandoBlocoFalhar(){
+        //cenário
+        var lancamentos = criarLancamentos(2);
+        reset(lancamentoService);
+        when(lancamentoService.salvarTodos(anyList())).thenThrow(new DataIntegrityViolationException("falha"));
+        when(lancamentoService.salvar(lancamentos.get(0))).thenAnswer(invocacao -> {
+            lancamentos.get(0).setId(10L);
+            return lancamentos.get(0);
+        });
+        when(lancamentoService.salvar(lancamentos.get(1))).thenThrow(new DataIntegrityViolationException("falha"));
+
+        //ação
+        var resultado = loteService.salvar(lancamentos);
+
+        //verificação
+        assertThat(resultado.getSalvos()).isEqualTo(1);
+        assertThat(resultado.getIds()).containsExactly(10L, null);
+        assertThat(resultado.getErros()).extracting("indice").containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Altera o status em blocos, sem ids repetidos, e soma os resultados")
+    public void deveAtualizarStatusEmBlocos(){
+        //cenário
+        when(lancamentoService.atualizarStatusEmLote(eq(1L), anyList(), eq(StatusLancamento.EFETIVADO))).thenAnswer(invocacao -> {
+            List<Long> ids = invocacao.getArgument(1);
+            var naoEncontrados = ids.contains(5L) ? List.of(5L) : List.<Long>of();
+            return new ResultadoStatusLoteDTO(ids.size() - naoEncontrados.size(), ids.size() - naoEncontrados.size(), naoEncontrados);
+        });
+
+        //ação
+        var resultado = loteService.atualizarStatus(1L, List.of(1L, 2L, 2L, 3L, 5L), StatusLancamento.EFETIVADO);
+
+        //verificação
+        assertThat(resultado.getEncontrados()).isEqualTo(3);
+        assertThat(resultado.getAlterados()).isEqualTo(3);
+        assertThat(resultado.getNaoEncontrados()).containsExactly(5L);
+        verify(lancamentoService).atualizarStatusEmLote(1L, List.of(1L, 2L), StatusLancamento.EFETIVADO);
+        verify(lancamentoService).atualizarStatusEmLote(1L, List.of(3L, 5L), StatusLancamento.EFETIVADO);
+    }
+
+    @Test
+    @DisplayName("Alteração de status recusa lote acima do tamanho máximo")
+    public void naoDeveAtualizarStatusAcimaDoTamanhoMaximo(){
+        assertThrows(RegraNegocioException.class, () -> loteService.atualizarStatus(1L, List.of(1L, 2L, 3L, 4L, 5L), StatusLancamento.EFETIVADO));
+        verify(lancamentoService, never()).atualizarStatusEmLote(any(), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Alteração de status por mês exige mês e ano válidos")
+    public void naoDeveAtualizarStatusPorMesInvalido(){
+        assertThrows(RegraNegocioException.class, () -> loteService.atualizarStatus(1L, 2022, null, StatusLancamento.EFETIVADO));
+        assertThrows(RegraNegocioException.class, () -> loteService.atualizarStatus(1L, 2022, 13, StatusLancamento.EFETIVADO));
+        verify(lancamentoService, never()).obterIdsPorMesComStatusDiferente(any(), any(), any(), any());
+    }
+
+    private List<Lancamento> criarLancamentos(int quantidade){
+        var lancamentos = new ArrayList<Lancamento>();
+        for (int i = 0; i < quantidade; i++) {
+            lancamentos.add(Lancamento.builder().descricao("Lançamento " + i).build());
+        }
+        return lancamentos;
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.FinancasApplication;
+import com.github.daianaegermichels.financas.dto.AlteracaoRecorrenciaDTO;
+import com.github.daianaegermichels.financas.dto.RecorrenciaDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoRecorrencia;
+import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.RecorrenciaLancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.RecorrenciaLancamentoRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(classes = FinancasApplication.class)
+@ActiveProfiles("test")
+public class RecorrenciaServiceTest {
+
+    @Autowired
+    RecorrenciaService recorrenciaService;
+
+    @Autowired
+    LancamentoService lancamentoService;
+
+    @Autowired
+    ResumoMensalService resumoMensalService;
+
+    @Autowired
+    RecorrenciaLancamentoRepository recorrenciaRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    SaldoUsuarioRepository saldoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario usuario;
+
+    // Ano corrente, para não aparecer como ano fechado em outros testes que compartilham o banco.
+    int ano = LocalDate.now().getYear();
+
+    @BeforeEach
+    public void setup(){
+        usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("recorrencia@email.com").senha("senha").build());
+    }
+
+    @AfterEach
+    public void limpar(){
+        jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.recorrencia_lancamento where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.resumo_mensal_lancamento where id_usuario = ?", usuario.getId());
+        saldoRepository.findById(usuario.getId()).ifPresent(saldoRepository::delete);
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    @DisplayName("Série parcelada gera todas as parcelas numeradas na criação")
+    public void deveGerarParcelasNumeradas(){
+        //ação
+        var recorrencia = recorrenciaService.criar(RecorrenciaDTO.builder().usuario(usuario.getId()).descricao("Notebook")
+                .valor(BigDecimal.valueOf(250)).tipo("DESPESA").tipoRecorrencia("PARCELADA").parcelas(3).ano(ano).mes(1).build());
+
+        //verificação
+        assertThat(recorrencia.getOcorrencias()).isEqualTo(3);
+        assertThat(recorrencia.getMesFinal()).isEqualTo(3);
+        assertThat(ocorrencias(recorrencia.getId())).extracting(Lancamento::getParcela, Lancamento::getMes, Lancamento::getDescricao, Lancamento::getStatus)
+                .containsExactly(
+                        tuple(1, 1, "Notebook (1/3)", StatusLancamento.PENDENTE),
+                        tuple(2, 2, "Notebook (2/3)", StatusLancamento.PENDENTE),
+                        tuple(3, 3, "Notebook (3/3)", StatusLancamento.PENDENTE));
+        assertThat(recorrenciaRepository.findById(recorrencia.getId()).orElseThrow().getProximaGeracao()).isNull();
+        assertThat(recorrenciaService.gerarOcorrencias()).isZero();
+    }
+
+    @Test
+    @DisplayName("Data final anterior ao início é rejeitada")
+    public void deveRejeitarDataFinalAnterior(){
+        //ação
+        var erro = catchThrowable(() -> recorrenciaService.criar(RecorrenciaDTO.builder().usuario(usuario.getId()).descricao("Aluguel")
+                .valor(BigDecimal.TEN).tipo("DESPESA").ano(ano).mes(5).anoFinal(ano).mesFinal(4).build()));
+
+        //verificação
+        assertThat(erro).isInstanceOf(RegraNegocioException.class)
+                .hasMessage("Informe uma data final igual ou posterior ao início!");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from financas.recorrencia_lancamento where id_usuario = ?",
+                Long.class, usuario.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Job gera as ocorrências que entraram no horizonte")
+    public void deveGerarOcorrenciasPendentes(){
+        //cenário: série sem fim ainda sem ocorrências, como se criada antes do horizonte alcançá-la
+        var hoje = LocalDate.now();
+        var recorrencia = recorrenciaRepository.save(RecorrenciaLancamento.builder().idUsuario(usuario.getId()).descricao("Salário")
+                .valor(BigDecimal.valueOf(5000)).tipo(TipoLancamento.RECEITA).tipoRecorrencia(TipoRecorrencia.MENSAL)
+                .anoInicial(hoje.getYear()).mesInicial(hoje.getMonthValue()).parcelasGeradas(0)
+                .proximaGeracao(hoje.getYear() * 12 + hoje.getMonthValue() - 1).cancelada(false).dataCadastro(LocalDateTime.now()).build());
+
+        //ação
+        var geradas = recorrenciaService.gerarOcorrencias();
+
+        //verificação: mês atual e os 12 seguintes
+        assertThat(geradas).isEqualTo(13);
+        var ocorrencias = ocorrencias(recorrencia.getId());
+        assertThat(ocorrencias).hasSize(13);
+        assertThat(ocorrencias.get(12).getAno() * 12 + ocorrencias.get(12).getMes() - 1)
+                .isEqualTo(hoje.getYear() * 12 + hoje.getMonthValue() - 1 + 12);
+        assertThat(recorrenciaService.obterPorId(recorrencia.getId()).orElseThrow().getParcelasGeradas()).isEqualTo(13);
+        assertThat(recorrenciaService.gerarOcorrencias()).isZero();
+    }
+
+    @Test
+    @DisplayName("Alteração e cancelamento valem só para as ocorrências pendentes e mantêm os resumos")
+    public void deveAlterarECancelarOcorrenciasPendentes(){
+        //cenário
+        var recorrencia = recorrenciaService.criar(RecorrenciaDTO.builder().usuario(usuario.getId()).descricao("Curso")
+                .valor(BigDecimal.valueOf(100)).tipo("DESPESA").tipoRecorrencia("PARCELADA").parcelas(4).ano(ano).mes(1).build());
+        var primeira = ocorrencias(recorrencia.getId()).get(0);
+        lancamentoService.atualizarStatus(primeira, StatusLancamento.EFETIVADO);
+
+        //ação
+        var alterada = recorrenciaService.alterar(recorrencia.getId(), AlteracaoRecorrenciaDTO.builder().usuario(usuario.getId())
+                .descricao("Pós").valor(BigDecimal.valueOf(120)).ano(ano).mes(1).build());
+        var cancelada = recorrenciaService.cancelar(recorrencia.getId(), usuario.getId(), ano, 4);
+
+        //verificação
+        assertThat(alterada.getOcorrencias()).isEqualTo(3);
+        assertThat(cancelada.getOcorrencias()).isEqualTo(1);
+        assertThat(cancelada.getCancelada()).isTrue();
+        assertThat(ocorrencias(recorrencia.getId())).extracting(Lancamento::getDescricao, Lancamento::getValor, Lancamento::getStatus)
+                .containsExactly(
+                        tuple("Curso (1/4)", new BigDecimal("100.00"), StatusLancamento.EFETIVADO),
+                        tuple("Pós (2/4)", new BigDecimal("120.00"), StatusLancamento.PENDENTE),
+                        tuple("Pós (3/4)", new BigDecimal("120.00"), StatusLancamento.PENDENTE),
+                        tuple("Pós (4/4)", new BigDecimal("120.00"), StatusLancamento.CANCELADO));
+        assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId())).isEqualByComparingTo("-100");
+
+        var relatorio = resumoMensalService.obterRelatorio(usuario.getId(), ano, ano, null);
+        resumoMensalService.reconstruir(usuario.getId());
+        assertThat(resumoMensalService.obterRelatorio(usuario.getId(), ano, ano, null)).isEqualTo(relatorio);
+    }
+
+    private List<Lancamento> ocorrencias(Long idRecorrencia){
+        return lancamentoRepository.findAll().stream()
+                .filter(lancamento -> idRecorrencia.equals(lancamento.getIdRecorrencia()))
+                .sorted(Comparator.comparing(Lancamento::getParcela))
+                .collect(Collectors.toList());
+    }
+}
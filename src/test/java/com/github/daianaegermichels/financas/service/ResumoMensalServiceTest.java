@@ -0,0 +1,151 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.FinancasApplication;
+import com.github.daianaegermichels.financas.dto.AlteracaoLancamentoDTO;
+import com.github.daianaegermichels.financas.dto.ResumoMensalDTO;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Os resumos são gravados no commit: as alterações rodam em transações reais e o resultado é comparado com o da
+ * reconstrução a partir dos lançamentos.
+ */
+@SpringBootTest(classes = FinancasApplication.class)
+@ActiveProfiles("test")
+public class ResumoMensalServiceTest {
+
+    @Autowired
+    ResumoMensalService resumoMensalService;
+
+    @Autowired
+    LancamentoService lancamentoService;
+
+    @Autowired
+    ContadorAlteracoes contadorAlteracoes;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    SaldoUsuarioRepository saldoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario usuario;
+
+    List<Long> lancamentos = new ArrayList<>();
+
+    // Ano corrente, para não aparecer como ano fechado em outros testes que compartilham o banco.
+    int ano = LocalDate.now().getYear();
+
+    @BeforeEach
+    public void setup(){
+        usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("resumo@email.com").senha("senha").build());
+    }
+
+    @AfterEach
+    public void limpar(){
+        lancamentoRepository.deleteAllById(lancamentos);
+        jdbcTemplate.update("delete from financas.resumo_mensal_lancamento where id_usuario = ?", usuario.getId());
+        saldoRepository.findById(usuario.getId()).ifPresent(saldoRepository::delete);
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    @DisplayName("Resumos acompanham cada alteração e coincidem com a reconstrução")
+    public void deveManterResumosPorDelta(){
+        //cenário
+        var a = salvar(1, TipoLancamento.DESPESA, 100);
+        var b = salvar(1, TipoLancamento.DESPESA, 50);
+        var c = salvar(2, TipoLancamento.RECEITA, 1000);
+
+        //ação
+        lancamentoService.atualizarStatus(a, StatusLancamento.EFETIVADO);
+
+        var alterado = lancamentoService.obterPorId(b.getId()).orElseThrow();
+        alterado.setMes(3);
+        alterado.setValor(BigDecimal.valueOf(70));
+        lancamentoService.atualizar(alterado);
+
+        lancamentoService.atualizarStatusEmLote(usuario.getId(), List.of(b.getId(), c.getId()), StatusLancamento.EFETIVADO);
+
+        lancamentoService.atualizarParcial(c.getId(), AlteracaoLancamentoDTO.builder().usuario(usuario.getId())
+                .versao(lancamentoRepository.obterVersao(c.getId()).orElseThrow()).mes(4).valor(BigDecimal.valueOf(1200)).build());
+
+        lancamentoService.deletar(lancamentoService.obterPorId(a.getId()).orElseThrow());
+        lancamentos.remove(a.getId());
+
+        var lote = lancamentoService.salvarTodos(List.of(criar(5, TipoLancamento.DESPESA, 10), criar(5, TipoLancamento.DESPESA, 20)));
+        lote.forEach(lancamento -> lancamentos.add(lancamento.getId()));
+
+        //verificação
+        var relatorio = resumoMensalService.obterRelatorio(usuario.getId(), ano, ano, null);
+        assertThat(relatorio).containsExactly(
+                resumo(3, "DESPESA", "EFETIVADO", "70", 1),
+                resumo(4, "RECEITA", "EFETIVADO", "1200", 1),
+                resumo(5, "DESPESA", "PENDENTE", "30", 2));
+        assertThat(resumoMensalService.obterRelatorio(usuario.getId(), ano, ano, StatusLancamento.PENDENTE))
+                .containsExactly(resumo(5, "DESPESA", "PENDENTE", "30", 2));
+
+        resumoMensalService.reconstruir(usuario.getId());
+        assertThat(resumoMensalService.obterRelatorio(usuario.getId(), ano, ano, null)).isEqualTo(relatorio);
+    }
+
+    @Test
+    @DisplayName("Reconstrução de todos os usuários corrige resumos divergentes e invalida a ETag")
+    public void deveReconstruirResumosDivergentes(){
+        //cenário
+        salvar(6, TipoLancamento.RECEITA, 500);
+        jdbcTemplate.update("update financas.resumo_mensal_lancamento set total = 1, quantidade = 9 where id_usuario = ?", usuario.getId());
+        var contador = contadorAlteracoes.obter(usuario.getId()).orElseThrow();
+
+        //ação
+        var usuarios = resumoMensalService.reconstruirTodos();
+
+        //verificação
+        assertThat(usuarios).isGreaterThanOrEqualTo(1);
+        assertThat(resumoMensalService.obterRelatorio(usuario.getId(), ano, ano, null))
+                .containsExactly(resumo(6, "RECEITA", "PENDENTE", "500", 1));
+        assertThat(contadorAlteracoes.obter(usuario.getId()).orElseThrow()).isGreaterThan(contador);
+    }
+
+    private Lancamento salvar(int mes, TipoLancamento tipo, int valor){
+        var lancamento = lancamentoService.salvar(criar(mes, tipo, valor));
+        lancamentos.add(lancamento.getId());
+        return lancamento;
+    }
+
+    private Lancamento criar(int mes, TipoLancamento tipo, int valor){
+        return Lancamento.builder().usuario(usuario).ano(ano).mes(mes).descricao("Lançamento " + mes)
+                .tipo(tipo).valor(BigDecimal.valueOf(valor)).build();
+    }
+
+    private ResumoMensalDTO resumo(int mes, String tipo, String status, String total, long quantidade){
+        return ResumoMensalDTO.builder().ano(ano).mes(mes).tipo(tipo).status(status)
+                .total(new BigDecimal(total).setScale(2)).quantidade(quantidade).build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.FinancasApplication;
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.Lancamento;
+import com.github.daianaegermichels.financas.model.Usuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import com.github.daianaegermichels.financas.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primeiros acessos simultâneos ao saldo de um usuário sem registro em {@code saldo_usuario}, em transações reais.
+ */
+@SpringBootTest(classes = FinancasApplication.class)
+@ActiveProfiles("test")
+public class SaldoServiceConcorrenciaTest {
+
+    private static final int ACESSOS = 8;
+
+    @Autowired
+    SaldoService saldoService;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    SaldoUsuarioRepository saldoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    List<Usuario> usuarios = new ArrayList<>();
+
+    @AfterEach
+    public void limpar(){
+        for (Usuario usuario : usuarios) {
+            jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+            saldoRepository.findById(usuario.getId()).ifPresent(saldoRepository::delete);
+            usuarioRepository.delete(usuario);
+        }
+    }
+
+    @Test
+    @DisplayName("Primeiros acessos simultâneos criam um único saldo, sem erro de chave duplicada")
+    public void deveCriarSaldoUmaVezComAcessosSimultaneos() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ACESSOS);
+        try {
+            for (int rodada = 0; rodada < 5; rodada++) {
+                //cenário: lançamentos gravados sem passar pelo serviço, portanto sem saldo
+                var usuario = usuarioRepository.save(Usuario.builder().nome("usuario")
+                        .email("saldo" + rodada + "@concorrencia.com").senha("senha").build());
+                usuarios.add(usuario);
+                lancamentoRepository.save(criar(usuario, TipoLancamento.RECEITA, 300));
+                lancamentoRepository.save(criar(usuario, TipoLancamento.DESPESA, 120));
+
+                //ação
+                var largada = new CyclicBarrier(ACESSOS);
+                List<CompletableFuture<BigDecimal>> acessos = new ArrayList<>();
+                for (int i = 0; i < ACESSOS; i++) {
+                    acessos.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            largada.await(10, TimeUnit.SECONDS);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                        return saldoService.obterSaldo(usuario.getId());
+                    }, executor));
+                }
+
+                //verificação
+                for (CompletableFuture<BigDecimal> acesso : acessos) {
+                    assertThat(acesso.get(30, TimeUnit.SECONDS)).isEqualByComparingTo("180");
+                }
+                assertThat(jdbcTemplate.queryForObject("select count(*) from financas.saldo_usuario where id_usuario = ?",
+                        Integer.class, usuario.getId())).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Lancamento criar(Usuario usuario, TipoLancamento tipo, int valor){
+        return Lancamento.builder().usuario(usuario).ano(LocalDate.now().getYear()).mes(1).descricao("Lançamento")
+                .tipo(tipo).status(StatusLancamento.EFETIVADO).valor(BigDecimal.valueOf(valor)).build();
+    }
+}
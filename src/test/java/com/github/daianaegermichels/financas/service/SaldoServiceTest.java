@@ -0,0 +1,130 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.enuns.StatusLancamento;
+import com.github.daianaegermichels.financas.enuns.TipoLancamento;
+import com.github.daianaegermichels.financas.model.EstadoLancamento;
+import com.github.daianaegermichels.financas.model.SaldoUsuario;
+import com.github.daianaegermichels.financas.repository.LancamentoRepository;
+import com.github.daianaegermichels.financas.repository.ResumoLancamentoArquivadoRepository;
+import com.github.daianaegermichels.financas.repository.SaldoUsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+public class SaldoServiceTest {
+
+    @Mock
+    SaldoUsuarioRepository saldoRepository;
+
+    @Mock
+    LancamentoRepository lancamentoRepository;
+
+    @Mock
+    ResumoLancamentoArquivadoRepository resumoArquivadoRepository;
+
+    @InjectMocks
+    SaldoServiceImpl saldoService;
+
+    @BeforeEach
+    public void setup(){
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Efetivar receita soma ao saldo")
+    public void deveSomarReceitaAoEfetivarLancamento(){
+        //cenário
+        when(saldoRepository.aplicarDelta(anyLong(), any(), any(), any())).thenReturn(1);
+        var anterior = criarEstado(TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+        var atual = criarEstado(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+
+        //ação
+        saldoService.registrarAlteracao(anterior, atual);
+
+        //verificação
+        verify(saldoRepository).aplicarDelta(eq(1L), eq(BigDecimal.valueOf(100)), eq(BigDecimal.ZERO), any());
+    }
+
+    @Test
+    @DisplayName("Cancelar despesa efetivada devolve o valor ao saldo")
+    public void deveEstornarDespesaAoSairDeEfetivado(){
+        //cenário
+        when(saldoRepository.aplicarDelta(anyLong(), any(), any(), any())).thenReturn(1);
+        var anterior = criarEstado(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+        var atual = criarEstado(TipoLancamento.DESPESA, StatusLancamento.CANCELADO);
+
+        //ação
+        saldoService.registrarAlteracao(anterior, atual);
+
+        //verificação
+        verify(saldoRepository).aplicarDelta(eq(1L), eq(BigDecimal.ZERO), eq(BigDecimal.valueOf(-100)), any());
+    }
+
+    @Test
+    @DisplayName("Lançamento pendente não altera o saldo")
+    public void naoDeveAlterarSaldoQuandoLancamentoNaoEstiverEfetivado(){
+        //ação
+        saldoService.registrarAlteracao(null, criarEstado(TipoLancamento.RECEITA, StatusLancamento.PENDENTE));
+
+        //verificação
+        verify(saldoRepository, never()).aplicarDelta(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Saldo sem registro é recalculado a partir dos lançamentos")
+    public void deveRecalcularSaldoQuandoNaoHouverRegistroDoUsuario(){
+        //cenário
+        when(saldoRepository.aplicarDelta(anyLong(), any(), any(), any())).thenReturn(0);
+        when(saldoRepository.buscarParaAtualizacao(1L)).thenReturn(Optional.of(SaldoUsuario.builder().idUsuario(1L)
+                .receitas(BigDecimal.ZERO).despesas(BigDecimal.ZERO).build()));
+        when(lancamentoRepository.obterTotaisPorTipoDeLancamento(1L, StatusLancamento.EFETIVADO)).thenReturn(List.of(
+                new Object[]{TipoLancamento.RECEITA, BigDecimal.valueOf(300)},
+                new Object[]{TipoLancamento.DESPESA, BigDecimal.valueOf(120)}));
+
+        //ação
+        saldoService.registrarAlteracao(null, criarEstado(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO));
+
+        //verificação
+        verify(saldoRepository).criarSeAusente(1L);
+        verify(saldoRepository).save(argThat(saldo -> saldo.getIdUsuario().equals(1L)
+                && saldo.getReceitas().compareTo(BigDecimal.valueOf(300)) == 0
+                && saldo.getDespesas().compareTo(BigDecimal.valueOf(120)) == 0));
+    }
+
+    @Test
+    @DisplayName("Divergência entre saldo incremental e recálculo")
+    public void deveIdentificarSaldoDivergente(){
+        //cenário
+        when(lancamentoRepository.obterTotaisPorUsuarioETipoDeLancamento(StatusLancamento.EFETIVADO)).thenReturn(List.of(
+                new Object[]{1L, TipoLancamento.RECEITA, BigDecimal.valueOf(300)},
+                new Object[]{2L, TipoLancamento.DESPESA, BigDecimal.valueOf(50)}));
+        when(saldoRepository.findAll()).thenReturn(List.of(
+                SaldoUsuario.builder().idUsuario(1L).receitas(BigDecimal.valueOf(300)).despesas(BigDecimal.ZERO).build(),
+                SaldoUsuario.builder().idUsuario(2L).receitas(BigDecimal.ZERO).despesas(BigDecimal.valueOf(80)).build()));
+
+        //ação
+        var divergentes = saldoService.buscarDivergencias();
+
+        //verificação
+        assertThat(divergentes).containsExactly(2L);
+    }
+
+    private static EstadoLancamento criarEstado(TipoLancamento tipo, StatusLancamento status) {
+        return new EstadoLancamento(1L, 2022, 6, BigDecimal.valueOf(100), tipo, status);
+    }
+}
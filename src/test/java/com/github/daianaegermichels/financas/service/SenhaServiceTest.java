@@ -0,0 +1,114 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SenhaServiceTest {
+
+    ThreadPoolTaskExecutor executor;
+
+    SimpleMeterRegistry registry;
+
+    SenhaServiceImpl senhaService;
+
+    @BeforeEach
+    public void setup(){
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        registry = new SimpleMeterRegistry();
+        senhaService = new SenhaServiceImpl(new BCryptPasswordEncoder(4), executor, 4, 1000, registry);
+    }
+
+    @AfterEach
+    public void encerrar(){
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Criptografa e confere a senha no executor")
+    public void deveCriptografarEConferirSenha(){
+        var senhaCriptografada = senhaService.criptografar("senha");
+
+        assertThat(senhaCriptografada).startsWith("$2a$04$");
+        assertThat(senhaService.conferir("senha", senhaCriptografada)).isTrue();
+        assertThat(senhaService.conferir("outra", senhaCriptografada)).isFalse();
+        assertThat(senhaService.conferir("senha", "senha")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Senha com custo diferente do configurado precisa ser atualizada")
+    public void deveIdentificarCustoDiferenteDoConfigurado(){
+        assertThat(senhaService.precisaAtualizar(new BCryptPasswordEncoder(4).encode("senha"))).isFalse();
+        assertThat(senhaService.precisaAtualizar(new BCryptPasswordEncoder(5).encode("senha"))).isTrue();
+        assertThat(senhaService.precisaAtualizar("$2b$12$abc")).isTrue();
+        assertThat(senhaService.precisaAtualizar("senha")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Executor saturado recusa na hora")
+    public void deveRecusarQuandoExecutorEFilaEstiveremCheios() throws Exception {
+        //cenário: a única thread fica presa e a fila, ocupada
+        var liberar = new CountDownLatch(1);
+        var ocupada = new CountDownLatch(1);
+        executor.execute(() -> {
+            ocupada.countDown();
+            aguardar(liberar);
+        });
+        ocupada.await(5, TimeUnit.SECONDS);
+        executor.execute(() -> aguardar(liberar));
+
+        try {
+            //ação
+            long inicio = System.nanoTime();
+            assertThrows(ServicoSobrecarregadoException.class, () -> senhaService.criptografar("senha"));
+
+            //verificação
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(500);
+            assertThat(registry.counter("financas.senha.rejeitadas", "motivo", "recusada").count()).isEqualTo(1);
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Espera acima do tempo limite desiste da operação")
+    public void deveDesistirAposTempoLimite(){
+        //cenário
+        var liberar = new CountDownLatch(1);
+        executor.execute(() -> aguardar(liberar));
+        senhaService = new SenhaServiceImpl(new BCryptPasswordEncoder(4), executor, 4, 50, registry);
+
+        try {
+            //ação
+            assertThrows(ServicoSobrecarregadoException.class, () -> senhaService.conferir("senha", "$2a$04$abc"));
+
+            //verificação
+            assertThat(registry.counter("financas.senha.rejeitadas", "motivo", "expirada").count()).isEqualTo(1);
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
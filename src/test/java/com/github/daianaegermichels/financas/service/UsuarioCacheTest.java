@@ -0,0 +1,64 @@
+package com.github.daianaegermichels.financas.service;
+
+import com.github.daianaegermichels.financas.model.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+public class UsuarioCacheTest {
+
+    UsuarioCache usuarioCache = new UsuarioCache(100, Duration.ofMinutes(10));
+
+    @Test
+    @DisplayName("Usuário registrado é encontrado por id e por email")
+    public void deveEncontrarUsuarioPorIdEEmail(){
+        //cenário
+        usuarioCache.registrar(UsuarioServiceTest.criarUsuario());
+
+        //ação
+        var porId = usuarioCache.obterPorId(1L);
+        var porEmail = usuarioCache.obterPorEmail("usuario@email.com");
+
+        //verificação
+        assertThat(porId).get().extracting(Usuario::getEmail).isEqualTo("usuario@email.com");
+        assertThat(porEmail).get().extracting(Usuario::getId).isEqualTo(1L);
+        assertThat(usuarioCache.obterPorId(2L)).isEmpty();
+        var estatisticas = usuarioCache.obterEstatisticas();
+        assertThat(estatisticas.getAcertos()).isEqualTo(2);
+        assertThat(estatisticas.getFalhas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Alterar o usuário devolvido não altera o cache")
+    public void naoDeveCompartilharInstanciaCacheada(){
+        //cenário
+        usuarioCache.registrar(UsuarioServiceTest.criarUsuario());
+
+        //ação
+        usuarioCache.obterPorId(1L).get().setNome("alterado");
+
+        //verificação
+        assertThat(usuarioCache.obterPorId(1L).get().getNome()).isEqualTo("usuario");
+    }
+
+    @Test
+    @DisplayName("Invalidar remove as entradas por id e pelo email anterior")
+    public void deveInvalidarPorIdEEmailAnterior(){
+        //cenário
+        usuarioCache.registrar(UsuarioServiceTest.criarUsuario());
+        var alterado = UsuarioServiceTest.criarUsuario();
+        alterado.setEmail("novo@email.com");
+
+        //ação
+        usuarioCache.invalidar(alterado);
+
+        //verificação
+        assertThat(usuarioCache.obterPorId(1L)).isEmpty();
+        assertThat(usuarioCache.obterPorEmail("usuario@email.com")).isEmpty();
+    }
+}
@@ -2,6 +2,7 @@ package com.github.daianaegermichels.financas.service;
 
 import com.github.daianaegermichels.financas.exception.ErroAutenticacao;
 import com.github.daianaegermichels.financas.exception.RegraNegocioException;
+import com.github.daianaegermichels.financas.exception.ServicoSobrecarregadoException;
 import com.github.daianaegermichels.financas.model.Usuario;
 import com.github.daianaegermichels.financas.repository.UsuarioRepository;
 import org.junit.jupiter.api.Assertions;
@@ -20,6 +21,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +34,12 @@ public class UsuarioServiceTest {
     @Mock
     UsuarioRepository repository;
 
+    @Mock
+    UsuarioCache usuarioCache;
+
+    @Mock
+    SenhaService senhaService;
+
     @InjectMocks
     UsuarioServiceImpl usuarioService;
 
@@ -67,6 +75,7 @@ public class UsuarioServiceTest {
     public void deveAutenticarUmUsuarioComSucesso(){
         //cenário
         when(repository.findByEmail(criarUsuario().getEmail())).thenReturn(Optional.of(criarUsuario()));
+        when(senhaService.conferir(criarUsuario().getSenha(), criarUsuario().getSenha())).thenReturn(true);
 
         //ação
         var result = usuarioService.autenticar(criarUsuario().getEmail(),criarUsuario().getSenha());
@@ -109,6 +118,62 @@ public class UsuarioServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Senha conferida com o resultado do BCrypt")
+    public void deveRecusarSenhaQueNaoConfereComACriptografada(){
+        //cenário
+        var usuario = criarUsuario();
+        usuario.setSenha("$2a$10$criptografada");
+        when(repository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(senhaService.conferir("$2a$10$criptografada", "$2a$10$criptografada")).thenReturn(false);
+
+        //ação
+        var erro = assertThrows(ErroAutenticacao.class, () -> usuarioService.autenticar(usuario.getEmail(), "$2a$10$criptografada"));
+
+        //verificação
+        assertEquals("Senha inválida!", erro.getMessage());
+    }
+
+    @Test
+    @DisplayName("Senha com custo antigo é recriptografada no login")
+    public void deveRecriptografarSenhaQuandoOCustoMudar(){
+        //cenário
+        var usuario = criarUsuario();
+        usuario.setSenha("$2a$08$antiga");
+        when(repository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(senhaService.conferir("senha", "$2a$08$antiga")).thenReturn(true);
+        when(senhaService.precisaAtualizar("$2a$08$antiga")).thenReturn(true);
+        when(senhaService.criptografar("senha")).thenReturn("$2a$10$nova");
+        when(repository.atualizarSenha(1L, "$2a$08$antiga", "$2a$10$nova")).thenReturn(1);
+
+        //ação
+        var autenticado = usuarioService.autenticar(usuario.getEmail(), "senha");
+
+        //verificação
+        assertEquals("$2a$10$nova", autenticado.getSenha());
+        verify(repository).atualizarSenha(1L, "$2a$08$antiga", "$2a$10$nova");
+        verify(usuarioCache).invalidar(autenticado);
+    }
+
+    @Test
+    @DisplayName("Login segue quando a recriptografia é recusada por sobrecarga")
+    public void deveAutenticarMesmoSemRecriptografarSobSobrecarga(){
+        //cenário
+        var usuario = criarUsuario();
+        usuario.setSenha("$2a$08$antiga");
+        when(repository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(senhaService.conferir("senha", "$2a$08$antiga")).thenReturn(true);
+        when(senhaService.precisaAtualizar("$2a$08$antiga")).thenReturn(true);
+        when(senhaService.criptografar("senha")).thenThrow(new ServicoSobrecarregadoException("sobrecarga"));
+
+        //ação
+        var autenticado = usuarioService.autenticar(usuario.getEmail(), "senha");
+
+        //verificação
+        assertEquals("$2a$08$antiga", autenticado.getSenha());
+        verify(repository, never()).atualizarSenha(anyLong(), anyString(), anyString());
+    }
+
     @Test
     @DisplayName("Salvar usuário")
     public void deveSalvarUmUsuario(){
@@ -145,6 +210,20 @@ public class UsuarioServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Usuário em cache não é consultado no banco")
+    public void deveObterUsuarioDoCacheSemConsultarBanco(){
+        //cenário
+        when(usuarioCache.obterPorId(1L)).thenReturn(Optional.of(criarUsuario()));
+
+        //ação
+        var usuario = usuarioService.obterPorId(1L);
+
+        //verificação
+        assertThat(usuario).isPresent();
+        verify(repository, never()).findById(anyLong());
+    }
+
     public static Usuario criarUsuario() {
         return Usuario
                 .builder()